@@ -1,6 +1,5 @@
 package swing;
 
-import swing.configs.DatabaseInitializer;
 import swing.view.MainView;
 
 import javax.swing.*;
@@ -11,7 +10,8 @@ import javax.swing.*;
 public class Main {
 
     public static void main(String[] args) {
-        new DatabaseInitializer().init();
-        SwingUtilities.invokeLater(MainView::new);
+        // A janela é exibida de imediato e o banco de dados é inicializado em segundo plano
+        long startNanos = System.nanoTime();
+        SwingUtilities.invokeLater(() -> new MainView(startNanos));
     }
 }
\ No newline at end of file
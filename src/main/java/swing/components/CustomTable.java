@@ -13,6 +13,7 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -92,6 +93,25 @@ public class CustomTable<T extends Identifiable> extends JTable {
         setColumnHeight();
         setRowHeight(25);
         setAutoCreateRowSorter(true);
+        setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+    }
+
+    /**
+     * Retorna os objetos das linhas selecionadas, na ordem em que aparecem na tabela.
+     *
+     * @return os objetos selecionados, ou uma lista vazia se não houver seleção.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> getSelectedItems() {
+        CustomTableModel<T> model = (CustomTableModel<T>) getModel();
+        List<T> selected = new ArrayList<>();
+        for (int viewRow : getSelectedRows()) {
+            T item = model.getObjectByRowNum(viewRow, this);
+            if (item != null) {
+                selected.add(item);
+            }
+        }
+        return selected;
     }
 
     /**
@@ -144,6 +164,37 @@ public class CustomTable<T extends Identifiable> extends JTable {
         }
     }
 
+    /**
+     * Adiciona objetos ao final da tabela sem recarregar as linhas já exibidas.
+     *
+     * @param newData os objetos a serem adicionados.
+     */
+    @SuppressWarnings("unchecked")
+    public void appendData(List<T> newData) {
+        ((CustomTableModel<T>) getModel()).appendObjects(newData);
+    }
+
+    /**
+     * Remove da tabela as linhas dos objetos com os ‘IDs’ informados.
+     *
+     * @param ids os ‘IDs’ dos objetos removidos.
+     */
+    @SuppressWarnings("unchecked")
+    public void removeData(Collection<Long> ids) {
+        ((CustomTableModel<T>) getModel()).removeObjectsById(ids);
+    }
+
+    /**
+     * Substitui as linhas dos objetos atualizados, sem recarregar as demais linhas.
+     *
+     * @param updatedData os objetos atualizados.
+     * @return os objetos que não estavam sendo exibidos na tabela.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> replaceData(Collection<T> updatedData) {
+        return ((CustomTableModel<T>) getModel()).replaceObjects(updatedData);
+    }
+
     /**
      * Retorna a linha e coluna atualmente sobrevoadas pelo mouse.
      *
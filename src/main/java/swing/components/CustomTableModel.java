@@ -6,6 +6,8 @@ import swing.util.ComponentUtils;
 import javax.swing.*;
 import javax.swing.table.AbstractTableModel;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -146,6 +148,67 @@ public class CustomTableModel<T extends Identifiable> extends AbstractTableModel
         this.listObjects = new ArrayList<>(listObjects);
     }
 
+    /**
+     * Adiciona objetos ao final da lista exibida, notificando apenas as linhas inseridas.
+     *
+     * @param newObjects os objetos a serem adicionados
+     */
+    public void appendObjects(List<T> newObjects) {
+        if (newObjects == null || newObjects.isEmpty()) {
+            return;
+        }
+        int firstRow = listObjects.size();
+        listObjects.addAll(newObjects);
+        fireTableRowsInserted(firstRow, listObjects.size() - 1);
+    }
+
+    /**
+     * Remove da lista exibida os objetos com os ‘IDs’ informados, notificando apenas as linhas removidas.
+     *
+     * @param ids os ‘IDs’ dos objetos a serem removidos
+     * @return a quantidade de linhas removidas
+     */
+    public int removeObjectsById(Collection<Long> ids) {
+        int removed = 0;
+        // Do final para o início, para que os índices das linhas ainda não visitadas não mudem
+        for (int row = listObjects.size() - 1; row >= 0; row--) {
+            if (ids.contains(listObjects.get(row).getId())) {
+                listObjects.remove(row);
+                fireTableRowsDeleted(row, row);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Substitui os objetos exibidos que têm o mesmo ‘ID’ dos objetos informados, notificando apenas as
+     * linhas alteradas.
+     *
+     * @param objects os objetos atualizados
+     * @return os objetos que não estavam na lista exibida
+     */
+    public List<T> replaceObjects(Collection<T> objects) {
+        Map<Long, T> pending = new HashMap<>();
+        for (T object : objects) {
+            pending.put(object.getId(), object);
+        }
+        for (int row = 0; row < listObjects.size() && !pending.isEmpty(); row++) {
+            T replacement = pending.remove(listObjects.get(row).getId());
+            if (replacement != null) {
+                listObjects.set(row, replacement);
+                fireTableRowsUpdated(row, row);
+            }
+        }
+        List<T> missing = new ArrayList<>();
+        for (T object : objects) {
+            if (pending.containsKey(object.getId())) {
+                missing.add(object);
+            }
+        }
+        return missing;
+    }
+
     /**
      * Método auxiliar para filtro - obtém valor como String
      */
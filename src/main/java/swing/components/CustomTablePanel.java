@@ -1,18 +1,43 @@
 package swing.components;
 
 import swing.configs.GeneralProperties;
+import swing.enums.ChangeType;
+import swing.enums.Status;
 import swing.interfaces.Identifiable;
+import swing.model.AbstractModel;
+import swing.model.page.PageRequest;
+import swing.model.page.Slice;
+import swing.util.AsyncExecutor;
+import swing.util.EntityChangeBus;
+import swing.util.EntityChangeEvent;
+import swing.util.MessageUtils;
 
 import javax.swing.*;
 import javax.swing.plaf.basic.BasicToolBarUI;
 import javax.swing.table.TableModel;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class CustomTablePanel<T extends Identifiable> extends JPanel {
+    /**
+     * Distância, em pixels, do final da rolagem a partir da qual a próxima página é carregada.
+     */
+    private static final int PAGE_LOAD_THRESHOLD = 50;
+
+    /**
+     * Intervalo, em milissegundos, em que os eventos de alteração são agrupados antes de atualizar a tabela.
+     */
+    private static final int CHANGE_COALESCE_DELAY = 200;
+
     CustomTable<T> table;
+    JScrollPane scrollPane;
     TableToolbar toolBar;
     Consumer<T> rowEditAction;
     Consumer<T> rowDeleteAction;
@@ -21,6 +46,20 @@ public class CustomTablePanel<T extends Identifiable> extends JPanel {
     Consumer<T> tableRefreshAction;
     Consumer<T> tableNewAction;
 
+    private Function<PageRequest, Slice<T>> pageLoader;
+    private int pageSize = PageRequest.DEFAULT_PAGE_SIZE;
+    private PageRequest nextPage;
+    private boolean loadingPage;
+    private int pageGeneration;
+
+    private Function<List<Long>, List<T>> rowLoader;
+    private final Set<Long> insertedIds = new LinkedHashSet<>();
+    private final Set<Long> updatedIds = new LinkedHashSet<>();
+    private final Set<Long> deletedIds = new LinkedHashSet<>();
+    private boolean reloadPending;
+    private boolean loadingChanges;
+    private boolean appendInsertedRows = true;
+    private final Timer changeTimer = new Timer(CHANGE_COALESCE_DELAY, e -> applyChanges());
 
     public CustomTablePanel(Class<T> clazz, Consumer<T> rowEditAction,
                             Consumer<T> rowDeleteAction, Consumer<T> tableRefreshAction, Consumer<T> tableNewAction) {
@@ -31,6 +70,7 @@ public class CustomTablePanel<T extends Identifiable> extends JPanel {
 
         this.clazz = clazz;
         this.setBackground(GeneralProperties.TRANSPARENT_COLOR);
+        changeTimer.setRepeats(false);
 
 
         setLayout(new BorderLayout());
@@ -73,6 +113,73 @@ public class CustomTablePanel<T extends Identifiable> extends JPanel {
      * @param onClick  Ação a ser executada ao clicar no botão
      */
     public void addToolbarButton(String tooltip, String iconPath, Consumer<T> onClick) {
+        JButton button = createToolbarButton(tooltip, iconPath);
+        button.addActionListener(e -> onClick.accept(null));
+    }
+
+    /**
+     * Adiciona um botão à barra de ferramentas que executa uma ação sobre as linhas selecionadas.
+     * Sem linhas selecionadas, o usuário é avisado e a ação não é executada.
+     *
+     * @param tooltip  Dica de ferramenta do botão
+     * @param iconPath Caminho do ícone do botão
+     * @param onClick  Ação a ser executada com as linhas selecionadas
+     */
+    public void addSelectionButton(String tooltip, String iconPath, Consumer<List<T>> onClick) {
+        JButton button = createToolbarButton(tooltip, iconPath);
+        button.addActionListener(e -> withSelection(onClick));
+    }
+
+    /**
+     * Adiciona um botão à barra de ferramentas que abre um menu com os status possíveis e altera
+     * o status das linhas selecionadas para o status escolhido.
+     *
+     * @param tooltip  Dica de ferramenta do botão
+     * @param iconPath Caminho do ícone do botão
+     * @param onSelect Ação a ser executada com as linhas selecionadas e o status escolhido
+     */
+    public void addStatusSelectionButton(String tooltip, String iconPath, BiConsumer<List<T>, Status> onSelect) {
+        JButton button = createToolbarButton(tooltip, iconPath);
+        JPopupMenu menu = new JPopupMenu();
+        for (Status status : Status.values()) {
+            JMenuItem item = new JMenuItem("Marcar como " + status.getDescription().toLowerCase());
+            item.addActionListener(e -> withSelection(items -> onSelect.accept(items, status)));
+            menu.add(item);
+        }
+        button.addActionListener(e -> menu.show(button, 0, button.getHeight()));
+    }
+
+    /**
+     * Retorna os ‘items’ das linhas selecionadas na tabela.
+     *
+     * @return Lista de ‘items’ selecionados
+     */
+    public List<T> getSelectedItems() {
+        return table.getSelectedItems();
+    }
+
+    /**
+     * Executa uma ação com as linhas selecionadas, avisando o usuário se não houver seleção.
+     *
+     * @param action Ação a ser executada
+     */
+    private void withSelection(Consumer<List<T>> action) {
+        List<T> selected = getSelectedItems();
+        if (selected.isEmpty()) {
+            MessageUtils.warning(this, "Selecione um ou mais registros na tabela.");
+            return;
+        }
+        action.accept(selected);
+    }
+
+    /**
+     * Cria um botão estilizado e o adiciona à barra de ferramentas.
+     *
+     * @param tooltip  Dica de ferramenta do botão
+     * @param iconPath Caminho do ícone do botão
+     * @return o botão criado
+     */
+    private JButton createToolbarButton(String tooltip, String iconPath) {
         JButton button = new JButton();
         button.setToolTipText(tooltip);
         button.setIcon(loadIcon(iconPath));
@@ -81,12 +188,12 @@ public class CustomTablePanel<T extends Identifiable> extends JPanel {
         button.setBorderPainted(false);
         button.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
         styleButton(button);
-        button.addActionListener(e -> onClick.accept(null));
         if (toolBar != null) {
             toolBar.add(button, 0);
             toolBar.revalidate();
             toolBar.repaint();
         }
+        return button;
     }
 
     /**
@@ -136,10 +243,15 @@ public class CustomTablePanel<T extends Identifiable> extends JPanel {
         roundedPanel.setBackground(GeneralProperties.BACKGROUND_COLOR);
         roundedPanel.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
 
-        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane = new JScrollPane(table);
         scrollPane.setOpaque(false);
         scrollPane.getViewport().setOpaque(false);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                loadNextPageIfNeeded();
+            }
+        });
 
         roundedPanel.add(scrollPane, BorderLayout.CENTER);
         add(roundedPanel, BorderLayout.CENTER);
@@ -185,4 +297,225 @@ public class CustomTablePanel<T extends Identifiable> extends JPanel {
         return table.getRowSorter();
     }
 
+    /**
+     * Habilita o carregamento paginado da tabela: as páginas são buscadas em segundo plano
+     * conforme o usuário rola até o final da tabela.
+     *
+     * @param pageLoader função que busca uma página de ‘items’ a partir da requisição
+     * @param pageSize   quantidade de ‘items’ por página
+     */
+    public void enablePaging(Function<PageRequest, Slice<T>> pageLoader, int pageSize) {
+        this.pageLoader = pageLoader;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Descarta as páginas carregadas e busca novamente a primeira página.
+     */
+    public void reloadPages() {
+        if (pageLoader == null) {
+            return;
+        }
+        // Respostas de carregamentos anteriores ao recarregamento são descartadas
+        pageGeneration++;
+        loadingPage = false;
+        // A recarga já traz as alterações pendentes
+        insertedIds.clear();
+        updatedIds.clear();
+        deletedIds.clear();
+        reloadPending = false;
+        table.refreshData(new ArrayList<>());
+        loadPage(PageRequest.first(pageSize));
+    }
+
+    /**
+     * Carrega a próxima página caso a rolagem esteja próxima do final ou a tabela ainda não preencha a área visível.
+     */
+    private void loadNextPageIfNeeded() {
+        if (pageLoader == null || loadingPage || nextPage == null) {
+            return;
+        }
+        JScrollBar scrollBar = scrollPane.getVerticalScrollBar();
+        int remaining = scrollBar.getMaximum() - (scrollBar.getValue() + scrollBar.getVisibleAmount());
+        boolean viewportNotFilled = table.getPreferredSize().height <= scrollPane.getViewport().getHeight();
+        if (remaining <= PAGE_LOAD_THRESHOLD || viewportNotFilled) {
+            loadPage(nextPage);
+        }
+    }
+
+    /**
+     * Busca uma página em segundo plano e adiciona os ‘items’ ao final da tabela.
+     *
+     * @param pageRequest a requisição da página a ser carregada
+     */
+    private void loadPage(PageRequest pageRequest) {
+        int generation = pageGeneration;
+        loadingPage = true;
+        nextPage = null;
+        AsyncExecutor.supplyAsync(() -> pageLoader.apply(pageRequest),
+                slice -> {
+                    if (generation != pageGeneration) {
+                        return;
+                    }
+                    table.appendData(slice.getContent());
+                    nextPage = slice.nextPageRequest();
+                    loadingPage = false;
+                    SwingUtilities.invokeLater(this::loadNextPageIfNeeded);
+                },
+                error -> {
+                    if (generation != pageGeneration) {
+                        return;
+                    }
+                    loadingPage = false;
+                    MessageUtils.error(this, "Erro ao carregar registros: " + error.getMessage());
+                });
+    }
+
+    /**
+     * Habilita a atualização incremental da tabela pelos eventos de alteração da entidade exibida.
+     * Os eventos recebidos num intervalo curto são agrupados: as linhas excluídas são removidas, as alteradas
+     * são relidas e substituídas no lugar e as incluídas são adicionadas ao final, quando todas as páginas
+     * já foram carregadas (até lá, elas chegam com as próximas páginas).
+     *
+     * @param entityClass a classe da entidade exibida na tabela
+     * @param rowLoader   função que busca as linhas dos ‘IDs’ informados
+     */
+    public void enableChangeEvents(Class<? extends AbstractModel> entityClass, Function<List<Long>, List<T>> rowLoader) {
+        this.rowLoader = rowLoader;
+        EntityChangeBus.subscribe(entityClass, event -> SwingUtilities.invokeLater(() -> queueChange(event)));
+    }
+
+    /**
+     * Recarrega a tabela quando registros de outras entidades forem alterados ou excluídos, para os casos em
+     * que as linhas afetadas não são conhecidas (ex.: nomes de autores exibidos na listagem de livros).
+     *
+     * @param entityClasses as classes das entidades relacionadas
+     */
+    @SafeVarargs
+    public final void reloadOnChangesOf(Class<? extends AbstractModel>... entityClasses) {
+        for (Class<? extends AbstractModel> entityClass : entityClasses) {
+            EntityChangeBus.subscribe(entityClass, event -> {
+                if (event.getType() != ChangeType.INSERTED) {
+                    SwingUtilities.invokeLater(() -> {
+                        reloadPending = true;
+                        scheduleChanges();
+                    });
+                }
+            });
+        }
+    }
+
+    /**
+     * Define se os registros incluídos são adicionados ao final da tabela. Deve ser desabilitado quando a
+     * tabela exibe um resultado filtrado, no qual os novos registros podem não se encaixar.
+     *
+     * @param appendInsertedRows true para adicionar os registros incluídos
+     */
+    public void setAppendInsertedRows(boolean appendInsertedRows) {
+        this.appendInsertedRows = appendInsertedRows;
+    }
+
+    /**
+     * Registra um evento de alteração para a próxima atualização da tabela.
+     *
+     * @param event o evento recebido
+     */
+    private void queueChange(EntityChangeEvent event) {
+        switch (event.getType()) {
+            case INSERTED:
+                insertedIds.addAll(event.getIds());
+                break;
+            case UPDATED:
+                updatedIds.addAll(event.getIds());
+                break;
+            case DELETED:
+                insertedIds.removeAll(event.getIds());
+                updatedIds.removeAll(event.getIds());
+                deletedIds.addAll(event.getIds());
+                break;
+            default:
+                return;
+        }
+        scheduleChanges();
+    }
+
+    /**
+     * Agenda a atualização da tabela. O temporizador não é reiniciado a cada evento, então uma sequência
+     * longa de eventos atualiza a tabela a cada {@value #CHANGE_COALESCE_DELAY} ms, e não só no final.
+     */
+    private void scheduleChanges() {
+        if (!changeTimer.isRunning()) {
+            changeTimer.start();
+        }
+    }
+
+    /**
+     * Aplica as alterações pendentes à tabela: remove as linhas excluídas e relê, em segundo plano, as linhas
+     * incluídas e alteradas. Enquanto uma leitura estiver em andamento, os novos eventos aguardam o seu término.
+     */
+    private void applyChanges() {
+        if (reloadPending) {
+            reloadPages();
+            return;
+        }
+        if (loadingChanges) {
+            return;
+        }
+        if (!deletedIds.isEmpty()) {
+            table.removeData(deletedIds);
+            deletedIds.clear();
+        }
+        if ((insertedIds.isEmpty() && updatedIds.isEmpty()) || rowLoader == null) {
+            insertedIds.clear();
+            updatedIds.clear();
+            return;
+        }
+
+        Set<Long> inserted = new LinkedHashSet<>(insertedIds);
+        Set<Long> changed = new LinkedHashSet<>(insertedIds);
+        changed.addAll(updatedIds);
+        insertedIds.clear();
+        updatedIds.clear();
+        int generation = pageGeneration;
+        loadingChanges = true;
+        AsyncExecutor.supplyAsync(() -> rowLoader.apply(new ArrayList<>(changed)),
+                rows -> {
+                    loadingChanges = false;
+                    if (generation == pageGeneration) {
+                        appendInsertedRows(table.replaceData(rows), inserted);
+                    }
+                    if (!insertedIds.isEmpty() || !updatedIds.isEmpty() || !deletedIds.isEmpty()) {
+                        scheduleChanges();
+                    }
+                },
+                error -> {
+                    loadingChanges = false;
+                    MessageUtils.error(this, "Erro ao atualizar registros: " + error.getMessage());
+                });
+    }
+
+    /**
+     * Adiciona ao final da tabela as linhas incluídas que ainda não são exibidas, se todas as páginas já
+     * foram carregadas. Com uma página em carregamento, as linhas voltam para a fila, pois a página pode
+     * ou não trazê-las.
+     *
+     * @param missing  as linhas relidas que não estão na tabela
+     * @param inserted os ‘IDs’ dos registros incluídos
+     */
+    private void appendInsertedRows(List<T> missing, Set<Long> inserted) {
+        if (!appendInsertedRows) {
+            return;
+        }
+        List<T> newRows = new ArrayList<>();
+        for (T row : missing) {
+            if (inserted.contains(row.getId())) {
+                newRows.add(row);
+            }
+        }
+        if (loadingPage) {
+            newRows.forEach(row -> insertedIds.add(row.getId()));
+        } else if (nextPage == null) {
+            table.appendData(newRows);
+        }
+    }
 }
@@ -1,21 +1,94 @@
 package swing.configs;
 
+import swing.model.AbstractModel;
 import swing.model.Author;
+import swing.model.Book;
 import swing.model.Publisher;
 import swing.service.AuthorService;
 import swing.service.PublisherService;
+import swing.util.HibernateExecutor;
+import swing.util.HibernateUtils;
+import swing.util.ServiceExecutor;
+
+import javax.persistence.Table;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Classe responsável por inicializar o banco de dados com dados padrão.
+ * <p>
+ * A inicialização roda em segundo plano: primeiro é criada a SessionFactory (com as migrações e a
+ * validação do esquema) e, em seguida, as sequências e os registros padrão de cada entidade são
+ * preparados em paralelo.
  */
 public class DatabaseInitializer {
 
     AuthorService authorService = new AuthorService();
     PublisherService publisherService = new PublisherService();
 
-    public void init() {
-        initAuthor();
-        initPublisher();
+    /**
+     * Inicia a inicialização do banco de dados em segundo plano.
+     *
+     * @param onProgress recebe a descrição de cada etapa, na thread da tarefa.
+     * @return o futuro concluído quando o banco estiver pronto para uso.
+     */
+    public CompletableFuture<Void> initAsync(Consumer<String> onProgress) {
+        onProgress.accept("Conectando ao banco de dados...");
+        return ServiceExecutor.supplyAsync(HibernateUtils::getSessionFactory, 0)
+                .thenCompose(sessionFactory -> {
+                    onProgress.accept("Carregando os dados padrão...");
+                    // Cada sequência é alinhada antes do cadastro padrão da sua entidade
+                    return CompletableFuture.allOf(
+                            runAsync(() -> alignIdSequence(Book.class)),
+                            runAsync(() -> {
+                                alignIdSequence(Author.class);
+                                initAuthor();
+                            }),
+                            runAsync(() -> {
+                                alignIdSequence(Publisher.class);
+                                initPublisher();
+                            }));
+                });
+    }
+
+    /**
+     * Executa uma etapa da inicialização no pool de serviços, sem tempo limite.
+     *
+     * @param step a etapa a ser executada.
+     * @return o futuro concluído ao final da etapa.
+     */
+    private CompletableFuture<Void> runAsync(Runnable step) {
+        return ServiceExecutor.supplyAsync(() -> {
+            step.run();
+            return null;
+        }, 0);
+    }
+
+    /**
+     * Reinicia a sequência da entidade acima do maior ‘ID’ da tabela, se necessário.
+     * Necessário para bancos criados quando os ‘IDs’ eram gerados por coluna de identidade.
+     *
+     * @param entity a classe da entidade cuja sequência será alinhada.
+     */
+    private void alignIdSequence(Class<? extends AbstractModel> entity) {
+        String tableName = entity.getAnnotation(Table.class).name();
+        String sequenceName = (entity.getSimpleName() + AbstractModel.ID_SEQUENCE_SUFFIX).toUpperCase();
+        HibernateExecutor.executeTransaction(session -> {
+            Number maxId = (Number) session.createNativeQuery("SELECT COALESCE(MAX(id), 0) FROM " + tableName)
+                    .getSingleResult();
+            Number nextValue = (Number) session.createNativeQuery(
+                            "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = :name")
+                    .setParameter("name", sequenceName)
+                    .getSingleResult();
+
+            // O otimizador pooled usa o valor da sequência como limite superior do bloco reservado
+            long required = maxId.longValue() + AbstractModel.ID_ALLOCATION_SIZE + 1;
+            if (nextValue.longValue() < required) {
+                session.createNativeQuery("ALTER SEQUENCE " + sequenceName + " RESTART WITH " + required)
+                        .executeUpdate();
+            }
+            return null;
+        });
     }
 
     /**
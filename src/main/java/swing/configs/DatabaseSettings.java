@@ -0,0 +1,201 @@
+package swing.configs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import swing.enums.DatabaseMode;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Configurações de acesso ao banco de dados, lidas de um arquivo de propriedades externo.
+ * <p>
+ * Os valores padrão ficam no {@value #FILE_NAME} do classpath. Eles podem ser sobrescritos por um
+ * arquivo com o mesmo nome no diretório de trabalho ou pelo arquivo informado na propriedade de
+ * sistema {@value #FILE_SYSTEM_PROPERTY} (ex.: {@code -Dlibrary.database.config=/caminho/database.properties}).
+ */
+public class DatabaseSettings {
+
+    /**
+     * Nome do arquivo de propriedades do banco.
+     */
+    public static final String FILE_NAME = "database.properties";
+
+    /**
+     * Propriedade de sistema com o caminho de um arquivo de propriedades externo.
+     */
+    public static final String FILE_SYSTEM_PROPERTY = "library.database.config";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseSettings.class);
+
+    private final Properties properties;
+
+    DatabaseSettings(Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Carrega as configurações padrão e as sobrescreve com o arquivo externo, se existir.
+     *
+     * @return as configurações carregadas.
+     */
+    public static DatabaseSettings load() {
+        Properties properties = new Properties();
+        try (InputStream defaults = DatabaseSettings.class.getResourceAsStream("/" + FILE_NAME)) {
+            if (defaults != null) {
+                properties.load(defaults);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Erro ao ler as configurações padrão do banco de dados.", e);
+        }
+
+        String externalPath = System.getProperty(FILE_SYSTEM_PROPERTY);
+        File external = new File(externalPath != null ? externalPath : FILE_NAME);
+        if (external.isFile()) {
+            try (InputStream input = new FileInputStream(external)) {
+                properties.load(input);
+                LOGGER.info("Configurações do banco lidas de {}", external.getAbsolutePath());
+            } catch (IOException e) {
+                throw new IllegalStateException("Erro ao ler as configurações do banco de dados: " + external, e);
+            }
+        } else if (externalPath != null) {
+            throw new IllegalStateException("Arquivo de configurações do banco não encontrado: " + externalPath);
+        }
+        return new DatabaseSettings(properties);
+    }
+
+    /**
+     * Obtém o modo de acesso ao banco.
+     *
+     * @return o modo configurado em {@code database.mode}.
+     */
+    public DatabaseMode getMode() {
+        String mode = properties.getProperty("database.mode", DatabaseMode.EMBEDDED.name());
+        try {
+            return DatabaseMode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Modo de banco de dados inválido: " + mode, e);
+        }
+    }
+
+    /**
+     * Monta a URL JDBC do modo configurado.
+     *
+     * @return a URL de conexão com o banco.
+     */
+    public String getJdbcUrl() {
+        switch (getMode()) {
+            case SERVER:
+                return getServerJdbcUrl();
+            case MEMORY:
+                return "jdbc:h2:mem:" + get("database.memory.name", "biblioteca")
+                        + ";DB_CLOSE_DELAY=-1" + getStoreOptions();
+            case EMBEDDED:
+            default:
+                // Sem AUTO_SERVER, o banco é fechado pelo pool de conexões no encerramento, não pelo hook do H2
+                // (o H2 não permite desligar o hook com AUTO_SERVER)
+                return "jdbc:h2:" + getPath()
+                        + (isAutoServer() ? ";AUTO_SERVER=TRUE" : ";DB_CLOSE_ON_EXIT=FALSE")
+                        + getStoreOptions();
+        }
+    }
+
+    /**
+     * Monta a URL JDBC de acesso ao mesmo banco por um servidor TCP.
+     *
+     * @return a URL de conexão com o servidor.
+     */
+    public String getServerJdbcUrl() {
+        String port = get("database.server.port", "");
+        return "jdbc:h2:tcp://" + get("database.server.host", "localhost")
+                + (port.isEmpty() ? "" : ":" + port) + "/" + getPath();
+    }
+
+    /**
+     * Indica se, no modo embarcado, a aplicação deve usar o servidor TCP quando o arquivo
+     * do banco já estiver aberto por outro processo.
+     *
+     * @return true se o fallback para o servidor estiver habilitado.
+     */
+    public boolean isServerFallback() {
+        return Boolean.parseBoolean(get("database.embedded.serverFallback", "true"));
+    }
+
+    public String getUser() {
+        return get("database.user", "sa");
+    }
+
+    public String getPassword() {
+        return properties.getProperty("database.password", "");
+    }
+
+    /**
+     * Obtém a duração a partir da qual uma transação é registrada no log de transações lentas.
+     *
+     * @return o limite em milissegundos configurado em {@code database.log.slowTransactionMs}.
+     */
+    public long getSlowTransactionThresholdMillis() {
+        return Long.parseLong(get("database.log.slowTransactionMs", "200"));
+    }
+
+    /**
+     * Indica se as estatísticas do Hibernate e das transações devem ser publicadas via JMX.
+     *
+     * @return true se a publicação estiver habilitada em {@code database.jmx.enabled}.
+     */
+    public boolean isJmxEnabled() {
+        return Boolean.parseBoolean(get("database.jmx.enabled", "true"));
+    }
+
+    /**
+     * Indica se o banco embarcado pode ser compartilhado com outros processos (AUTO_SERVER do H2):
+     * o primeiro processo a abrir o arquivo passa a atendê-lo por TCP para os demais.
+     *
+     * @return true se o modo AUTO_SERVER estiver habilitado.
+     */
+    private boolean isAutoServer() {
+        return Boolean.parseBoolean(get("database.embedded.autoServer", "false"));
+    }
+
+    /**
+     * Obtém o caminho do arquivo do banco, sem extensão.
+     *
+     * @return o caminho configurado em {@code database.path}.
+     */
+    private String getPath() {
+        return get("database.path", "~/dados/bancoteste");
+    }
+
+    /**
+     * Monta as opções do MVStore usadas ao abrir o banco no próprio processo.
+     *
+     * @return as opções no formato da URL do H2, iniciando por ponto e vírgula.
+     */
+    private String getStoreOptions() {
+        StringBuilder options = new StringBuilder();
+        String cacheSize = get("database.cacheSizeKb", "");
+        if (!cacheSize.isEmpty()) {
+            options.append(";CACHE_SIZE=").append(Integer.parseInt(cacheSize));
+        }
+        String extra = get("database.options", "");
+        if (!extra.isEmpty()) {
+            options.append(extra.startsWith(";") ? extra : ";" + extra);
+        }
+        return options.toString();
+    }
+
+    /**
+     * Obtém uma propriedade sem espaços nas extremidades.
+     *
+     * @param key          a chave da propriedade.
+     * @param defaultValue o valor usado quando a propriedade não está definida.
+     * @return o valor da propriedade.
+     */
+    private String get(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue).trim();
+    }
+}
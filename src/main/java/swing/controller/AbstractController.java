@@ -1,11 +1,21 @@
 package swing.controller;
 
+import org.hibernate.exception.ConstraintViolationException;
+import swing.enums.Status;
+import swing.interfaces.Identifiable;
 import swing.model.AbstractModel;
+import swing.model.page.PageRequest;
+import swing.model.page.Slice;
 import swing.service.AbstractService;
+import swing.service.AsyncService;
+import swing.service.MultiLoadResult;
+import swing.util.AsyncExecutor;
+import swing.util.MessageUtils;
 
 import java.awt.*;
 import java.lang.reflect.ParameterizedType;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Controller base para todas as classes de controller que extender.
@@ -15,6 +25,7 @@ import java.util.List;
 public class AbstractController<T extends Component, M extends AbstractModel> implements IAbstractController<M> {
 
     protected final AbstractService<M> service;
+    protected final AsyncService<M> asyncService;
     protected Class<M> clazz;
     protected T view;
 
@@ -24,6 +35,7 @@ public class AbstractController<T extends Component, M extends AbstractModel> im
         this.clazz = (Class<M>) ((ParameterizedType) getClass()
                 .getGenericSuperclass()).getActualTypeArguments()[0];
         this.service = service;
+        this.asyncService = new AsyncService<>(service);
         this.view = view;
     }
 
@@ -56,4 +68,100 @@ public class AbstractController<T extends Component, M extends AbstractModel> im
     public List<M> findByIds(List<Long> ids) {
         return this.service.findByIds(ids);
     }
+
+    @Override
+    public MultiLoadResult<M> loadByIds(List<Long> ids) {
+        return this.service.loadByIds(ids);
+    }
+
+    @Override
+    public Slice<M> findSlice(PageRequest pageRequest) {
+        return this.service.findSlice(pageRequest);
+    }
+
+    @Override
+    public int deleteByIds(List<Long> ids) {
+        return this.service.deleteByIds(ids);
+    }
+
+    @Override
+    public int updateStatusByIds(List<Long> ids, Status status) {
+        return this.service.updateStatusByIds(ids, status);
+    }
+
+    /**
+     * Exclui as linhas selecionadas numa única operação em lote, após a confirmação do usuário.
+     * A tabela é atualizada pelos eventos de exclusão publicados pelo serviço.
+     *
+     * @param rows   as linhas selecionadas na tabela.
+     * @param plural o nome dos registros no plural, usado nas mensagens (ex.: "livros").
+     */
+    protected void deleteSelected(List<? extends Identifiable> rows, String plural) {
+        if (rows == null || rows.isEmpty()) {
+            MessageUtils.error(view, "Nenhum registro selecionado para exclusão.");
+            return;
+        }
+        if (!MessageUtils.confirm(view, "Deseja realmente excluir " + rows.size() + " " + plural + "?")) {
+            return;
+        }
+        List<Long> ids = toIds(rows);
+        AsyncExecutor.onEdt(asyncService.deleteByIds(ids),
+                deleted -> {
+                    int skipped = ids.size() - deleted;
+                    if (skipped > 0) {
+                        MessageUtils.warning(view, deleted + " " + plural + " excluídos. " + skipped
+                                + " não puderam ser excluídos, pois estão vinculados a outros registros.");
+                    } else {
+                        MessageUtils.info(view, deleted + " " + plural + " excluídos com sucesso.");
+                    }
+                },
+                error -> MessageUtils.error(view, "Erro ao excluir " + plural + ": " + error.getMessage()));
+    }
+
+    /**
+     * Altera o status das linhas selecionadas numa única operação em lote.
+     * A tabela é atualizada pelos eventos de alteração publicados pelo serviço.
+     *
+     * @param rows   as linhas selecionadas na tabela.
+     * @param status o novo status.
+     * @param plural o nome dos registros no plural, usado nas mensagens (ex.: "livros").
+     */
+    protected void changeStatusSelected(List<? extends Identifiable> rows, Status status, String plural) {
+        if (rows == null || rows.isEmpty()) {
+            MessageUtils.error(view, "Nenhum registro selecionado.");
+            return;
+        }
+        AsyncExecutor.onEdt(asyncService.updateStatusByIds(toIds(rows), status),
+                updated -> MessageUtils.info(view, updated + " " + plural + " alterados para "
+                        + status.getDescription().toLowerCase() + "."),
+                error -> MessageUtils.error(view, "Erro ao alterar o status dos " + plural + ": " + error.getMessage()));
+    }
+
+    /**
+     * Verifica se o erro foi causado pela violação de uma restrição do banco, como a exclusão de um registro
+     * vinculado a outros.
+     *
+     * @param error o erro da operação.
+     * @return true se alguma das causas for uma violação de restrição.
+     */
+    protected static boolean isConstraintViolation(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtém os ‘IDs’ das linhas selecionadas.
+     *
+     * @param rows as linhas selecionadas.
+     * @return os ‘IDs’ das linhas.
+     */
+    private List<Long> toIds(List<? extends Identifiable> rows) {
+        return rows.stream()
+                .map(Identifiable::getId)
+                .collect(Collectors.toList());
+    }
 }
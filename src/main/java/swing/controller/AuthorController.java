@@ -1,8 +1,12 @@
 package swing.controller;
 
+import swing.enums.Status;
 import swing.model.Author;
 import swing.model.dto.AuthorDTO;
+import swing.model.page.PageRequest;
+import swing.model.page.Slice;
 import swing.service.AuthorService;
+import swing.util.AsyncExecutor;
 import swing.util.MessageUtils;
 import swing.view.AuthorView;
 
@@ -25,10 +29,27 @@ public class AuthorController extends AbstractController<AuthorView, Author> {
      * @return uma lista de AutorDTOs.
      */
     public List<AuthorDTO> getAuthorsDTO() {
-        List<Author> authors = service.findAll();
-        return authors.stream()
-                .map(AuthorDTO::new)
-                .collect(Collectors.toList());
+        return Slice.readAll(this::getAuthorsDTOPage, PageRequest.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Obtém uma página de AutorDTOs a partir da requisição informada.
+     *
+     * @param pageRequest a requisição da página a ser carregada.
+     * @return a página de AutorDTOs.
+     */
+    public Slice<AuthorDTO> getAuthorsDTOPage(PageRequest pageRequest) {
+        return ((AuthorService) service).findListRows(pageRequest);
+    }
+
+    /**
+     * Obtém os AutorDTOs dos registros com os ‘IDs’ informados, usados na atualização incremental da tabela.
+     *
+     * @param ids os ‘IDs’ dos registros.
+     * @return os AutorDTOs encontrados.
+     */
+    public List<AuthorDTO> getAuthorsDTOByIds(List<Long> ids) {
+        return ((AuthorService) service).findListRowsByIds(ids);
     }
 
     /**
@@ -37,12 +58,15 @@ public class AuthorController extends AbstractController<AuthorView, Author> {
      * @param rowValue o autor a ser editado, representado por um AutorDTO.
      */
     public void editAuthor(AuthorDTO rowValue) {
-        Author author = service.findById(rowValue.getId());
-        if (author != null) {
-            view.openForm(author);
-        } else {
-            MessageUtils.error(view, "autor não encontrado.");
-        }
+        AsyncExecutor.onEdt(asyncService.findById(rowValue.getId()),
+                author -> {
+                    if (author != null) {
+                        view.openForm(author);
+                    } else {
+                        MessageUtils.error(view, "autor não encontrado.");
+                    }
+                },
+                error -> MessageUtils.error(view, "Erro ao carregar autor: " + error.getMessage()));
     }
 
     /**
@@ -59,21 +83,46 @@ public class AuthorController extends AbstractController<AuthorView, Author> {
         if (!MessageUtils.confirm(view, "Deseja realmente excluir o autor: " + selectedAuthor.getCommercialName() + "?")) {
             return;
         }
-        Author author = service.findById(selectedAuthor.getId());
-        if (author != null) {
-            try {
-                service.delete(author);
-                view.refreshAuthorTable();
-                MessageUtils.info(view, "Autor excluído com sucesso.");
-            } catch (Exception e) {
-                if (e.getMessage() != null && e.getMessage().contains("ConstraintViolationException")) {
-                    MessageUtils.error(view, "Não é possível excluir o autor, pois ele está vinculado a livros.");
-                } else {
-                    MessageUtils.error(view, "Erro ao deletar autor: " + e.getMessage());
-                }
-            }
-        } else {
-            MessageUtils.error(view, "Autor não encontrado.");
-        }
+        // A busca e a exclusão rodam na mesma tarefa, fora do EDT
+        AsyncExecutor.onEdt(asyncService.write(() -> {
+                    Author author = service.findById(selectedAuthor.getId());
+                    if (author != null) {
+                        service.delete(author);
+                    }
+                    return author;
+                }),
+                author -> {
+                    if (author != null) {
+                        MessageUtils.info(view, "Autor excluído com sucesso.");
+                    } else {
+                        MessageUtils.error(view, "Autor não encontrado.");
+                    }
+                },
+                error -> {
+                    if (isConstraintViolation(error)) {
+                        MessageUtils.error(view, "Não é possível excluir o autor, pois ele está vinculado a livros.");
+                    } else {
+                        MessageUtils.error(view, "Erro ao deletar autor: " + error.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * Exclui em lote os autores selecionados na tabela.
+     *
+     * @param selectedAuthors as linhas selecionadas.
+     */
+    public void deleteAuthors(List<AuthorDTO> selectedAuthors) {
+        deleteSelected(selectedAuthors, "autores");
+    }
+
+    /**
+     * Altera em lote o status dos autores selecionados na tabela.
+     *
+     * @param selectedAuthors as linhas selecionadas.
+     * @param status          o novo status.
+     */
+    public void changeAuthorsStatus(List<AuthorDTO> selectedAuthors, Status status) {
+        changeStatusSelected(selectedAuthors, status, "autores");
     }
 }
@@ -1,12 +1,14 @@
 package swing.controller;
 
-import org.hibernate.exception.ConstraintViolationException;
 import swing.model.Author;
 import swing.service.AuthorService;
+import swing.util.AsyncExecutor;
 import swing.util.MessageUtils;
 import swing.util.StringUtils;
 import swing.view.AuthorRegistrationView;
 
+import java.util.function.Consumer;
+
 public class AuthorRegistrationController extends AbstractController<AuthorRegistrationView, Author> {
 
     public AuthorRegistrationController(AuthorRegistrationView view) {
@@ -15,91 +17,90 @@ public class AuthorRegistrationController extends AbstractController<AuthorRegis
 
 
     /**
-     * Método para abrir o formulário de registro de autor.
+     * Exclui, em segundo plano, o autor do formulário.
      *
-     * @param author Autor a ser editado ou null para novo registro.
+     * @param author    Autor a ser excluído.
+     * @param onDeleted Código executado no EDT após a exclusão.
      */
-    public boolean deleteRecord(Author author) {
+    public void deleteRecord(Author author, Runnable onDeleted) {
         if (author == null) {
             throw new IllegalArgumentException("O autor não foi encontrado.");
         }
         if (author.getId() == null) {
             throw new IllegalArgumentException("O autor deve ter um ID válido para ser deletado.");
         }
-        try {
-            service.delete(author);
-            MessageUtils.info(view, "Autor deletado com sucesso.");
-            return true;
-        } catch (ConstraintViolationException e) {
-            MessageUtils.error(view, "Não é possível deletar o autor, pois ele está vinculado a livros.");
-            return false;
-        } catch (Exception e) {
-            if (e.getMessage() != null && e.getMessage().contains("ConstraintViolationException")) {
-                MessageUtils.error(view, "Não é possível excluir o autor, pois ele está vinculado a livros.");
-                return false;
-            }
-            MessageUtils.error(view, "Erro ao deletar autor: " + e.getMessage());
-            return false;
-        }
+        AsyncExecutor.onEdt(asyncService.delete(author),
+                result -> {
+                    MessageUtils.info(view, "Autor deletado com sucesso.");
+                    onDeleted.run();
+                },
+                error -> {
+                    if (isConstraintViolation(error)) {
+                        MessageUtils.error(view, "Não é possível excluir o autor, pois ele está vinculado a livros.");
+                    } else {
+                        MessageUtils.error(view, "Erro ao deletar autor: " + error.getMessage());
+                    }
+                });
     }
 
 
     /**
-     * Método para salvar um autor.
+     * Método para salvar um autor. Os campos são validados no EDT e a gravação roda em segundo plano.
      *
      * @param id             ‘ID’ do autor, pode ser null para novo registro.
+     * @param version        Versão do autor quando o formulário foi aberto, para detectar alterações
+     *                       concorrentes; null para novo registro.
      * @param commercialName Nome comercial do autor, pode ser null (se fullName não for null).
      * @param fullName       Nome completo do autor, pode ser null (se commercialName não for null).
      * @param mainGenre      Gênero principal do autor, pode ser null.
-     * @return true se o autor foi salvo com sucesso, false caso contrário.
+     * @param onDone         Código executado no EDT com true se o autor foi salvo com sucesso, false caso contrário.
      */
-    public boolean saveAuthor(String id, String commercialName, String fullName, String mainGenre) {
-        boolean isEdit = id != null && !id.isEmpty();
-        Author author = new Author();
-
-        if (isEdit) {
-            author = service.findById(Long.parseLong(id));
-            if (author == null) {
-                MessageUtils.error(view, "Autor não encontrado.");
-                return false;
-            }
+    public void saveAuthor(String id, Long version, String commercialName, String fullName, String mainGenre,
+                           Consumer<Boolean> onDone) {
+        if (validateFieldsValues(commercialName, fullName)) {
+            onDone.accept(false);
+            return;
         }
+        boolean isEdit = id != null && !id.isEmpty();
 
-        if (validateFieldsValues(id, commercialName, fullName, author)) return false;
-
-        author.setCommercialName(StringUtils.removeExcessiveSpaces(commercialName));
-        author.setFullName(StringUtils.removeExcessiveSpaces(fullName));
-        author.setMainGenre(mainGenre);
-
-        try {
-            if (isEdit) {
-                service.update(author);
-            } else {
-                service.insert(author);
-            }
-            MessageUtils.info(view, "Autor salvo com sucesso!");
-        } catch (Exception e) {
-            MessageUtils.error(view, "Erro ao salvar o autor: " + e.getMessage());
-            return false;
-        }
-        return true;
+        AsyncExecutor.onEdt(asyncService.write(() -> {
+                    Author author = new Author();
+                    if (isEdit) {
+                        author = service.findById(Long.parseLong(id));
+                        if (author == null) {
+                            return null;
+                        }
+                        author.setVersion(version);
+                    }
+                    author.setCommercialName(StringUtils.removeExcessiveSpaces(commercialName));
+                    author.setFullName(StringUtils.removeExcessiveSpaces(fullName));
+                    author.setMainGenre(mainGenre);
+                    return isEdit ? service.update(author) : service.insert(author);
+                }),
+                author -> {
+                    if (author == null) {
+                        MessageUtils.error(view, "Autor não encontrado.");
+                        onDone.accept(false);
+                        return;
+                    }
+                    MessageUtils.info(view, "Autor salvo com sucesso!");
+                    onDone.accept(true);
+                },
+                error -> {
+                    MessageUtils.error(view, "Erro ao salvar o autor: " + error.getMessage());
+                    onDone.accept(false);
+                });
     }
 
 
     /**
      * Valida os campos do formulário de registro de autor.
      *
-     * @param id             ‘ID’ do autor, pode ser null para novo registro.
      * @param commercialName Nome comercial do autor, pode ser null (se fullName não for null).
      * @param fullName       Nome completo do autor, pode ser null (se commercialName não for null).
-     * @param author         Autor a ser validado.
      * @return true se houver algum erro de validação, false caso contrário.
      */
-    private boolean validateFieldsValues(String id, String commercialName, String fullName, Author author) {
-        if (id != null && !id.isEmpty()) {
-            author.setId(Long.parseLong(id));
-        }
-
+    private boolean validateFieldsValues(String commercialName, String fullName) {
         if (StringUtils.isNullOrEmpty(commercialName) && StringUtils.isNullOrEmpty(fullName)) {
             MessageUtils.error(view, "Nome comercial ou Nome Completo é obrigatório.");
             return true;
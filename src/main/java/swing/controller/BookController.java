@@ -1,9 +1,12 @@
 package swing.controller;
 
-import org.hibernate.exception.ConstraintViolationException;
+import swing.enums.Status;
 import swing.model.Book;
 import swing.model.dto.BookDTO;
+import swing.model.page.PageRequest;
+import swing.model.page.Slice;
 import swing.service.BookService;
+import swing.util.AsyncExecutor;
 import swing.util.MessageUtils;
 import swing.view.BookView;
 
@@ -26,10 +29,38 @@ public class BookController extends AbstractController<BookView, Book> {
      * @return uma lista de LivroDTOs.
      */
     public List<BookDTO> getBooksDTO() {
-        List<Book> books = service.findAll();
-        return books.stream()
-                .map(BookDTO::new)
-                .collect(Collectors.toList());
+        return Slice.readAll(this::getBooksDTOPage, PageRequest.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Obtém uma página de LivroDTOs a partir da requisição informada.
+     *
+     * @param pageRequest a requisição da página a ser carregada.
+     * @return a página de LivroDTOs.
+     */
+    public Slice<BookDTO> getBooksDTOPage(PageRequest pageRequest) {
+        return ((BookService) service).findListRows(pageRequest);
+    }
+
+    /**
+     * Obtém os LivroDTOs dos registros com os ‘IDs’ informados, usados na atualização incremental da tabela.
+     *
+     * @param ids os ‘IDs’ dos registros.
+     * @return os LivroDTOs encontrados.
+     */
+    public List<BookDTO> getBooksDTOByIds(List<Long> ids) {
+        return ((BookService) service).findListRowsByIds(ids);
+    }
+
+    /**
+     * Busca uma página de LivroDTOs pelo título, ISBN, autores ou editoras, do mais relevante para o menos relevante.
+     *
+     * @param text        o texto da busca.
+     * @param pageRequest a requisição da página a ser carregada.
+     * @return a página de LivroDTOs encontrados.
+     */
+    public Slice<BookDTO> searchBooksPage(String text, PageRequest pageRequest) {
+        return ((BookService) service).search(text, pageRequest);
     }
 
     /**
@@ -38,12 +69,15 @@ public class BookController extends AbstractController<BookView, Book> {
      * @param rowValue o livro a ser editado, representado por um LivroDTO.
      */
     public void editBook(BookDTO rowValue) {
-        Book book = service.findById(rowValue.getId());
-        if (book != null) {
-            view.openForm(book);
-        } else {
-            MessageUtils.error(view, "Livro não encontrado.");
-        }
+        AsyncExecutor.onEdt(asyncService.findById(rowValue.getId(), Book.FETCH_EDIT_FORM),
+                book -> {
+                    if (book != null) {
+                        view.openForm(book);
+                    } else {
+                        MessageUtils.error(view, "Livro não encontrado.");
+                    }
+                },
+                error -> MessageUtils.error(view, "Erro ao carregar livro: " + error.getMessage()));
     }
 
     /**
@@ -60,19 +94,46 @@ public class BookController extends AbstractController<BookView, Book> {
         if (!MessageUtils.confirm(view, "Deseja realmente excluir o livro: " + selectedBook.getTitle() + "?")) {
             return;
         }
-        Book book = service.findById(selectedBook.getId());
-        if (book != null) {
-            try {
-                service.delete(book);
-                view.refreshBookTable();
-                MessageUtils.info(view, "Livro excluído com sucesso.");
-            } catch (ConstraintViolationException e) {
-                MessageUtils.error(view, "Não é possível excluir o livro, pois ele está vinculado a autores ou editoras.");
-            } catch (Exception e) {
-                MessageUtils.error(view, "Erro ao excluir livro: " + e.getMessage());
-            }
-        } else {
-            MessageUtils.error(view, "Livro não encontrado.");
-        }
+        // A busca e a exclusão rodam na mesma tarefa, fora do EDT
+        AsyncExecutor.onEdt(asyncService.write(() -> {
+                    Book book = service.findById(selectedBook.getId());
+                    if (book != null) {
+                        service.delete(book);
+                    }
+                    return book;
+                }),
+                book -> {
+                    if (book != null) {
+                        MessageUtils.info(view, "Livro excluído com sucesso.");
+                    } else {
+                        MessageUtils.error(view, "Livro não encontrado.");
+                    }
+                },
+                error -> {
+                    if (isConstraintViolation(error)) {
+                        MessageUtils.error(view, "Não é possível excluir o livro, pois ele está vinculado a autores ou editoras.");
+                    } else {
+                        MessageUtils.error(view, "Erro ao excluir livro: " + error.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * Exclui em lote os livros selecionados na tabela.
+     *
+     * @param selectedBooks as linhas selecionadas.
+     */
+    public void deleteBooks(List<BookDTO> selectedBooks) {
+        deleteSelected(selectedBooks, "livros");
+    }
+
+    /**
+     * Altera em lote o status dos livros selecionados na tabela.
+     *
+     * @param selectedBooks as linhas selecionadas.
+     * @param status        o novo status.
+     */
+    public void changeBooksStatus(List<BookDTO> selectedBooks, Status status) {
+        changeStatusSelected(selectedBooks, status, "livros");
     }
 }
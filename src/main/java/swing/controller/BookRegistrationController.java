@@ -4,9 +4,12 @@ import swing.model.Author;
 import swing.model.Book;
 import swing.model.Publisher;
 import swing.model.dto.BookDTO;
+import swing.service.AsyncService;
 import swing.service.AuthorService;
 import swing.service.BookService;
+import swing.service.MultiLoadResult;
 import swing.service.PublisherService;
+import swing.util.AsyncExecutor;
 import swing.util.CollectionUtils;
 import swing.util.DateUtils;
 import swing.util.MessageUtils;
@@ -15,6 +18,8 @@ import swing.view.BookRegistrationView;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -32,79 +37,95 @@ public class BookRegistrationController extends AbstractController<BookRegistrat
 
 
     /**
-     * Salva um livro no sistema.
+     * Salva um livro no sistema. Os campos são validados no EDT; a busca dos autores e editoras e a gravação rodam
+     * em segundo plano, numa única tarefa.
      *
      * @param id              o ‘ID’ do livro, se estiver a editar um livro existente.
+     * @param version         a versão do livro quando o formulário foi aberto, para detectar alterações
+     *                        concorrentes; null para novo registro.
      * @param title           o título do livro.
      * @param authors         uma lista de ‘IDs’ dos authors do livro.
      * @param publishers      uma lista de ‘IDs’ dos publishers do livro.
      * @param isbn            o ISBN do livro, deve ser um ISBN-13 válido.
      * @param publicationDate a data de publicação do livro no formato dd/MM/yyyy.
      * @param similarBooks    um conjunto de livros similares ao livro atual, pode ser vazio.
-     * @return true se o livro foi salvo com sucesso, false caso contrário.
+     * @param onDone          código executado no EDT com true se o livro foi salvo com sucesso, false caso contrário.
      */
-    public boolean saveBook(String id, String title, List<Long> authors, List<Long> publishers, String isbn,
-                            String publicationDate, Set<Book> similarBooks) {
-        boolean isEdit = id != null && !id.isEmpty();
-        Book book = new Book();
-
-        if (isEdit) {
-            book = service.findById(Long.parseLong(id));
-            if (book == null) {
-                MessageUtils.error(view, "Livro não encontrado.");
-                return false;
-            }
+    public void saveBook(String id, Long version, String title, List<Long> authors, List<Long> publishers, String isbn,
+                         String publicationDate, Set<Book> similarBooks, Consumer<Boolean> onDone) {
+        Book values = new Book();
+        if (validateFieldsValues(title, authors, publishers, isbn, publicationDate, values)) {
+            onDone.accept(false);
+            return;
         }
+        boolean isEdit = id != null && !id.isEmpty();
 
-        PublisherService publisherService = new PublisherService();
-        book.setTitle(title);
-        book.setAuthors(new LinkedHashSet<>(authorService.findByIds(authors)));
-        book.setPublishers(new LinkedHashSet<>(publisherService.findByIds(publishers)));
-        book.setIsbn(isbn);
-        book.setSimilarBooks(similarBooks);
-        if (validateFieldsValues(id, title, isbn, publicationDate, book)) return false;
+        AsyncExecutor.onEdt(asyncService.write(() -> {
+                    Book book = new Book();
+                    if (isEdit) {
+                        book = service.findById(Long.parseLong(id));
+                        if (book == null) {
+                            return null;
+                        }
+                        book.setVersion(version);
+                    }
 
-        try {
-            if (isEdit) {
-                service.update(book);
-            } else {
-                service.insert(book);
-            }
-            MessageUtils.info(view, "Livro salvo com sucesso!");
-        } catch (Exception e) {
-            MessageUtils.error(view, "Erro ao salvar o livro: " + e.getMessage());
-            return false;
-        }
-        return true;
+                    MultiLoadResult<Author> loadedAuthors = authorService.loadByIds(authors);
+                    MultiLoadResult<Publisher> loadedPublishers = new PublisherService().loadByIds(publishers);
+                    if (loadedAuthors.hasMissing() || loadedPublishers.hasMissing()) {
+                        throw new IllegalArgumentException("Autores ou editoras selecionados não foram encontrados. " +
+                                "Atualize a lista e tente novamente.");
+                    }
+                    book.setTitle(title);
+                    book.setAuthors(new LinkedHashSet<>(loadedAuthors.getFound()));
+                    book.setPublishers(new LinkedHashSet<>(loadedPublishers.getFound()));
+                    book.setIsbn(isbn);
+                    book.setSimilarBooks(similarBooks);
+                    if (values.getPublicationDate() != null) {
+                        book.setPublicationDate(values.getPublicationDate());
+                    }
+                    return isEdit ? service.update(book) : service.insert(book);
+                }),
+                book -> {
+                    if (book == null) {
+                        MessageUtils.error(view, "Livro não encontrado.");
+                        onDone.accept(false);
+                        return;
+                    }
+                    MessageUtils.info(view, "Livro salvo com sucesso!");
+                    onDone.accept(true);
+                },
+                error -> {
+                    MessageUtils.error(view, "Erro ao salvar o livro: " + error.getMessage());
+                    onDone.accept(false);
+                });
     }
 
     /**
-     * Valida os campos do livro antes de salvar.
+     * Valida os campos do livro antes de salvar, sem acessar o banco de dados.
      *
-     * @param id              o ‘ID’ do livro, se estiver editando um livro existente.
      * @param title           o título do livro.
+     * @param authors         os ‘IDs’ dos autores selecionados.
+     * @param publishers      os ‘IDs’ das editoras selecionadas.
      * @param isbn            o ISBN do livro, deve ser um ISBN-13 válido.
      * @param publicationDate a data de publicação do livro no formato dd/MM/yyyy.
-     * @param book            o objeto Livro a ser validado.
+     * @param values          o objeto Livro que recebe a data de publicação convertida.
      * @return true se houver algum erro de validação, false caso contrário.
      */
-    private boolean validateFieldsValues(String id, String title, String isbn, String publicationDate, Book book) {
-        if (id != null && !id.isEmpty()) {
-            book.setId(Long.parseLong(id));
-        }
-
+    private boolean validateFieldsValues(String title, List<Long> authors, List<Long> publishers, String isbn,
+                                         String publicationDate, Book values) {
         if (title == null || title.isEmpty()) {
             MessageUtils.error(view, "Título é obrigatório.");
             return true;
         }
-        if (CollectionUtils.isEmpty(book.getPublishers())) {
+        if (CollectionUtils.isEmpty(publishers)) {
             boolean response = MessageUtils.confirm(view, "Pelo menos uma editora é obrigatória. Deseja associar a uma editora desconhecida?");
             if (!response) {
                 return true;
             }
         }
 
-        if (CollectionUtils.isEmpty(book.getAuthors())) {
+        if (CollectionUtils.isEmpty(authors)) {
             boolean response = MessageUtils.confirm(view, "Pelo menos um autor é obrigatório. Deseja associar " +
                     " a um autor desconhecido?");
             if (!response) {
@@ -124,14 +145,14 @@ public class BookRegistrationController extends AbstractController<BookRegistrat
 
         try {
             if (publicationDate != null && !publicationDate.isEmpty()) {
-                book.setPublicationDate(DateUtils.textToDate(publicationDate, LocalDate.class));
+                values.setPublicationDate(DateUtils.textToDate(publicationDate, LocalDate.class));
             }
         } catch (DateTimeParseException e) {
             MessageUtils.error(view, "Data de publicação inválida. Use o formato dd/MM/yyyy.");
             return true;
         }
 
-        if (DateUtils.isDateAfterToday(book.getPublicationDate())) {
+        if (DateUtils.isDateAfterToday(values.getPublicationDate())) {
             MessageUtils.error(view, "Data de publicação não pode ser no futuro.");
             return true;
         }
@@ -139,67 +160,67 @@ public class BookRegistrationController extends AbstractController<BookRegistrat
     }
 
     /**
-     * Carrega os autores disponíveis no sistema.
+     * Carrega, em segundo plano, os autores disponíveis no sistema.
      *
-     * @return um conjunto de autores.
+     * @return o futuro com a lista de autores.
      */
-    public Set<Author> loadAuthors() {
-        return new LinkedHashSet<>(authorService.findAll());
+    public CompletableFuture<List<Author>> loadAuthors() {
+        return new AsyncService<>(authorService).findAll();
     }
 
     /**
-     * Carrega as editoras disponíveis no sistema.
+     * Carrega, em segundo plano, as editoras disponíveis no sistema.
      *
-     * @return um conjunto de editoras.
+     * @return o futuro com a lista de editoras.
      */
-    public Set<Publisher> loadPublishers() {
-        PublisherService publisherService = new PublisherService();
-        return new LinkedHashSet<>(publisherService.findAll());
+    public CompletableFuture<List<Publisher>> loadPublishers() {
+        return new AsyncService<>(new PublisherService()).findAll();
     }
 
     /**
-     * Exclui um livro do sistema.
+     * Exclui um livro do sistema. A confirmação é feita no EDT e a exclusão roda em segundo plano.
      *
-     * @param book o livro a ser excluído.
+     * @param book      o livro a ser excluído.
+     * @param onDeleted código executado no EDT após a exclusão.
      */
-    public boolean deleteBook(Book book) {
+    public void deleteBook(Book book, Runnable onDeleted) {
         if (book == null) {
             MessageUtils.error(view, "Livro não encontrado.");
-            return false;
+            return;
         }
 
         //Confirmar exclusão
         boolean response = MessageUtils.confirm(view, "Tem certeza que deseja excluir o livro '" + book.getTitle() + "'?");
         if (!response) {
-            return false;
+            return;
         }
 
-        try {
-            service.delete(book);
-            MessageUtils.info(view, "Livro excluído com sucesso!");
-            return true;
-        } catch (Exception e) {
-            MessageUtils.error(view, "Erro ao excluir o livro: " + e.getMessage());
-            return false;
-        }
+        AsyncExecutor.onEdt(asyncService.delete(book),
+                result -> {
+                    MessageUtils.info(view, "Livro excluído com sucesso!");
+                    onDeleted.run();
+                },
+                error -> MessageUtils.error(view, "Erro ao excluir o livro: " + error.getMessage()));
     }
 
     /**
-     * Busca um livro pelo ISBN.
+     * Busca, em segundo plano, um livro pelo ISBN.
      *
      * @param text o ISBN a ser buscado, pode conter hífens e espaços.
-     * @return um LivroDTO com os dados do livro encontrado, ou null se não encontrado.
+     * @return o futuro com um LivroDTO com os dados do livro encontrado, ou null se não encontrado.
      */
-    public BookDTO findByIsbn(String text) {
+    public CompletableFuture<BookDTO> findByIsbn(String text) {
         if (text == null || text.isEmpty()) {
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
 
-        Book book = ((BookService) service).findBookByIsbnAPI(text);
-        if (book == null) {
-            return null;
-        }
-        return new BookDTO(book);
+        return asyncService.call(() -> {
+            Book book = ((BookService) service).findBookByIsbnAPI(text);
+            if (book == null) {
+                return null;
+            }
+            return new BookDTO(book);
+        });
     }
 
     /**
@@ -296,23 +317,23 @@ public class BookRegistrationController extends AbstractController<BookRegistrat
     }
 
     /**
-     * Carrega todos os livros com exceção do livro atual.
+     * Carrega, em segundo plano, todos os livros com exceção do livro atual.
      *
      * @param book o livro atual para evitar duplicação.
-     * @return uma lista de livros similares ao livro atual.
+     * @return o futuro com a lista de livros similares ao livro atual.
      */
-    public List<Book> loadSimilarBooks(Book book) {
+    public CompletableFuture<List<Book>> loadSimilarBooks(Book book) {
         if (book == null) {
-            return Collections.emptyList();
-        }
-        List<Book> allBooks = service.findAll();
-        if (CollectionUtils.isEmpty(allBooks)) {
-            return Collections.emptyList();
+            return CompletableFuture.completedFuture(Collections.emptyList());
         }
-        allBooks.removeIf(b -> b.getId().equals(book.getId()) ||
-                b.getTitle().equalsIgnoreCase(book.getTitle()) ||
-                b.getIsbn().equalsIgnoreCase(book.getIsbn()));
-
-        return allBooks;
+        return asyncService.findAll().thenApply(allBooks -> {
+            if (CollectionUtils.isEmpty(allBooks)) {
+                return Collections.<Book>emptyList();
+            }
+            allBooks.removeIf(b -> b.getId().equals(book.getId()) ||
+                    b.getTitle().equalsIgnoreCase(book.getTitle()) ||
+                    b.getIsbn().equalsIgnoreCase(book.getIsbn()));
+            return allBooks;
+        });
     }
 }
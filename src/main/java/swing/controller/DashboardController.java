@@ -1,22 +1,30 @@
 package swing.controller;
 
-import swing.model.AbstractModel;
 import swing.model.Author;
 import swing.model.Book;
-import swing.service.AuthorService;
-import swing.service.BookService;
-import swing.service.PublisherService;
-import swing.util.CollectionUtils;
+import swing.model.Publisher;
+import swing.service.StatisticsService;
+import swing.util.ServiceExecutor;
 
-import java.util.Comparator;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class DashboardController {
 
 
-    BookService bookService = new BookService();
-    AuthorService authorService = new AuthorService();
-    PublisherService publisherController = new PublisherService();
+    StatisticsService statisticsService = new StatisticsService();
+
+    /**
+     * Carrega em segundo plano as estatísticas que ainda não estão em memória.
+     * Após a conclusão, os demais métodos respondem sem consultar o banco.
+     *
+     * @return o futuro concluído após o carregamento.
+     */
+    public CompletableFuture<Void> loadStatistics() {
+        return ServiceExecutor.supplyAsync(() -> {
+            statisticsService.load();
+            return null;
+        });
+    }
 
     /**
      * Método que retorna a quantidade de livros cadastrados no sistema.
@@ -24,8 +32,7 @@ public class DashboardController {
      * @return ‘String’ com a quantidade de livros.
      */
     public String getBookCount() {
-        List<Book> books = bookService.findAll();
-        return CollectionUtils.isEmpty(books) ? "0" : String.valueOf(books.size());
+        return String.valueOf(statisticsService.getCount(Book.class));
     }
 
     /**
@@ -34,8 +41,7 @@ public class DashboardController {
      * @return ‘String’ com a quantidade de autores.
      */
     public String getAuthorCount() {
-        List<Author> authors = authorService.findAll();
-        return CollectionUtils.isEmpty(authors) ? "0" : String.valueOf(authors.size());
+        return String.valueOf(statisticsService.getCount(Author.class));
     }
 
     /**
@@ -44,7 +50,7 @@ public class DashboardController {
      * @return ‘String’ com a quantidade de editoras.
      */
     public String getPublisherCount() {
-        return String.valueOf(publisherController.findAll().size());
+        return String.valueOf(statisticsService.getCount(Publisher.class));
     }
 
     /**
@@ -53,12 +59,7 @@ public class DashboardController {
      * @return ‘String’ com o nome do último livro ou "Nenhum" se não houver livros.
      */
     public String getLastBookName() {
-        List<Book> books = bookService.findAll();
-        if (CollectionUtils.isEmpty(books)) {
-            return "Nenhum";
-        }
-        Book lastBook = books.stream()
-                .max(Comparator.comparing(AbstractModel::getCreatedAt)).orElse(null);
-        return (lastBook != null) ? lastBook.getTitle() : "Nenhum";
+        String title = statisticsService.getLastBookTitle();
+        return title != null ? title : "Nenhum";
     }
 }
@@ -1,6 +1,10 @@
 package swing.controller;
 
+import swing.enums.Status;
 import swing.model.AbstractModel;
+import swing.model.page.PageRequest;
+import swing.model.page.Slice;
+import swing.service.MultiLoadResult;
 
 import java.util.List;
 
@@ -56,4 +60,24 @@ public interface IAbstractController<T extends AbstractModel> {
      */
     List<T> findByIds(List<Long> ids);
 
+    /**
+     * Busca registros por uma lista de ‘IDs’ numa única consulta, informando os ‘IDs’ não encontrados.
+     *
+     * @param ids a lista de ‘IDs’ dos objetos a serem buscados
+     * @return os objetos encontrados na ordem dos ‘IDs’ e os ‘IDs’ ausentes
+     */
+    MultiLoadResult<T> loadByIds(List<Long> ids);
+
+    /**
+     * Busca uma página de registros a partir do token de continuação da requisição.
+     *
+     * @param pageRequest a requisição da página
+     * @return a página de registros encontrados
+     */
+    Slice<T> findSlice(PageRequest pageRequest);
+
+    int deleteByIds(List<Long> ids);
+
+    int updateStatusByIds(List<Long> ids, Status status);
+
 }
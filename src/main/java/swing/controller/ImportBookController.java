@@ -1,34 +1,51 @@
 package swing.controller;
 
+import swing.enums.ImportAction;
 import swing.enums.LogErrorType;
-import swing.model.AbstractModel;
-import swing.model.Author;
 import swing.model.Book;
-import swing.model.Publisher;
 import swing.model.dto.CSVImportableBookDTO;
-import swing.service.AuthorService;
+import swing.service.BookBulkImportService;
+import swing.service.BookImportPipeline;
+import swing.service.BookImportPlan;
+import swing.service.BookImportPlanner;
+import swing.service.BookImportSummary;
 import swing.service.BookService;
-import swing.service.PublisherService;
+import swing.service.BulkImportResult;
 import swing.util.CSVUtils;
-import swing.util.GeneralUtils;
 import swing.util.MessageUtils;
 import swing.view.ImportBooksView;
 
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-import java.util.function.Consumer;
-import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Controlador responsável por gerenciar a importação de livros a partir de um arquivo CSV.
  */
 public class ImportBookController extends AbstractController<ImportBooksView, Book> {
 
+    /**
+     * Importação em andamento, para permitir o cancelamento pela tela.
+     */
+    private volatile BookImportPipeline pipeline;
+
+    /**
+     * Simulação em andamento, para permitir o cancelamento pela tela.
+     */
+    private volatile BookImportPlanner planner;
+
+    /**
+     * Plano da última simulação concluída e o estado do file simulado, para recusar a aplicação se ele mudar.
+     */
+    private volatile BookImportPlan plan;
+    private File planFile;
+    private long planFileLength;
+    private long planFileLastModified;
 
     public ImportBookController(ImportBooksView importBooksView) {
         super(importBooksView, new BookService());
@@ -36,262 +53,218 @@ public class ImportBookController extends AbstractController<ImportBooksView, Bo
 
     /**
      * Método para importar livros de um file.
+     * As linhas são lidas, convertidas e gravadas em estágios paralelos, à medida que o arquivo é lido.
      *
-     * @param file o file que contém os dados dos livros a serem importados.
+     * @param file     o file que contém os dados dos livros a serem importados.
+     * @param bulkMode indica se a importação deve gravar os livros em lotes, para arquivos grandes;
+     *                 caso contrário, cada linha é gravada numa transação própria, com o resultado no ‘log’.
      */
-    public void importBooks(File file) {
+    public void importBooks(File file, boolean bulkMode) {
+        // A importação altera os livros com que a simulação anterior foi comparada
+        plan = null;
         view.addLog(null, "====================== Iniciando importação de livros... ======================");
-        if (file == null || !file.exists()) {
-            MessageUtils.error(view, "Arquivo inválido ou não encontrado.");
-            view.addLog(LogErrorType.ERROR, "Arquivo inválido ou não encontrado.");
+        if (!isValidFile(file)) {
             return;
         }
-        if (!file.getName().endsWith(".csv")) {
-            MessageUtils.error(view, "Formato de file inválido. Por favor, selecione um file CSV.");
-            view.addLog(LogErrorType.ERROR, "Formato de file inválido. Por favor, selecione um file CSV.");
-            return;
+        runImport(file, bulkMode, line -> false);
+    }
+
+    /**
+     * Simula a importação de um file, sem gravar no banco: cada linha é classificada como inclusão, alteração,
+     * sem alterações ou erro. O plano fica guardado para ser aplicado por {@link #applyPlan(boolean)}.
+     *
+     * @param file o file que contém os dados dos livros a serem simulados.
+     * @return true se a simulação foi concluída e o plano pode ser aplicado.
+     */
+    public boolean planImport(File file) {
+        plan = null;
+        view.addLog(null, "===================== Iniciando simulação da importação... =====================");
+        if (!isValidFile(file)) {
+            return false;
         }
 
         view.addLog(LogErrorType.INFO, "Lendo file: " + file.getAbsolutePath() + "...");
-
-        try (FileReader reader = new FileReader(file)) {
-            Set<CSVImportableBookDTO> books = CSVUtils.csvToObject(reader, CSVImportableBookDTO.class);
-            if (books.isEmpty()) {
-                MessageUtils.info(view, "Nenhum livro encontrado no file.");
-                view.addLog(LogErrorType.WARNING, "Nenhum livro encontrado no file.");
-                return;
+        BookImportPlanner importPlanner = new BookImportPlanner();
+        planner = importPlanner;
+        try (Stream<Supplier<CSVImportableBookDTO>> records =
+                     CSVUtils.csvToDeferredStream(new FileReader(file), CSVImportableBookDTO.class)) {
+            BookImportPlan importPlan = importPlanner.plan(records);
+            importPlan.getErrorDetails().forEach(error -> view.addLog(LogErrorType.ERROR, "❌ " + error));
+            int omittedErrors = importPlan.getCount(ImportAction.ERROR) - importPlan.getErrorDetails().size();
+            if (omittedErrors > 0) {
+                view.addLog(LogErrorType.ERROR, "... e mais " + omittedErrors + " linhas com erros.");
             }
-            view.addLog(LogErrorType.INFO, "Total de linhas encontrados: " + books.size());
-            view.addLog(LogErrorType.INFO, "Iniciando a conversão dos books...");
-            processBooks(books);
-
-        } catch (IOException e) {
+            view.addLog(importPlan.isCancelled() ? LogErrorType.WARNING : LogErrorType.INFO, String.format(
+                    "Simulação %s: %d linhas lidas, %d inclusões, %d alterações, %d sem alterações, %d com erros " +
+                            "em %d ms (%.1f linhas/s), comparadas com %d livros cadastrados",
+                    importPlan.isCancelled() ? "cancelada" : "concluída", importPlan.getLines(),
+                    importPlan.getCount(ImportAction.INSERT), importPlan.getCount(ImportAction.UPDATE),
+                    importPlan.getCount(ImportAction.UNCHANGED), importPlan.getCount(ImportAction.ERROR),
+                    importPlan.getElapsedMillis(), importPlan.getRowsPerSecond(), importPlan.getIndexedBooks()));
+            if (importPlan.isCancelled() || importPlan.getLines() == 0) {
+                return false;
+            }
+            plan = importPlan;
+            planFile = file;
+            planFileLength = file.length();
+            planFileLastModified = file.lastModified();
+            return true;
+        } catch (IOException | UncheckedIOException e) {
             MessageUtils.error(view, "Erro ao ler o file: " + e.getMessage());
             view.addLog(LogErrorType.ERROR, "Erro ao ler o file: " + e.getMessage());
         } catch (IllegalArgumentException e) {
             MessageUtils.error(view, "Erro ao converter o file: " + e.getMessage());
             view.addLog(LogErrorType.ERROR, "Erro ao converter o file: " + e.getMessage());
+        } finally {
+            planner = null;
         }
+        return false;
     }
 
     /**
-     * Processa um conjunto de livros importados do CSV.
+     * Aplica o plano da última simulação: importa o mesmo file, sem converter nem gravar as linhas sem alterações.
+     * O plano é descartado em seguida, pois a importação altera os livros com que ele foi comparado.
      *
-     * @param books o conjunto de livros a serem processados.
+     * @param bulkMode indica se a importação deve gravar os livros em lotes, como em {@link #importBooks}.
      */
-    private void processBooks(Set<CSVImportableBookDTO> books) {
-        int currentLine = 0;
-        for (CSVImportableBookDTO csvBook : books) {
-            GeneralUtils.pause(1000);
-            currentLine++;
-
-            view.addLog(null, "\n\n\n ===============================================================");
-            view.addLog(null, String.format("\n ℹ️ Processando linha %d: %s",
-                    currentLine, (csvBook.getTitle() != null && !csvBook.getTitle().isEmpty()) ? csvBook.getTitle() : "(Sem título)"));
-
-            try {
-                if (csvBook.getImportErrors() != null && !csvBook.getImportErrors().isEmpty()) {
-                    view.addLog(LogErrorType.ERROR, "❌ Livro com erros: " + csvBook.getTitle() + ": ");
-                    for (String error : csvBook.getImportErrors()) {
-                        view.addLog(null, "    - " + error);
-                    }
-                    continue;
-                }
-                view.addLog(LogErrorType.INFO, "Livro é válido:");
-                view.addLog(null, "    - Título: " + csvBook.getTitle());
-                String authors = csvBook.getAuthors().stream()
-                        .map(Author::getCommercialName)
-                        .collect(Collectors.joining(", "));
-                view.addLog(null, "    - Autores: " + authors);
-                view.addLog(null, "    - ISBN: " + csvBook.getIsbn());
-                String publishers = csvBook.getPublishers().stream()
-                        .map(Publisher::getName)
-                        .collect(Collectors.joining(", "));
-                view.addLog(null, "    - Editoras: " + publishers);
-                view.addLog(null, "    - Data de publicação: " + csvBook.getPublicationDate());
-
-                Book book = ((BookService) service).findBookByIsbn(csvBook.getIsbn());
-                if (book == null) {
-                    view.addLog(LogErrorType.INFO, "\uD83D\uDD04 Livro não existe. Criando...");
-                    book = new Book();
-                } else {
-                    view.addLog(LogErrorType.INFO, "Livro já existe no banco de dados. ID =  " + book.getId());
-                    view.addLog(LogErrorType.INFO, "\uD83D\uDD04 Atualizando livro existente...");
-                    compareAndUpdate(book, csvBook);
-                    continue;
-                }
-
-                book.setTitle(csvBook.getTitle());
-                book.setIsbn(csvBook.getIsbn());
-                book.setPublicationDate(csvBook.getPublicationDate());
-                processAuthors(book, csvBook);
-                processPublishers(book, csvBook);
-                view.addLog(LogErrorType.INFO, "\uD83D\uDD04 Salvando livro...");
-
-                try {
-                    book = service.insert(book);
-                } catch (Exception e) {
-                    view.addLog(LogErrorType.ERROR, "❌ Erro ao salvar livro: " + csvBook.getTitle() + " - " + e.getMessage());
-                    continue;
-                }
-
-                if (book == null) {
-                    view.addLog(LogErrorType.ERROR, "❌ Erro ao salvar livro: " + csvBook.getTitle());
-                    continue;
-                }
-                view.addLog(LogErrorType.INFO, "✅ Livro criado com sucesso com o ID '" + book.getId() + "'");
-            } catch (Exception e) {
-                view.addLog(LogErrorType.ERROR, "❌ Erro ao importar csvBook: " + csvBook.getTitle() + " - " + e.getMessage());
-            } finally {
-                view.addLog(null, "====================== ✅ Fim do processamento da linha " + currentLine + " ======================");
-            }
+    public void applyPlan(boolean bulkMode) {
+        BookImportPlan importPlan = plan;
+        plan = null;
+        view.addLog(null, "==================== Aplicando a simulação da importação... ====================");
+        if (importPlan == null) {
+            MessageUtils.error(view, "Nenhuma simulação para aplicar.");
+            view.addLog(LogErrorType.ERROR, "Nenhuma simulação para aplicar.");
+            return;
         }
+        if (!planFile.exists() || planFile.length() != planFileLength || planFile.lastModified() != planFileLastModified) {
+            MessageUtils.error(view, "O arquivo foi alterado após a simulação. Simule a importação novamente.");
+            view.addLog(LogErrorType.ERROR, "O arquivo foi alterado após a simulação. Simule a importação novamente.");
+            return;
+        }
+        runImport(planFile, bulkMode,
+                line -> line <= importPlan.getLines() && importPlan.getAction(line) == ImportAction.UNCHANGED);
     }
 
     /**
-     * Compara os dados de um livro existente com os dados de um livro CSV e atualiza o livro se necessário.
+     * Verifica se há uma simulação que pode ser aplicada.
      *
-     * @param book    o livro existente a ser atualizado.
-     * @param bookCSV o livro CSV com os dados a serem comparados.
+     * @return true se há um plano de importação guardado.
      */
-    private void compareAndUpdate(Book book, CSVImportableBookDTO bookCSV) {
-        boolean changed = false;
-        if (!book.getTitle().equalsIgnoreCase(bookCSV.getTitle())) {
-            view.addLog(LogErrorType.INFO, "Título do livro changed (anterior: " + book.getTitle() + ", novo: " + bookCSV.getTitle() + ")");
-            book.setTitle(bookCSV.getTitle());
-            changed = true;
-        }
-        if (book.getIsbn() == null || !book.getIsbn().equalsIgnoreCase(bookCSV.getIsbn())) {
-            view.addLog(LogErrorType.INFO, "ISBN do livro changed (anterior: " + book.getIsbn() + ", novo: " + bookCSV.getIsbn() + ")");
-            book.setIsbn(bookCSV.getIsbn());
-            changed = true;
-        }
-
-        if (book.getPublicationDate() == null || !book.getPublicationDate().equals(bookCSV.getPublicationDate())) {
-            view.addLog(LogErrorType.INFO, "Data de publicação do livro alterada (anterior: " + book.getPublicationDate() + ", nova: " + bookCSV.getPublicationDate() + ")");
-            book.setPublicationDate(bookCSV.getPublicationDate());
-            changed = true;
-        }
-
-        if (!book.getPublishers().containsAll(bookCSV.getPublishers())
-                || !bookCSV.getPublishers().containsAll(book.getPublishers())) {
-            processPublishers(book, bookCSV);
-            changed = true;
-        }
+    public boolean hasPlan() {
+        return plan != null;
+    }
 
-        if (!book.getAuthors().containsAll(bookCSV.getAuthors())
-                || !bookCSV.getAuthors().containsAll(book.getAuthors())) {
-            processAuthors(book, bookCSV);
-            changed = true;
+    /**
+     * Valida o file selecionado, informando o erro na tela e no ‘log’.
+     *
+     * @param file o file selecionado.
+     * @return true se o file existe e é um CSV.
+     */
+    private boolean isValidFile(File file) {
+        if (file == null || !file.exists()) {
+            MessageUtils.error(view, "Arquivo inválido ou não encontrado.");
+            view.addLog(LogErrorType.ERROR, "Arquivo inválido ou não encontrado.");
+            return false;
         }
-
-        if (changed) {
-            view.addLog(LogErrorType.INFO, "Salvando livro atualizado...");
-            service.update(book);
-        } else {
-            view.addLog(LogErrorType.INFO, "Nenhuma alteração necessária para o livro: " + book.getTitle());
+        if (!file.getName().endsWith(".csv")) {
+            MessageUtils.error(view, "Formato de file inválido. Por favor, selecione um file CSV.");
+            view.addLog(LogErrorType.ERROR, "Formato de file inválido. Por favor, selecione um file CSV.");
+            return false;
         }
+        return true;
     }
 
     /**
-     * Se as editoras do livro foram alteradas, atualiza o livro com as novas editoras.
-     * Se não existirem editoras no livro, adiciona as editoras do CSV.
+     * Importa um file já validado.
      *
-     * @param book    o livro a ser atualizado.
-     * @param bookCSV o livro CSV com as novas editoras.
+     * @param file         o file a ser importado.
+     * @param bulkMode     indica se a importação deve gravar os livros em lotes.
+     * @param skippedLines as linhas que não devem ser gravadas.
      */
-    private void processPublishers(Book book, CSVImportableBookDTO bookCSV) {
-        updateRelashionship(
-                "Editora",
-                new HashSet<>(book.getPublishers()),
-                new HashSet<>(bookCSV.getPublishers()),
-                book.getPublishers()::add,
-                book.getPublishers()::remove,
-                publisher -> {
-                    PublisherService service = new PublisherService();
-                    Publisher existPublisher = service.findByName(publisher.getName());
-                    if (existPublisher != null) {
-                        return existPublisher;
-                    }
-                    return service.insert(publisher);
-                }
-        );
+    private void runImport(File file, boolean bulkMode, IntPredicate skippedLines) {
+        plan = null;
+        view.addLog(LogErrorType.INFO, "Lendo file: " + file.getAbsolutePath() + "...");
+
+        int batchSize = bulkMode ? BookBulkImportService.DEFAULT_CHUNK_SIZE : 1;
+        BookImportPipeline importPipeline = new BookImportPipeline(BookImportPipeline.DEFAULT_PARALLELISM, batchSize,
+                BookImportPipeline.DEFAULT_QUEUE_CAPACITY, new ImportLog());
+        pipeline = importPipeline;
+        try (Stream<Supplier<CSVImportableBookDTO>> records =
+                     CSVUtils.csvToDeferredStream(new FileReader(file), CSVImportableBookDTO.class)) {
+            view.addLog(LogErrorType.INFO, "Iniciando a conversão dos books...");
+            BookImportSummary summary = importPipeline.run(records, skippedLines);
+            if (summary.getRead() == 0 && !summary.isCancelled()) {
+                MessageUtils.info(view, "Nenhum livro encontrado no file.");
+                view.addLog(LogErrorType.WARNING, "Nenhum livro encontrado no file.");
+                return;
+            }
+            view.addLog(summary.isCancelled() ? LogErrorType.WARNING : LogErrorType.INFO, String.format(
+                    "Importação %s: %d linhas lidas, %d inseridos, %d atualizados, %d sem alterações, %d com erros " +
+                            "em %d ms (%.1f linhas/s)",
+                    summary.isCancelled() ? "cancelada" : "concluída", summary.getRead(), summary.getInserted(),
+                    summary.getUpdated(), summary.getSkipped(), summary.getRejected() + summary.getFailed(),
+                    summary.getElapsedMillis(), summary.getRowsPerSecond()));
+
+        } catch (IOException | UncheckedIOException e) {
+            MessageUtils.error(view, "Erro ao ler o file: " + e.getMessage());
+            view.addLog(LogErrorType.ERROR, "Erro ao ler o file: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            MessageUtils.error(view, "Erro ao converter o file: " + e.getMessage());
+            view.addLog(LogErrorType.ERROR, "Erro ao converter o file: " + e.getMessage());
+        } catch (IllegalStateException e) {
+            MessageUtils.error(view, "Erro ao importar o file: " + e.getMessage());
+            view.addLog(LogErrorType.ERROR, "Erro ao importar o file: " + e.getMessage());
+        } finally {
+            pipeline = null;
+        }
     }
 
     /**
-     * Se os autores do livro foram alterados, atualiza o livro com os novos autores.
-     *
-     * @param book    o livro a ser atualizado.
-     * @param bookCSV o livro CSV com os novos autores.
+     * Cancela a importação ou a simulação em andamento, se houver. As linhas já gravadas são mantidas.
      */
-    private void processAuthors(Book book, CSVImportableBookDTO bookCSV) {
-        updateRelashionship(
-                "Autor",
-                new HashSet<>(book.getAuthors()),
-                new HashSet<>(bookCSV.getAuthors()),
-                book.getAuthors()::add,
-                book.getAuthors()::remove,
-                author -> {
-                    AuthorService service = new AuthorService();
-                    if (author.getId() == null || author.getId() <= 0) {
-                        Author existAuthor = service.findByName(author.getCommercialName());
-                        if (existAuthor != null) return existAuthor;
-                        return service.insert(author);
-                    }
-                    return author;
-                }
-        );
+    public void cancelImport() {
+        BookImportPipeline current = pipeline;
+        if (current != null) {
+            view.addLog(LogErrorType.WARNING, "Cancelando a importação...");
+            current.cancel();
+        }
+        BookImportPlanner currentPlanner = planner;
+        if (currentPlanner != null) {
+            view.addLog(LogErrorType.WARNING, "Cancelando a simulação...");
+            currentPlanner.cancel();
+        }
     }
 
     /**
-     * Atualiza um relacionamento ManyToMany de um livro com base nos dados do CSV.
-     *
-     * @param <T>              Tipo do relacionamento (Autor, Editora, etc.)
-     * @param entityName       Nome da entidade para exibição no ‘log’.
-     * @param entityBefore     Conjunto original da entidade no livro.
-     * @param entityAfter      Conjunto da entidade vinda do CSV.
-     * @param addConsumer      Função que realiza a adição da entidade ao livro.
-     * @param deleteConsumer   Função que realiza a remoção da entidade do livro.
-     * @param optionalResolver (opcional) resolvedor que, dado um ‘item’ do CSV, retorna a versão persistida ou salva no banco.
+     * Registra no ‘log’ da tela os resultados da importação, linha a linha ou por bloco.
      */
-    private <T extends AbstractModel> void updateRelashionship(
-            String entityName,
-            Set<T> entityBefore,
-            Set<T> entityAfter,
-            Consumer<T> addConsumer,
-            Consumer<T> deleteConsumer,
-            UnaryOperator<T> optionalResolver
-    ) {
-        List<T> addedEntities = entityAfter.stream()
-                .filter(e -> !entityBefore.contains(e))
-                .collect(Collectors.toList());
-
-        List<T> removedEntities = entityBefore.stream()
-                .filter(e -> !entityAfter.contains(e))
-                .collect(Collectors.toList());
-
-        if (addedEntities.isEmpty() && removedEntities.isEmpty()) return;
-
-        for (T item : addedEntities) {
-            view.addLog(LogErrorType.INFO, "Adicionando " + entityName + ": " + (item.getId() == null ? "" : item.getId().toString()));
+    private class ImportLog implements BookImportPipeline.Listener {
 
-            T finalItem = item;
+        @Override
+        public void rowRejected(int line, Collection<String> errors) {
+            view.addLog(LogErrorType.ERROR, "❌ Linha " + line + " com erros: " + String.join("; ", errors));
+        }
 
-            if (optionalResolver != null) {
-                try {
-                    T resolved = optionalResolver.apply(item);
-                    if (resolved != null) finalItem = resolved;
-                } catch (Exception e) {
-                    view.addLog(LogErrorType.ERROR, "Erro ao resolver " + entityName + ": " + item + " - " + e.getMessage());
-                    continue;
-                }
+        @Override
+        public void batchWritten(int firstLine, int lastLine, BulkImportResult result) {
+            if (firstLine == lastLine) {
+                view.addLog(LogErrorType.INFO, "✅ Linha " + firstLine + ": livro "
+                        + (result.getInserted() > 0 ? "criado" : "atualizado") + " com sucesso.");
+            } else {
+                view.addLog(LogErrorType.INFO, String.format("Bloco gravado: %d inseridos, %d atualizados (linhas %d a %d)",
+                        result.getInserted(), result.getUpdated(), firstLine, lastLine));
             }
-            addConsumer.accept(finalItem);
         }
-        for (T item : removedEntities) {
-            view.addLog(LogErrorType.INFO, "Removendo " + entityName + ": " + (item.getId() == null ? "" : item.getId().toString()));
-            deleteConsumer.accept(item);
+
+        @Override
+        public void batchFailed(int firstLine, int lastLine, String message) {
+            view.addLog(LogErrorType.WARNING, String.format(
+                    "Falha ao gravar as linhas %d a %d em lote, reprocessando linha a linha: %s", firstLine, lastLine, message));
+        }
+
+        @Override
+        public void rowFailed(int line, String message) {
+            view.addLog(LogErrorType.ERROR, "❌ Erro ao salvar a linha " + line + ": " + message);
         }
-        view.addLog(LogErrorType.INFO, entityName + " atualizados. Total após atualização: " + entityAfter.size());
     }
 }
@@ -1,9 +1,12 @@
 package swing.controller;
 
-import org.hibernate.exception.ConstraintViolationException;
+import swing.enums.Status;
 import swing.model.Publisher;
 import swing.model.dto.PublisherDTO;
+import swing.model.page.PageRequest;
+import swing.model.page.Slice;
 import swing.service.PublisherService;
+import swing.util.AsyncExecutor;
 import swing.util.MessageUtils;
 import swing.view.PublisherView;
 
@@ -26,10 +29,27 @@ public class PublisherController extends AbstractController<PublisherView, Publi
      * @return uma lista de PublisherDTOs.
      */
     public List<PublisherDTO> getPublishersDTO() {
-        List<Publisher> publishers = service.findAll();
-        return publishers.stream()
-                .map(PublisherDTO::new)
-                .collect(Collectors.toList());
+        return Slice.readAll(this::getPublishersDTOPage, PageRequest.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Obtém uma página de PublisherDTOs a partir da requisição informada.
+     *
+     * @param pageRequest a requisição da página a ser carregada.
+     * @return a página de PublisherDTOs.
+     */
+    public Slice<PublisherDTO> getPublishersDTOPage(PageRequest pageRequest) {
+        return ((PublisherService) service).findListRows(pageRequest);
+    }
+
+    /**
+     * Obtém os PublisherDTOs dos registros com os ‘IDs’ informados, usados na atualização incremental da tabela.
+     *
+     * @param ids os ‘IDs’ dos registros.
+     * @return os PublisherDTOs encontrados.
+     */
+    public List<PublisherDTO> getPublishersDTOByIds(List<Long> ids) {
+        return ((PublisherService) service).findListRowsByIds(ids);
     }
 
     /**
@@ -38,12 +58,15 @@ public class PublisherController extends AbstractController<PublisherView, Publi
      * @param rowValue a editora a ser editado, representado por um PublisherDTO.
      */
     public void editPublisher(PublisherDTO rowValue) {
-        Publisher publisher = service.findById(rowValue.getId());
-        if (publisher != null) {
-            view.openForm(publisher);
-        } else {
-            MessageUtils.error(view, "Editora não encontrado.");
-        }
+        AsyncExecutor.onEdt(asyncService.findById(rowValue.getId()),
+                publisher -> {
+                    if (publisher != null) {
+                        view.openForm(publisher);
+                    } else {
+                        MessageUtils.error(view, "Editora não encontrado.");
+                    }
+                },
+                error -> MessageUtils.error(view, "Erro ao carregar editora: " + error.getMessage()));
     }
 
     /**
@@ -60,23 +83,46 @@ public class PublisherController extends AbstractController<PublisherView, Publi
         if (!MessageUtils.confirm(view, "Deseja realmente excluir a editora: " + selectedPublisher.getName() + "?")) {
             return;
         }
-        Publisher publisher = service.findById(selectedPublisher.getId());
-        if (publisher != null) {
-            try {
-                service.delete(publisher);
-                view.refreshPublisherTable();
-                MessageUtils.info(view, "editora excluído com sucesso.");
-            } catch (ConstraintViolationException e) {
-                MessageUtils.error(view, "Erro ao excluir editora. Existe um vínculo com um livro existente.");
-            } catch (Exception e) {
-                if (e.getMessage() != null && e.getMessage().contains("ConstraintViolationException")) {
-                    MessageUtils.error(view, "Não é possível excluir a editora, pois ela está vinculada a livros.");
-                    return;
-                }
-                MessageUtils.error(view, "Erro ao excluir editora: " + e.getMessage());
-            }
-        } else {
-            MessageUtils.error(view, "editora não encontrado.");
-        }
+        // A busca e a exclusão rodam na mesma tarefa, fora do EDT
+        AsyncExecutor.onEdt(asyncService.write(() -> {
+                    Publisher publisher = service.findById(selectedPublisher.getId());
+                    if (publisher != null) {
+                        service.delete(publisher);
+                    }
+                    return publisher;
+                }),
+                publisher -> {
+                    if (publisher != null) {
+                        MessageUtils.info(view, "editora excluído com sucesso.");
+                    } else {
+                        MessageUtils.error(view, "editora não encontrado.");
+                    }
+                },
+                error -> {
+                    if (isConstraintViolation(error)) {
+                        MessageUtils.error(view, "Não é possível excluir a editora, pois ela está vinculada a livros.");
+                    } else {
+                        MessageUtils.error(view, "Erro ao excluir editora: " + error.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * Exclui em lote as editoras selecionadas na tabela.
+     *
+     * @param selectedPublishers as linhas selecionadas.
+     */
+    public void deletePublishers(List<PublisherDTO> selectedPublishers) {
+        deleteSelected(selectedPublishers, "editoras");
+    }
+
+    /**
+     * Altera em lote o status das editoras selecionadas na tabela.
+     *
+     * @param selectedPublishers as linhas selecionadas.
+     * @param status             o novo status.
+     */
+    public void changePublishersStatus(List<PublisherDTO> selectedPublishers, Status status) {
+        changeStatusSelected(selectedPublishers, status, "editoras");
     }
 }
@@ -1,12 +1,14 @@
 package swing.controller;
 
-import org.hibernate.exception.ConstraintViolationException;
 import swing.model.Publisher;
 import swing.service.PublisherService;
+import swing.util.AsyncExecutor;
 import swing.util.MessageUtils;
 import swing.util.StringUtils;
 import swing.view.PublisherRegistrationView;
 
+import java.util.function.Consumer;
+
 public class PublisherRegistrationController extends AbstractController<PublisherRegistrationView, Publisher> {
 
     public PublisherRegistrationController(PublisherRegistrationView view) {
@@ -14,86 +16,84 @@ public class PublisherRegistrationController extends AbstractController<Publishe
     }
 
     /**
-     * Método para abrir o formulário de registro de editora.
+     * Exclui, em segundo plano, a editora do formulário.
      *
-     * @param publisher editora a ser editado ou null para novo registro.
+     * @param publisher editora a ser excluída.
+     * @param onDeleted código executado no EDT após a exclusão.
      */
-    public boolean deleteRecord(Publisher publisher) {
+    public void deleteRecord(Publisher publisher, Runnable onDeleted) {
         if (publisher == null) {
             throw new IllegalArgumentException("A editora não foi encontrado.");
         }
         if (publisher.getId() == null) {
             throw new IllegalArgumentException("A editora deve ter um ID válido para ser deletado.");
         }
-        try {
-            service.delete(publisher);
-            MessageUtils.info(view, "Editora deletado com sucesso.");
-            return true;
-        } catch (ConstraintViolationException e) {
-            MessageUtils.error(view, "Não é possível deletar a editora, pois ela está vinculada a livros.");
-            return false;
-        } catch (Exception e) {
-            if (e.getMessage() != null && e.getMessage().contains("ConstraintViolationException")) {
-                MessageUtils.error(view, "Não é possível excluir a editora, pois ela está vinculada a livros.");
-                return false;
-            }
-            MessageUtils.error(view, "Erro ao deletar editora: " + e.getMessage());
-            return false;
-        }
+        AsyncExecutor.onEdt(asyncService.delete(publisher),
+                result -> {
+                    MessageUtils.info(view, "Editora deletado com sucesso.");
+                    onDeleted.run();
+                },
+                error -> {
+                    if (isConstraintViolation(error)) {
+                        MessageUtils.error(view, "Não é possível excluir a editora, pois ela está vinculada a livros.");
+                    } else {
+                        MessageUtils.error(view, "Erro ao deletar editora: " + error.getMessage());
+                    }
+                });
     }
 
 
     /**
-     * Método para salvar um editora.
+     * Método para salvar um editora. Os campos são validados no EDT e a gravação roda em segundo plano.
      *
-     * @param id   ‘ID’ da editora, pode ser null para novo registro.
-     * @param name Nome completo da editora, pode ser null (se commercialName não for null).
-     * @return true se a editora foi salvo com sucesso, false caso contrário.
+     * @param id      ‘ID’ da editora, pode ser null para novo registro.
+     * @param version Versão da editora quando o formulário foi aberto, para detectar alterações concorrentes;
+     *                null para novo registro.
+     * @param name    Nome completo da editora, pode ser null (se commercialName não for null).
+     * @param onDone  código executado no EDT com true se a editora foi salva com sucesso, false caso contrário.
      */
-    public boolean savePublisher(String id, String name) {
-        boolean isEdit = id != null && !id.isEmpty();
-        Publisher publisher = new Publisher();
-
-        if (isEdit) {
-            publisher = service.findById(Long.parseLong(id));
-            if (publisher == null) {
-                MessageUtils.error(view, "Editora não encontrada.");
-                return false;
-            }
+    public void savePublisher(String id, Long version, String name, Consumer<Boolean> onDone) {
+        if (validateFieldsValues(name)) {
+            onDone.accept(false);
+            return;
         }
+        boolean isEdit = id != null && !id.isEmpty();
 
-        if (validateFieldsValues(id, name, publisher)) return false;
-
-        publisher.setName(StringUtils.removeExcessiveSpaces(name));
-
-        try {
-            if (isEdit) {
-                service.update(publisher);
-            } else {
-                service.insert(publisher);
-            }
-            MessageUtils.info(view, "Editora salva com sucesso!");
-        } catch (Exception e) {
-            MessageUtils.error(view, "Erro ao salvar a editora: " + e.getMessage());
-            return false;
-        }
-        return true;
+        AsyncExecutor.onEdt(asyncService.write(() -> {
+                    Publisher publisher = new Publisher();
+                    if (isEdit) {
+                        publisher = service.findById(Long.parseLong(id));
+                        if (publisher == null) {
+                            return null;
+                        }
+                        publisher.setVersion(version);
+                    }
+                    publisher.setName(StringUtils.removeExcessiveSpaces(name));
+                    return isEdit ? service.update(publisher) : service.insert(publisher);
+                }),
+                publisher -> {
+                    if (publisher == null) {
+                        MessageUtils.error(view, "Editora não encontrada.");
+                        onDone.accept(false);
+                        return;
+                    }
+                    MessageUtils.info(view, "Editora salva com sucesso!");
+                    onDone.accept(true);
+                },
+                error -> {
+                    MessageUtils.error(view, "Erro ao salvar a editora: " + error.getMessage());
+                    onDone.accept(false);
+                });
     }
 
 
     /**
      * Valida os campos do formulário de registro de editora.
      *
-     * @param id        ‘ID’ da editora, pode ser null para novo registro.
-     * @param name      Nome comercial da editora, pode ser null (se fullName não for null).
-     * @param publisher editora a ser validado.
+     * @param name Nome comercial da editora, pode ser null (se fullName não for null).
      * @return true se houver algum erro de validação, false caso contrário.
      */
-    private boolean validateFieldsValues(String id, String name, Publisher publisher) {
-        if (id != null && !id.isEmpty()) {
-            publisher.setId(Long.parseLong(id));
-        }
-
+    private boolean validateFieldsValues(String name) {
         if (StringUtils.isNullOrEmpty(name)) {
             MessageUtils.error(view, "Nome da Editora é obrigatório.");
             return true;
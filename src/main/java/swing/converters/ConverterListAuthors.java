@@ -1,42 +1,39 @@
 package swing.converters;
 
 import swing.interfaces.CSVConverter;
-import swing.model.Author;
-import swing.service.AuthorService;
+import swing.util.StringUtils;
 
-import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
- * Conversor para converter uma ‘string’ de autores separados por vírgula em uma lista de objetos Autor.
+ * Conversor para converter uma ‘string’ de autores separados por ponto e vírgula nos nomes dos autores.
+ * <p>
+ * A conversão não consulta o banco de dados: os autores são resolvidos pelo nome na gravação, em lote para
+ * todas as linhas de um bloco (ver {@code BookBulkImportService}).
  */
-public class ConverterListAuthors implements CSVConverter<Set<Author>> {
+public class ConverterListAuthors implements CSVConverter<Set<String>> {
     /**
-     * Converte uma ‘string’ de autores separados por ponto e vírgula num conjunto de objetos Author.
+     * Converte uma ‘string’ de autores separados por ponto e vírgula num conjunto de nomes.
      *
      * @param valor a string contendo os nomes dos autores separados por ponto e vírgula.
-     * @return um conjunto de objetos Author correspondentes aos nomes fornecidos.
+     * @return os nomes distintos, na ordem em que aparecem; nomes que diferem apenas em acentos, espaços ou
+     * maiúsculas são considerados iguais.
      */
     @Override
-    public Set<Author> converter(String valor) {
+    public Set<String> converter(String valor) {
         if (valor == null || valor.trim().isEmpty()) return new LinkedHashSet<>();
 
-        AuthorService authorService = new AuthorService();
-
-        return Arrays.stream(valor.split(";"))
-                .map(String::trim)
-                .map(nome -> {
-                    Author author = authorService.findByName(nome);
-                    if (author == null) {
-                        author = new Author();
-                        author.setCommercialName(nome);
-                        author.setFullName(nome);
-                    }
-                    return author;
-                })
-                .collect(Collectors.toSet());
+        Map<String, String> namesByKey = new LinkedHashMap<>();
+        for (String nome : valor.split(";")) {
+            String name = nome.trim();
+            if (!name.isEmpty()) {
+                namesByKey.putIfAbsent(StringUtils.toCanonicalForm(name), name);
+            }
+        }
+        return new LinkedHashSet<>(namesByKey.values());
     }
 
 }
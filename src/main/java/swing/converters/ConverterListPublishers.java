@@ -1,42 +1,40 @@
 package swing.converters;
 
 import swing.interfaces.CSVConverter;
-import swing.model.Publisher;
-import swing.service.PublisherService;
+import swing.util.StringUtils;
 
-import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
- * Conversor para converter uma ‘string’ de editoras separados por vírgula numa lista de objetos Editora.
+ * Conversor para converter uma ‘string’ de editoras separadas por ponto e vírgula nos nomes das editoras.
+ * <p>
+ * A conversão não consulta o banco de dados: as editoras são resolvidas pelo nome na gravação, em lote para
+ * todas as linhas de um bloco (ver {@code BookBulkImportService}).
  */
-public class ConverterListPublishers implements CSVConverter<Set<Publisher>> {
+public class ConverterListPublishers implements CSVConverter<Set<String>> {
 
     /**
-     * Converte uma string de editoras separadas por ponto e vírgula em um conjunto de objetos Publisher.
+     * Converte uma string de editoras separadas por ponto e vírgula em um conjunto de nomes.
      *
      * @param value a string contendo os nomes das editoras separados por ponto e vírgula.
-     * @return um conjunto de objetos Publisher correspondentes aos nomes fornecidos.
+     * @return os nomes distintos, na ordem em que aparecem; nomes que diferem apenas em acentos, espaços ou
+     * maiúsculas são considerados iguais.
      */
     @Override
-    public Set<Publisher> converter(String value) {
+    public Set<String> converter(String value) {
         if (value == null || value.trim().isEmpty()) return new LinkedHashSet<>();
 
-        PublisherService publisherService = new PublisherService();
-
-        return Arrays.stream(value.split(";"))
-                .map(String::trim)
-                .map(nome -> {
-                    Publisher publisher = publisherService.findByName(nome);
-                    if (publisher == null) {
-                        publisher = new Publisher();
-                        publisher.setName(nome);
-                    }
-                    return publisher;
-                })
-                .collect(Collectors.toSet());
+        Map<String, String> namesByKey = new LinkedHashMap<>();
+        for (String nome : value.split(";")) {
+            String name = nome.trim();
+            if (!name.isEmpty()) {
+                namesByKey.putIfAbsent(StringUtils.toCanonicalForm(name), name);
+            }
+        }
+        return new LinkedHashSet<>(namesByKey.values());
     }
 
 }
@@ -0,0 +1,21 @@
+package swing.enums;
+
+/**
+ * Enum representando o tipo de alteração de um registro, publicada nos eventos de alteração.
+ */
+public enum ChangeType {
+    /**
+     * Registro incluído.
+     */
+    INSERTED,
+
+    /**
+     * Registro alterado.
+     */
+    UPDATED,
+
+    /**
+     * Registro excluído.
+     */
+    DELETED
+}
@@ -0,0 +1,21 @@
+package swing.enums;
+
+/**
+ * Enum representando a forma de acesso ao banco de dados H2.
+ */
+public enum DatabaseMode {
+    /**
+     * Banco acessado por TCP num servidor H2 iniciado separadamente.
+     */
+    SERVER,
+
+    /**
+     * Banco em arquivo aberto no próprio processo da aplicação, sem ida e volta pela rede.
+     */
+    EMBEDDED,
+
+    /**
+     * Banco em memória, descartado ao encerrar a aplicação.
+     */
+    MEMORY
+}
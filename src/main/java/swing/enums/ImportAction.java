@@ -0,0 +1,39 @@
+package swing.enums;
+
+/**
+ * Enum representando o que a importação fará com uma linha do arquivo, segundo o plano de importação.
+ */
+public enum ImportAction {
+    /**
+     * Livro novo, que será incluído.
+     */
+    INSERT("Inclusão"),
+
+    /**
+     * Livro existente com dados diferentes, que será atualizado.
+     */
+    UPDATE("Alteração"),
+
+    /**
+     * Livro existente com os mesmos dados, que não precisa ser gravado.
+     */
+    UNCHANGED("Sem alterações"),
+
+    /**
+     * Linha com erros de conversão ou validação, que será rejeitada.
+     */
+    ERROR("Erro");
+
+    /**
+     * Descrição da ação exibida ao usuário.
+     */
+    private final String description;
+
+    ImportAction(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
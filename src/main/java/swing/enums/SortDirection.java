@@ -0,0 +1,16 @@
+package swing.enums;
+
+/**
+ * Enum representando a direção de ordenação das consultas paginadas.
+ */
+public enum SortDirection {
+    /**
+     * Ordenação crescente (do menor para o maior ‘ID’).
+     */
+    ASC,
+
+    /**
+     * Ordenação decrescente (do maior para o menor ‘ID’).
+     */
+    DESC
+}
@@ -7,22 +7,28 @@ public enum Status {
     /**
      * Status ativo.
      */
-    ACTIVE('A'),
+    ACTIVE('A', "Ativo"),
     /**
      * Status inativo.
      */
-    INACTIVE('I');
+    INACTIVE('I', "Inativo");
 
     /**
      * Status representado por um caractere.
      */
     private final Character status;
 
-    Status(Character status) {
+    /**
+     * Descrição do status exibida ao usuário.
+     */
+    private final String description;
+
+    Status(Character status, String description) {
         if (status == null) {
             throw new IllegalArgumentException("Status não pode ser nulo");
         }
         this.status = status;
+        this.description = description;
     }
 
     /**
@@ -53,6 +59,15 @@ public enum Status {
         return status;
     }
 
+    /**
+     * Obtém a descrição do status exibida ao usuário.
+     *
+     * @return a descrição do status (ex.: "Ativo").
+     */
+    public String getDescription() {
+        return description;
+    }
+
     /**
      * Converte o status para uma representação em string.
      *
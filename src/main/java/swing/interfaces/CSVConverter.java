@@ -1,5 +1,13 @@
 package swing.interfaces;
 
+/**
+ * Conversor do texto de uma coluna do CSV para o valor de um campo.
+ * <p>
+ * Cada classe de conversor é instanciada uma única vez e a instância é compartilhada entre as threads da
+ * importação, então as implementações não devem guardar estado entre as conversões.
+ *
+ * @param <T> o tipo do valor convertido.
+ */
 public interface CSVConverter<T> {
 
     T converter(String valor);
@@ -1,14 +1,20 @@
 package swing.model;
 
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import swing.annotations.DisplayableName;
 import swing.enums.Status;
 import swing.interfaces.Identifiable;
 
+import javax.persistence.Column;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
 import java.io.Serializable;
 import java.time.Instant;
 
@@ -18,8 +24,24 @@ import java.time.Instant;
 @MappedSuperclass
 public abstract class AbstractModel implements Identifiable, Serializable {
 
+    /**
+     * Quantidade de ‘IDs’ reservados a cada acesso à sequência. Permite que o Hibernate agrupe inserts em lote.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Sufixo das sequências de ‘ID’, uma por entidade (ex.: BOOK_SEQ).
+     */
+    public static final String ID_SEQUENCE_SUFFIX = "_SEQ";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pooled_sequence")
+    @GenericGenerator(name = "pooled_sequence", strategy = "enhanced-sequence", parameters = {
+            @Parameter(name = SequenceStyleGenerator.CONFIG_PREFER_SEQUENCE_PER_ENTITY, value = "true"),
+            @Parameter(name = SequenceStyleGenerator.CONFIG_SEQUENCE_PER_ENTITY_SUFFIX, value = ID_SEQUENCE_SUFFIX),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "" + ID_ALLOCATION_SIZE),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled")
+    })
     @DisplayableName("ID")
     private Long id;
 
@@ -32,6 +54,15 @@ public abstract class AbstractModel implements Identifiable, Serializable {
     @DisplayableName("Criado em")
     private Instant createdAt;
 
+    /**
+     * Versão do registro, incrementada pelo Hibernate a cada alteração. Uma alteração feita a partir de uma
+     * versão desatualizada é rejeitada (controle de concorrência otimista).
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -63,4 +94,12 @@ public abstract class AbstractModel implements Identifiable, Serializable {
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -1,11 +1,16 @@
 package swing.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import swing.annotations.DisplayableName;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
+import javax.persistence.Index;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -14,11 +19,25 @@ import java.util.Set;
  * Representa um autor de livros.
  */
 @Entity
-@Table(name = "autor")
+@Table(name = "autor",
+        uniqueConstraints = @UniqueConstraint(name = Author.UNIQUE_COMMERCIAL_NAME, columnNames = "commercialName"),
+        indexes = @Index(name = "idx_autor_nome_completo", columnList = "fullName"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Author.CACHE_REGION)
 public class Author extends AbstractModel {
 
+    /**
+     * Região do cache de segundo nível dos autores, configurada no ehcache.xml.
+     */
+    public static final String CACHE_REGION = "author";
+
+    /**
+     * Nome da restrição de unicidade do nome comercial, criada pela migração V1.
+     */
+    public static final String UNIQUE_COMMERCIAL_NAME = "uk_autor_nome_comercial";
+
     @DisplayableName("Livros")
-    @ManyToMany(mappedBy = "authors", fetch = FetchType.EAGER)
+    @ManyToMany(mappedBy = "authors", fetch = FetchType.LAZY)
     Set<Book> books = new HashSet<>();
 
     @DisplayableName("Nome Completo")
@@ -87,16 +106,18 @@ public class Author extends AbstractModel {
     // </editor-fold>
 
 
+    // Métodos finais: o proxy do Hibernate não os intercepta e getId() não o inicializa, então uma referência
+    // obtida por session.getReference pode entrar num Set sem carregar o autor
     @Override
-    public boolean equals(Object o) {
+    public final boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Author)) return false;
         Author author = (Author) o;
         return Objects.equals(getId(), author.getId());
     }
 
     @Override
-    public int hashCode() {
+    public final int hashCode() {
         return Objects.hash(getId());
     }
 
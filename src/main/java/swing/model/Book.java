@@ -10,18 +10,42 @@ import java.util.Set;
 
 /**
  * Representa um livro no sistema.
+ * <p>
+ * As associações são carregadas sob demanda. Cada caso de uso escolhe, pelo nome, o plano de busca
+ * (entity graph) com as associações de que precisa.
  */
 @Entity
-@Table(name = "livro")
+@NamedEntityGraph(name = Book.FETCH_EDIT_FORM, attributeNodes = {
+        @NamedAttributeNode("authors"),
+        @NamedAttributeNode("publishers"),
+        @NamedAttributeNode("similarBooks")
+})
+@Table(name = "livro",
+        uniqueConstraints = @UniqueConstraint(name = Book.UNIQUE_ISBN, columnNames = "isbn"),
+        indexes = {
+                @Index(name = "idx_livro_criado_em", columnList = "createdAt"),
+                @Index(name = "idx_livro_titulo", columnList = "title")
+        })
 public class Book extends AbstractModel {
 
+    /**
+     * Nome da restrição de unicidade do ISBN, criada pela migração V1.
+     */
+    public static final String UNIQUE_ISBN = "uk_livro_isbn";
+
+    /**
+     * Plano de busca do formulário de edição, que exibe e regrava todas as associações.
+     */
+    public static final String FETCH_EDIT_FORM = "Book.editForm";
+
     @DisplayableName("Título")
     private String title;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "livro_autor",
             joinColumns = @JoinColumn(name = "livro_id"),
-            inverseJoinColumns = @JoinColumn(name = "autor_id"))
+            inverseJoinColumns = @JoinColumn(name = "autor_id"),
+            indexes = @Index(name = "idx_livro_autor_autor", columnList = "autor_id, livro_id"))
     @DisplayableName("Autores")
     private Set<Author> authors = new LinkedHashSet<>();
 
@@ -31,19 +55,20 @@ public class Book extends AbstractModel {
     @DisplayableName("ISBN")
     private String isbn;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "livro_editora",
             joinColumns = @JoinColumn(name = "livro_id"),
-            inverseJoinColumns = @JoinColumn(name = "editora_id"))
-
+            inverseJoinColumns = @JoinColumn(name = "editora_id"),
+            indexes = @Index(name = "idx_livro_editora_editora", columnList = "editora_id, livro_id"))
     @DisplayableName("Editoras")
     private Set<Publisher> publishers = new LinkedHashSet<>();
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "livro_semelhante",
             joinColumns = @JoinColumn(name = "livro_id"),
-            inverseJoinColumns = @JoinColumn(name = "semelhante_id")
+            inverseJoinColumns = @JoinColumn(name = "semelhante_id"),
+            indexes = @Index(name = "idx_livro_semelhante_semelhante", columnList = "semelhante_id, livro_id")
     )
     private Set<Book> similarBooks = new LinkedHashSet<>();
 
@@ -123,23 +148,24 @@ public class Book extends AbstractModel {
     @Override
     public String toString() {
         return "Book{" +
-                "title='" + title + '\'' +
-                ", authors=" + authors +
+                "id=" + getId() +
+                ", title='" + title + '\'' +
                 ", publicationDate=" + publicationDate +
                 ", isbn='" + isbn + '\'' +
-                ", publishers=" + publishers +
                 '}';
     }
 
     @Override
     public boolean equals(Object object) {
+        if (this == object) return true;
         if (object == null || getClass() != object.getClass()) return false;
         Book book = (Book) object;
-        return Objects.equals(title, book.title) && Objects.equals(authors, book.authors) && Objects.equals(publicationDate, book.publicationDate) && Objects.equals(isbn, book.isbn) && Objects.equals(publishers, book.publishers);
+        // Compara apenas pelo ‘ID’ para não inicializar as associações; livros novos só são iguais a si mesmos
+        return getId() != null && Objects.equals(getId(), book.getId());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(title, authors, publicationDate, isbn, publishers);
+        return Objects.hash(getId());
     }
 }
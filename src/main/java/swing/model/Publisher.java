@@ -1,11 +1,15 @@
 package swing.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import swing.annotations.DisplayableName;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -13,11 +17,24 @@ import java.util.Set;
  * Classe que representa uma editora de livros.
  */
 @Entity
-@Table(name = "editora")
+@Table(name = "editora",
+        uniqueConstraints = @UniqueConstraint(name = Publisher.UNIQUE_NAME, columnNames = "name"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Publisher.CACHE_REGION)
 public class Publisher extends AbstractModel {
 
+    /**
+     * Região do cache de segundo nível dos editoras, configurada no ehcache.xml.
+     */
+    public static final String CACHE_REGION = "publisher";
+
+    /**
+     * Nome da restrição de unicidade do nome, criada pela migração V1.
+     */
+    public static final String UNIQUE_NAME = "uk_editora_nome";
+
     @DisplayableName("Livros")
-    @ManyToMany(mappedBy = "publishers", fetch = FetchType.EAGER)
+    @ManyToMany(mappedBy = "publishers", fetch = FetchType.LAZY)
     Set<Book> books = new LinkedHashSet<>();
 
     @DisplayableName("Nome")
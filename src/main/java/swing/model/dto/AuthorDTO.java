@@ -2,8 +2,11 @@ package swing.model.dto;
 
 import com.sun.istack.NotNull;
 import swing.annotations.DisplayableName;
+import swing.enums.Status;
 import swing.model.Author;
 
+import java.time.Instant;
+
 /**
  * Data Transfer Object (DTO) para a entidade Autor.
  */
@@ -23,6 +26,17 @@ public class AuthorDTO extends AbstractDTO {
     public AuthorDTO() {
     }
 
+    /**
+     * Cria o DTO a partir das colunas da consulta de listagem.
+     */
+    public AuthorDTO(Long id, Status status, Instant createdAt, Instant lastModifiedAt,
+                     String commercialName, String fullName, String mainGenre) {
+        super(id, createdAt, lastModifiedAt, status);
+        this.commercialName = commercialName;
+        this.fullName = fullName;
+        this.mainGenre = mainGenre;
+    }
+
     public AuthorDTO(Author author) {
         this.setId(author.getId());
         this.setCreatedAt(author.getCreatedAt());
@@ -62,6 +62,21 @@ public class BookDTO extends AbstractDTO {
     }
 
 
+    /**
+     * Cria o DTO a partir de uma linha da consulta de listagem, com os nomes das associações já agregados.
+     */
+    public BookDTO(Long id, Status status, Instant createdAt, Instant lastModifiedAt, String title, String authors,
+                   LocalDate publicationDate, String isbn, String publishers, String similarBooks) {
+        super(id, createdAt, lastModifiedAt, status);
+        this.title = title;
+        this.authors = authors == null ? "" : authors;
+        this.publicationDate = DateUtils.dateToText(publicationDate, false);
+        this.isbn = isbn;
+        this.publishers = publishers == null ? "" : publishers;
+        this.similarBooks = similarBooks == null ? "" : similarBooks;
+        this.status = (status == null) ? Status.ACTIVE.name() : status.name();
+    }
+
     public BookDTO(Book book) {
         super(book.getId(), book.getCreatedAt(), book.getLastModifiedAt(), book.getStatus());
         this.title = book.getTitle();
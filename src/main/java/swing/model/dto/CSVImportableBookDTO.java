@@ -6,8 +6,6 @@ import swing.converters.ConverterListPublishers;
 import swing.converters.ConverterLocalDate;
 import swing.enums.Status;
 import swing.interfaces.CSVImportable;
-import swing.model.Author;
-import swing.model.Publisher;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -27,10 +25,10 @@ public class CSVImportableBookDTO implements CSVImportable {
     private String title;
 
     @CsvProperties(required = true, csvConverter = ConverterListAuthors.class)
-    private Set<Author> authors;
+    private Set<String> authors;
 
     @CsvProperties(csvConverter = ConverterListPublishers.class)
-    private Set<Publisher> publishers;
+    private Set<String> publishers;
 
     @CsvProperties(required = true)
     private String isbn;
@@ -47,7 +45,7 @@ public class CSVImportableBookDTO implements CSVImportable {
     public CSVImportableBookDTO() {
     }
 
-    public CSVImportableBookDTO(Long id, String title, Set<Author> authors, Set<Publisher> publishers, String isbn, LocalDate publicationDate,
+    public CSVImportableBookDTO(Long id, String title, Set<String> authors, Set<String> publishers, String isbn, LocalDate publicationDate,
                                 Instant lastModifiedAt, Instant createdAt, Status status) {
         this.id = id;
         this.title = title;
@@ -119,19 +117,19 @@ public class CSVImportableBookDTO implements CSVImportable {
         this.title = title;
     }
 
-    public Set<Author> getAuthors() {
+    public Set<String> getAuthors() {
         return authors;
     }
 
-    public void setAuthors(Set<Author> authors) {
+    public void setAuthors(Set<String> authors) {
         this.authors = authors;
     }
 
-    public Set<Publisher> getPublishers() {
+    public Set<String> getPublishers() {
         return publishers;
     }
 
-    public void setEditoras(Set<Publisher> publishers) {
+    public void setPublishers(Set<String> publishers) {
         this.publishers = publishers;
     }
 
@@ -2,8 +2,11 @@ package swing.model.dto;
 
 import com.sun.istack.NotNull;
 import swing.annotations.DisplayableName;
+import swing.enums.Status;
 import swing.model.Publisher;
 
+import java.time.Instant;
+
 /**
  * Data Transfer Object (DTO) para a entidade Editora.
  */
@@ -16,6 +19,14 @@ public class PublisherDTO extends AbstractDTO {
     public PublisherDTO() {
     }
 
+    /**
+     * Cria o DTO a partir das colunas da consulta de listagem.
+     */
+    public PublisherDTO(Long id, Status status, Instant createdAt, Instant lastModifiedAt, String name) {
+        super(id, createdAt, lastModifiedAt, status);
+        this.name = name;
+    }
+
     public PublisherDTO(Publisher publisher) {
         this.setId(publisher.getId());
         this.setCreatedAt(publisher.getCreatedAt());
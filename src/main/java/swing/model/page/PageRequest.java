@@ -0,0 +1,109 @@
+package swing.model.page;
+
+import swing.enums.SortDirection;
+
+/**
+ * Requisição de uma página de registros usando paginação por chave (keyset) sobre o ‘ID’.
+ * <p>
+ * Em vez de um deslocamento (offset), a página seguinte é identificada pelo token de continuação,
+ * que é o ‘ID’ do último registro da página anterior. Assim o banco de dados busca apenas os
+ * registros da página, independente de quantas páginas já foram lidas.
+ */
+public class PageRequest {
+
+    /**
+     * Tamanho de página padrão utilizado pelas telas de listagem.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final int pageSize;
+    private final SortDirection direction;
+    private final Long continuationToken;
+
+    private PageRequest(int pageSize, SortDirection direction, Long continuationToken) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("O tamanho da página deve ser maior que zero.");
+        }
+        this.pageSize = pageSize;
+        this.direction = direction == null ? SortDirection.ASC : direction;
+        this.continuationToken = continuationToken;
+    }
+
+    /**
+     * Cria a requisição da primeira página, em ordem crescente de ‘ID’.
+     *
+     * @param pageSize quantidade máxima de registros por página.
+     * @return a requisição da primeira página.
+     */
+    public static PageRequest first(int pageSize) {
+        return new PageRequest(pageSize, SortDirection.ASC, null);
+    }
+
+    /**
+     * Cria a requisição da primeira página com a direção de ordenação informada.
+     *
+     * @param pageSize  quantidade máxima de registros por página.
+     * @param direction direção de ordenação pelo ‘ID’.
+     * @return a requisição da primeira página.
+     */
+    public static PageRequest first(int pageSize, SortDirection direction) {
+        return new PageRequest(pageSize, direction, null);
+    }
+
+    /**
+     * Cria a requisição da página seguinte ao token de continuação informado.
+     *
+     * @param continuationToken ‘ID’ do último registro da página anterior.
+     * @return a requisição da próxima página, mantendo o tamanho e a ordenação.
+     */
+    public PageRequest next(Long continuationToken) {
+        return new PageRequest(pageSize, direction, continuationToken);
+    }
+
+    /**
+     * Monta a condição de consulta que posiciona a página após o token de continuação.
+     * O valor do token deve ser informado no parâmetro {@code :token}.
+     *
+     * @param idColumn a coluna ou caminho do ‘ID’ na consulta (ex.: {@code e.id}).
+     * @return a cláusula WHERE da página, ou vazio na primeira página.
+     */
+    public String keysetPredicate(String idColumn) {
+        if (isFirstPage()) {
+            return "";
+        }
+        return " WHERE " + idColumn + (direction == SortDirection.ASC ? " > :token" : " < :token");
+    }
+
+    /**
+     * Monta a cláusula de ordenação da página.
+     *
+     * @param idColumn a coluna ou caminho do ‘ID’ na consulta (ex.: {@code e.id}).
+     * @return a cláusula ORDER BY da página.
+     */
+    public String orderBy(String idColumn) {
+        return " ORDER BY " + idColumn + (direction == SortDirection.ASC ? " ASC" : " DESC");
+    }
+
+    // <editor-fold desc="Getters">
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public SortDirection getDirection() {
+        return direction;
+    }
+
+    public Long getContinuationToken() {
+        return continuationToken;
+    }
+
+    /**
+     * Verifica se esta requisição é da primeira página.
+     *
+     * @return true se não houver token de continuação, false caso contrário.
+     */
+    public boolean isFirstPage() {
+        return continuationToken == null;
+    }
+    // </editor-fold>
+}
@@ -0,0 +1,132 @@
+package swing.model.page;
+
+import swing.interfaces.Identifiable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fatia (página) de registros retornada por uma consulta paginada por chave.
+ *
+ * @param <T> o tipo dos registros da página.
+ */
+public class Slice<T> {
+
+    private final List<T> content;
+    private final PageRequest pageRequest;
+    private final Long continuationToken;
+    private final boolean hasNext;
+
+    public Slice(List<T> content, PageRequest pageRequest, Long continuationToken, boolean hasNext) {
+        this.content = content == null ? new ArrayList<>() : content;
+        this.pageRequest = pageRequest;
+        this.continuationToken = continuationToken;
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * Cria uma fatia a partir dos registros lidos, usando o ‘ID’ do último registro como token de continuação.
+     *
+     * @param content     os registros da página.
+     * @param pageRequest a requisição que originou a página.
+     * @param hasNext     indica se existem registros após esta página.
+     * @param <T>         o tipo dos registros, deve implementar Identifiable.
+     * @return a fatia criada.
+     */
+    public static <T extends Identifiable> Slice<T> of(List<T> content, PageRequest pageRequest, boolean hasNext) {
+        Long token = content == null || content.isEmpty() ? null : content.get(content.size() - 1).getId();
+        return new Slice<>(content, pageRequest, token, hasNext);
+    }
+
+    /**
+     * Cria uma fatia a partir de uma consulta que leu um registro a mais que o tamanho da página.
+     * O registro excedente apenas indica que existe próxima página e é descartado.
+     *
+     * @param results     os registros lidos, no máximo o tamanho da página mais um.
+     * @param pageRequest a requisição que originou a página.
+     * @param <T>         o tipo dos registros, deve implementar Identifiable.
+     * @return a fatia criada.
+     */
+    public static <T extends Identifiable> Slice<T> ofOverfetched(List<T> results, PageRequest pageRequest) {
+        boolean hasNext = results.size() > pageRequest.getPageSize();
+        if (hasNext) {
+            results = new ArrayList<>(results.subList(0, pageRequest.getPageSize()));
+        }
+        return of(results, pageRequest, hasNext);
+    }
+
+    /**
+     * Lê todas as páginas de uma consulta paginada, em sequência.
+     *
+     * @param loader   função que busca uma página a partir da requisição.
+     * @param pageSize quantidade de registros por página.
+     * @param <T>      o tipo dos registros.
+     * @return todos os registros, na ordem das páginas.
+     */
+    public static <T> List<T> readAll(Function<PageRequest, Slice<T>> loader, int pageSize) {
+        List<T> all = new ArrayList<>();
+        PageRequest pageRequest = PageRequest.first(pageSize);
+        while (pageRequest != null) {
+            Slice<T> slice = loader.apply(pageRequest);
+            all.addAll(slice.getContent());
+            pageRequest = slice.nextPageRequest();
+        }
+        return all;
+    }
+
+    /**
+     * Cria uma fatia vazia, sem próxima página.
+     *
+     * @param pageRequest a requisição que originou a página.
+     * @param <T>         o tipo dos registros.
+     * @return uma fatia vazia.
+     */
+    public static <T> Slice<T> empty(PageRequest pageRequest) {
+        return new Slice<>(Collections.emptyList(), pageRequest, null, false);
+    }
+
+    /**
+     * Converte os registros da página mantendo o token de continuação.
+     *
+     * @param mapper função de conversão de cada registro.
+     * @param <R>    o tipo dos registros convertidos.
+     * @return uma nova fatia com os registros convertidos.
+     */
+    public <R> Slice<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().map(mapper).collect(Collectors.toList());
+        return new Slice<>(mapped, pageRequest, continuationToken, hasNext);
+    }
+
+    /**
+     * Retorna a requisição da próxima página.
+     *
+     * @return a requisição da próxima página, ou null se esta for a última.
+     */
+    public PageRequest nextPageRequest() {
+        if (!hasNext) {
+            return null;
+        }
+        return pageRequest.next(continuationToken);
+    }
+
+    // <editor-fold desc="Getters">
+    public List<T> getContent() {
+        return content;
+    }
+
+    public PageRequest getPageRequest() {
+        return pageRequest;
+    }
+
+    public Long getContinuationToken() {
+        return continuationToken;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+    // </editor-fold>
+}
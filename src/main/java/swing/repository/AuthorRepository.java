@@ -1,29 +1,69 @@
 package swing.repository;
 
-import org.hibernate.Session;
-import swing.model.Author;
-import swing.util.HibernateUtils;
+import org.hibernate.query.Query;
+import swing.model.dto.AuthorDTO;
+import swing.model.page.PageRequest;
+import swing.model.page.Slice;
+import swing.util.HibernateExecutor;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Repositório para operações relacionadas a autores.
- * Este repositório permite buscar autores pelo nome comercial ou nome completo.
+ * As buscas por nome são atendidas pelo índice de nomes do AuthorService.
  */
 public class AuthorRepository {
 
     /**
-     * Busca autores pelo name comercial ou name completo.
+     * Busca os nomes de todos os autores, sem carregar as entidades.
      *
-     * @param name name do autor a ser buscado
-     * @return lista de autores que correspondem ao name fornecido
+     * @return lista de linhas com ‘ID’, nome comercial e nome completo, em ordem crescente de ‘ID’
      */
-    public List<Author> findAuthorByName(String name) {
-        try (Session session = HibernateUtils.getSessionFactory().openSession()) {
-            String hql = "FROM Author l WHERE l.commercialName = :name OR l.fullName = :name";
-            return session.createQuery(hql, Author.class)
-                    .setParameter("name", name)
-                    .getResultList();
+    public List<Object[]> findAllNames() {
+        String hql = "SELECT a.id, a.commercialName, a.fullName FROM Author a ORDER BY a.id";
+        return HibernateExecutor.executeReadOnly(session ->
+                session.createQuery(hql, Object[].class).getResultList()
+        );
+    }
+
+    /**
+     * Busca uma página da listagem de autores diretamente nos DTOs, sem carregar entidades.
+     *
+     * @param pageRequest a requisição da página
+     * @return a página de linhas da listagem
+     */
+    public Slice<AuthorDTO> findListRows(PageRequest pageRequest) {
+        String hql = "SELECT new swing.model.dto.AuthorDTO(a.id, a.status, a.createdAt, a.lastModifiedAt, " +
+                "a.commercialName, a.fullName, a.mainGenre) FROM Author a"
+                + pageRequest.keysetPredicate("a.id") + pageRequest.orderBy("a.id");
+        List<AuthorDTO> rows = HibernateExecutor.executeReadOnly(session -> {
+            Query<AuthorDTO> query = session.createQuery(hql, AuthorDTO.class);
+            if (!pageRequest.isFirstPage()) {
+                query.setParameter("token", pageRequest.getContinuationToken());
+            }
+            return query.setMaxResults(pageRequest.getPageSize() + 1).getResultList();
+        });
+        return Slice.ofOverfetched(rows, pageRequest);
+    }
+
+    /**
+     * Busca as linhas da listagem dos autores com os ‘IDs’ informados, numa única consulta.
+     *
+     * @param ids os ‘IDs’ dos autores; a quantidade deve respeitar o limite de expressões IN do banco
+     * @return as linhas encontradas, em ordem crescente de ‘ID’
+     */
+    public List<AuthorDTO> findListRowsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
         }
+        String hql = "SELECT new swing.model.dto.AuthorDTO(a.id, a.status, a.createdAt, a.lastModifiedAt, " +
+                "a.commercialName, a.fullName, a.mainGenre) FROM Author a WHERE a.id IN (:ids) ORDER BY a.id";
+        return HibernateExecutor.executeReadOnly(session ->
+                session.createQuery(hql, AuthorDTO.class)
+                        .setParameterList("ids", ids)
+                        .getResultList()
+        );
     }
 }
@@ -1,42 +1,208 @@
 package swing.repository;
 
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.InstantType;
+import org.hibernate.type.LocalDateType;
+import org.hibernate.type.StandardBasicTypes;
+import swing.enums.Status;
 import swing.model.Book;
-import swing.util.HibernateUtils;
+import swing.model.dto.BookDTO;
+import swing.model.page.PageRequest;
+import swing.model.page.Slice;
+import swing.util.HibernateExecutor;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Repositório para operações relacionadas a livros.
  */
 public class BookRepository {
+
+    /**
+     * Colunas da listagem de livros. Os nomes dos autores, das editoras e dos livros semelhantes
+     * são agregados pelo próprio banco.
+     */
+    private static final String LIST_ROW_SELECT = "SELECT l.id, l.status, l.createdAt, l.lastModifiedAt, l.title, " +
+            "l.publicationDate, l.isbn, " +
+            "(SELECT LISTAGG(a.commercialName, ', ') WITHIN GROUP (ORDER BY a.commercialName) " +
+            "   FROM livro_autor la JOIN autor a ON a.id = la.autor_id WHERE la.livro_id = l.id) AS authors, " +
+            "(SELECT LISTAGG(e.name, ', ') WITHIN GROUP (ORDER BY e.name) " +
+            "   FROM livro_editora le JOIN editora e ON e.id = le.editora_id WHERE le.livro_id = l.id) AS publishers, " +
+            "(SELECT LISTAGG(s.title, ', ') WITHIN GROUP (ORDER BY s.title) " +
+            "   FROM livro_semelhante ls JOIN livro s ON s.id = ls.semelhante_id WHERE ls.livro_id = l.id) AS similarBooks " +
+            "FROM livro l";
+
+    /**
+     * Colunas comparadas pelo plano de importação: os ‘IDs’ dos autores e das editoras vêm agregados pelo banco,
+     * em ordem crescente e separados por vírgula.
+     */
+    private static final String IMPORT_FINGERPRINT_SELECT = "SELECT l.id, l.isbn, l.title, l.publicationDate, " +
+            "(SELECT LISTAGG(CAST(la.autor_id AS VARCHAR), ',') WITHIN GROUP (ORDER BY la.autor_id) " +
+            "   FROM livro_autor la WHERE la.livro_id = l.id) AS authorIds, " +
+            "(SELECT LISTAGG(CAST(le.editora_id AS VARCHAR), ',') WITHIN GROUP (ORDER BY le.editora_id) " +
+            "   FROM livro_editora le WHERE le.livro_id = l.id) AS publisherIds " +
+            "FROM livro l";
+
+    /**
+     * Quantidade de linhas lidas do banco por vez ao percorrer todos os livros.
+     */
+    private static final int SCROLL_FETCH_SIZE = 1000;
+
     /**
      * Busca livros pelo ISBN no banco de dados.
      *
-     * @param isbn o ISBN do livro a ser buscado.
+     * @param isbn      o ISBN do livro a ser buscado.
+     * @param fetchPlan o plano de busca (entity graph) com as associações a serem carregadas.
      * @return uma lista de livros que correspondem ao ISBN fornecido.
      */
-    public List<Book> findBookByIsbn(String isbn) {
-        try (Session session = HibernateUtils.getSessionFactory().openSession()) {
-            String hql = "FROM Book l WHERE l.isbn = :isbn";
-            return session.createQuery(hql, Book.class)
-                    .setParameter("isbn", isbn)
-                    .getResultList();
+    public List<Book> findBookByIsbn(String isbn, String fetchPlan) {
+        String hql = "SELECT DISTINCT l FROM Book l WHERE l.isbn = :isbn";
+        return HibernateExecutor.executeReadOnly(session ->
+                session.createQuery(hql, Book.class)
+                        .setParameter("isbn", isbn)
+                        .setHint("javax.persistence.fetchgraph", session.getEntityGraph(fetchPlan))
+                        .setHint(QueryHints.PASS_DISTINCT_THROUGH, false)
+                        .getResultList()
+        );
+    }
+
+    /**
+     * Verifica se existe um livro com o título informado.
+     *
+     * @param title o título, já sem espaços excedentes.
+     * @return true se algum livro tem exatamente esse título.
+     */
+    public boolean existsByTitle(String title) {
+        return HibernateExecutor.executeReadOnly(session ->
+                !session.createQuery("SELECT b.id FROM Book b WHERE b.title = :title", Long.class)
+                        .setParameter("title", title)
+                        .setMaxResults(1)
+                        .getResultList()
+                        .isEmpty()
+        );
+    }
+
+    /**
+     * Busca uma página da listagem de livros diretamente do banco, sem carregar entidades.
+     * Os nomes dos autores, das editoras e dos livros semelhantes são agregados pelo próprio banco.
+     *
+     * @param pageRequest a requisição da página.
+     * @return a página de linhas da listagem.
+     */
+    public Slice<BookDTO> findListRows(PageRequest pageRequest) {
+        String sql = LIST_ROW_SELECT + pageRequest.keysetPredicate("l.id") + pageRequest.orderBy("l.id");
+
+        List<Object[]> rows = HibernateExecutor.executeReadOnly(session -> {
+            NativeQuery<Object[]> query = createListRowQuery(session, sql);
+            if (!pageRequest.isFirstPage()) {
+                query.setParameter("token", pageRequest.getContinuationToken());
+            }
+            // Busca um registro a mais para saber se existe próxima página sem precisar de COUNT
+            return query.setMaxResults(pageRequest.getPageSize() + 1).getResultList();
+        });
+        return Slice.ofOverfetched(toListRows(rows), pageRequest);
+    }
+
+    /**
+     * Busca as linhas da listagem dos livros com os ‘IDs’ informados, numa única consulta.
+     *
+     * @param ids os ‘IDs’ dos livros; a quantidade deve respeitar o limite de expressões IN do banco.
+     * @return as linhas encontradas, em ordem crescente de ‘ID’.
+     */
+    public List<BookDTO> findListRowsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
         }
+        List<Object[]> rows = HibernateExecutor.executeReadOnly(session ->
+                createListRowQuery(session, LIST_ROW_SELECT + " WHERE l.id IN (:ids) ORDER BY l.id")
+                        .setParameterList("ids", ids)
+                        .getResultList()
+        );
+        return toListRows(rows);
+    }
+
+    /**
+     * Percorre todos os livros com as colunas comparadas pelo plano de importação, sem carregar entidades e sem
+     * manter as linhas em memória.
+     *
+     * @param consumer recebe cada linha: ‘ID’, ISBN, título, data de publicação, ‘IDs’ dos autores e ‘IDs’ das
+     *                 editoras (os dois últimos separados por vírgula, ou null).
+     * @return a quantidade de livros percorridos.
+     */
+    public int forEachImportFingerprint(Consumer<Object[]> consumer) {
+        return HibernateExecutor.executeReadOnly(session -> {
+            int count = 0;
+            try (ScrollableResults rows = session.createNativeQuery(IMPORT_FINGERPRINT_SELECT)
+                    .addScalar("id", StandardBasicTypes.LONG)
+                    .addScalar("isbn", StandardBasicTypes.STRING)
+                    .addScalar("title", StandardBasicTypes.STRING)
+                    .addScalar("publicationDate", LocalDateType.INSTANCE)
+                    .addScalar("authorIds", StandardBasicTypes.STRING)
+                    .addScalar("publisherIds", StandardBasicTypes.STRING)
+                    .setFetchSize(SCROLL_FETCH_SIZE)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (rows.next()) {
+                    consumer.accept(rows.get());
+                    count++;
+                }
+            }
+            return count;
+        });
     }
 
     /**
-     * Busca livros pelo título no banco de dados.
+     * Cria a consulta nativa da listagem, com os tipos das colunas de {@link #LIST_ROW_SELECT}.
      *
-     * @param title o título do livro a ser buscado.
-     * @return uma lista de livros que correspondem ao título fornecido.
+     * @param session a sessão da consulta.
+     * @param sql     o SQL da listagem, com as condições e a ordenação.
+     * @return a consulta.
      */
-    public List<Book> findBookByTitle(String title) {
-        try (Session session = HibernateUtils.getSessionFactory().openSession()) {
-            String hql = "FROM Book l WHERE l.title = :title";
-            return session.createQuery(hql, Book.class)
-                    .setParameter("title", title)
-                    .getResultList();
+    @SuppressWarnings("unchecked")
+    private NativeQuery<Object[]> createListRowQuery(Session session, String sql) {
+        return session.createNativeQuery(sql)
+                .addScalar("id", StandardBasicTypes.LONG)
+                .addScalar("status", StandardBasicTypes.INTEGER)
+                .addScalar("createdAt", InstantType.INSTANCE)
+                .addScalar("lastModifiedAt", InstantType.INSTANCE)
+                .addScalar("title", StandardBasicTypes.STRING)
+                .addScalar("publicationDate", LocalDateType.INSTANCE)
+                .addScalar("isbn", StandardBasicTypes.STRING)
+                .addScalar("authors", StandardBasicTypes.STRING)
+                .addScalar("publishers", StandardBasicTypes.STRING)
+                .addScalar("similarBooks", StandardBasicTypes.STRING);
+    }
+
+    /**
+     * Converte as linhas da consulta da listagem em LivroDTOs.
+     *
+     * @param rows as linhas da consulta, com as colunas de {@link #LIST_ROW_SELECT}.
+     * @return os LivroDTOs, na ordem das linhas.
+     */
+    private List<BookDTO> toListRows(List<Object[]> rows) {
+        List<BookDTO> books = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            books.add(new BookDTO((Long) row[0], toStatus((Integer) row[1]), (Instant) row[2], (Instant) row[3],
+                    (String) row[4], (String) row[7], (LocalDate) row[5], (String) row[6], (String) row[8], (String) row[9]));
         }
+        return books;
+    }
+
+    /**
+     * Converte o valor da coluna de status, gravado pelo Hibernate como o ordinal do enum.
+     *
+     * @param ordinal o valor da coluna.
+     * @return o status correspondente, ou null se a coluna estiver vazia.
+     */
+    private static Status toStatus(Integer ordinal) {
+        return ordinal == null ? null : Status.values()[ordinal];
     }
 }
@@ -1,27 +1,67 @@
 package swing.repository;
 
-import org.hibernate.Session;
-import swing.model.Publisher;
-import swing.util.HibernateUtils;
+import org.hibernate.query.Query;
+import swing.model.dto.PublisherDTO;
+import swing.model.page.PageRequest;
+import swing.model.page.Slice;
+import swing.util.HibernateExecutor;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Classe responsável por realizar operações de persistência relacionadas a editoras.
  */
 public class PublisherRepository {
+
+    /**
+     * Busca os nomes de todas as editoras, sem carregar as entidades.
+     *
+     * @return lista de linhas com ‘ID’ e nome, em ordem crescente de ‘ID’
+     */
+    public List<Object[]> findAllNames() {
+        String hql = "SELECT e.id, e.name FROM Publisher e ORDER BY e.id";
+        return HibernateExecutor.executeReadOnly(session ->
+                session.createQuery(hql, Object[].class).getResultList()
+        );
+    }
+
+    /**
+     * Busca uma página da listagem de editoras diretamente nos DTOs, sem carregar entidades.
+     *
+     * @param pageRequest a requisição da página
+     * @return a página de linhas da listagem
+     */
+    public Slice<PublisherDTO> findListRows(PageRequest pageRequest) {
+        String hql = "SELECT new swing.model.dto.PublisherDTO(p.id, p.status, p.createdAt, p.lastModifiedAt, p.name) FROM Publisher p"
+                + pageRequest.keysetPredicate("p.id") + pageRequest.orderBy("p.id");
+        List<PublisherDTO> rows = HibernateExecutor.executeReadOnly(session -> {
+            Query<PublisherDTO> query = session.createQuery(hql, PublisherDTO.class);
+            if (!pageRequest.isFirstPage()) {
+                query.setParameter("token", pageRequest.getContinuationToken());
+            }
+            return query.setMaxResults(pageRequest.getPageSize() + 1).getResultList();
+        });
+        return Slice.ofOverfetched(rows, pageRequest);
+    }
+
     /**
-     * Busca uma editora pelo name.
+     * Busca as linhas da listagem das editoras com os ‘IDs’ informados, numa única consulta.
      *
-     * @param name name da editora a ser buscada
-     * @return lista de editoras que correspondem ao name fornecido
+     * @param ids os ‘IDs’ das editoras; a quantidade deve respeitar o limite de expressões IN do banco
+     * @return as linhas encontradas, em ordem crescente de ‘ID’
      */
-    public List<Publisher> findPublisherByName(String name) {
-        try (Session session = HibernateUtils.getSessionFactory().openSession()) {
-            String hql = "FROM Publisher e WHERE e.name = :name";
-            return session.createQuery(hql, Publisher.class)
-                    .setParameter("name", name)
-                    .getResultList();
+    public List<PublisherDTO> findListRowsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
         }
+        String hql = "SELECT new swing.model.dto.PublisherDTO(p.id, p.status, p.createdAt, p.lastModifiedAt, p.name) " +
+                "FROM Publisher p WHERE p.id IN (:ids) ORDER BY p.id";
+        return HibernateExecutor.executeReadOnly(session ->
+                session.createQuery(hql, PublisherDTO.class)
+                        .setParameterList("ids", ids)
+                        .getResultList()
+        );
     }
 }
@@ -1,12 +1,30 @@
 package swing.service;
 
+import swing.enums.ChangeType;
+import swing.enums.Status;
 import swing.model.AbstractModel;
+import swing.model.page.PageRequest;
+import swing.model.page.Slice;
+import swing.util.CollectionUtils;
+import swing.util.EntityChangeBus;
 import swing.util.HibernateExecutor;
+import swing.util.HibernateUtils;
+import org.hibernate.Session;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.query.Query;
 
+import javax.persistence.OptimisticLockException;
+import javax.persistence.PersistenceException;
 import java.lang.reflect.ParameterizedType;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * Classe abstrata que implementa os métodos básicos de um serviço.
@@ -15,6 +33,11 @@ import java.util.List;
  */
 public abstract class AbstractService<T extends AbstractModel> implements IAbstractService<T> {
 
+    /**
+     * Dica JPA que carrega as associações do entity graph e mantém as demais sob demanda.
+     */
+    static final String FETCH_GRAPH_HINT = "javax.persistence.fetchgraph";
+
     final Class<T> clazz;
 
     @SuppressWarnings("unchecked")
@@ -26,68 +49,350 @@ public abstract class AbstractService<T extends AbstractModel> implements IAbstr
 
     @Override
     public List<T> findAll() {
+        return findAll(null);
+    }
+
+    @Override
+    public List<T> findAll(String fetchPlan) {
         beforeFindAll();
-        List<T> results = HibernateExecutor.executeTransaction(session ->
-                session.createQuery(String.format("FROM %s", clazz.getSimpleName()), clazz).list()
-        );
+        List<T> results = HibernateExecutor.executeReadOnly(session -> {
+            if (fetchPlan == null) {
+                return session.createQuery(String.format("FROM %s", clazz.getSimpleName()), clazz).list();
+            }
+            return withFetchPlan(session.createQuery(
+                    String.format("SELECT DISTINCT e FROM %s e", clazz.getSimpleName()), clazz), session, fetchPlan)
+                    .list();
+        });
         afterFindAll(results);
         return results;
     }
 
     @Override
     public T findById(Long id) {
+        return findById(id, null);
+    }
+
+    @Override
+    public T findById(Long id, String fetchPlan) {
         beforeFindById(id);
-        T result = HibernateExecutor.executeTransaction(session -> session.get(clazz, id));
+        T result = HibernateExecutor.executeReadOnly(session -> fetchPlan == null
+                ? session.get(clazz, id)
+                : session.find(clazz, id, Collections.singletonMap(FETCH_GRAPH_HINT, session.getEntityGraph(fetchPlan))));
         afterFindById(result);
         return result;
     }
 
     @Override
     public List<T> findByIds(List<Long> ids) {
-        List<T> results = new ArrayList<>();
+        return loadByIds(ids).getFound();
+    }
+
+    @Override
+    public MultiLoadResult<T> loadByIds(List<Long> ids) {
         if (ids == null || ids.isEmpty()) {
-            return results;
+            return MultiLoadResult.empty();
         }
-        for (Long id : ids) {
-            T entity = findById(id);
+        List<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        // O Hibernate divide a lista em consultas IN do tamanho do lote, todas na mesma sessão. O SQL da carga
+        // múltipla é montado a cada chamada, então um único ‘ID’ vai pelo session.get, que usa o SQL pronto
+        List<T> loaded = HibernateExecutor.executeReadOnly(session -> distinctIds.size() == 1
+                ? Collections.singletonList(session.get(clazz, distinctIds.get(0)))
+                : session.byMultipleIds(clazz)
+                        .withBatchSize(HibernateUtils.getInExpressionLimit())
+                        .enableOrderedReturn(true)
+                        .multiLoad(distinctIds)
+        );
+
+        List<T> found = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < distinctIds.size(); i++) {
+            T entity = loaded.get(i);
             if (entity != null) {
-                results.add(entity);
+                found.add(entity);
+            } else {
+                missingIds.add(distinctIds.get(i));
             }
         }
-        return results;
+        return new MultiLoadResult<>(found, missingIds);
+    }
+
+    @Override
+    public Slice<T> findSlice(PageRequest pageRequest) {
+        return findSlice(pageRequest, null);
+    }
+
+    @Override
+    public Slice<T> findSlice(PageRequest pageRequest, String fetchPlan) {
+        String hql = String.format("FROM %s e", clazz.getSimpleName())
+                + pageRequest.keysetPredicate("e.id") + pageRequest.orderBy("e.id");
+
+        List<T> results = HibernateExecutor.executeReadOnly(session -> {
+            if (fetchPlan == null) {
+                Query<T> query = session.createQuery(hql, clazz);
+                if (!pageRequest.isFirstPage()) {
+                    query.setParameter("token", pageRequest.getContinuationToken());
+                }
+                // Busca um registro a mais para saber se existe próxima página sem precisar de COUNT
+                return query.setMaxResults(pageRequest.getPageSize() + 1).list();
+            }
+
+            // Com associações de coleção o limite não pode ser aplicado no SQL, por isso a página é
+            // definida pelos ‘IDs’ e as entidades são carregadas com o plano de busca numa segunda consulta
+            Query<Long> idQuery = session.createQuery("SELECT e.id " + hql, Long.class);
+            if (!pageRequest.isFirstPage()) {
+                idQuery.setParameter("token", pageRequest.getContinuationToken());
+            }
+            List<Long> ids = idQuery.setMaxResults(pageRequest.getPageSize() + 1).list();
+            if (ids.isEmpty()) {
+                return new ArrayList<T>();
+            }
+            return withFetchPlan(session.createQuery(String.format("SELECT DISTINCT e FROM %s e WHERE e.id IN (:ids)%s",
+                    clazz.getSimpleName(), pageRequest.orderBy("e.id")), clazz), session, fetchPlan)
+                    .setParameterList("ids", ids)
+                    .list();
+        });
+
+        return Slice.ofOverfetched(results, pageRequest);
     }
 
     @Override
     public T insert(T entity) {
-        beforeInsert(entity);
-        beforeInsert(entity);
-        HibernateExecutor.executeTransaction(session -> {
+        return HibernateExecutor.executeTransaction(session -> {
+            beforeInsert(entity);
             session.persist(entity);
+            flush(session, entity);
+            HibernateExecutor.afterCommit(() -> afterInsert(entity));
             return entity;
         });
-        afterInsert(entity);
-        return entity;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * O estado atual é carregado uma única vez, na sessão da própria alteração, e as validações de
+     * {@link #beforeUpdate} rodam antes de qualquer escrita. O update é enviado com a versão lida
+     * ({@code WHERE id = ? AND version = ?}); se o registro foi alterado ou excluído por outra estação desde
+     * que foi lido, a alteração é rejeitada com {@link OptimisticLockException}.
+     */
     @SuppressWarnings("unchecked")
     @Override
     public T update(T entity) {
         return HibernateExecutor.executeTransaction(session -> {
-            T persisted = (T) session.merge(entity);
-            beforeUpdate(persisted, findById(entity.getId()));
-            afterUpdate(persisted);
+            T current = session.get(clazz, entity.getId());
+            if (current == null || (entity.getVersion() != null && !entity.getVersion().equals(current.getVersion()))) {
+                throw concurrentModification(entity, null);
+            }
+            if (entity.getVersion() == null) {
+                // Sem a versão lida, o Hibernate trataria a entidade como nova; prevalece a última alteração
+                entity.setVersion(current.getVersion());
+            }
+            beforeUpdate(entity, current);
+            T persisted;
+            try {
+                persisted = (T) session.merge(entity);
+            } catch (OptimisticLockException e) {
+                throw concurrentModification(entity, e);
+            }
+            flush(session, entity);
+            HibernateExecutor.afterCommit(() -> afterUpdate(persisted));
             return persisted;
         });
     }
 
     @Override
     public void delete(T entity) {
-        beforeDelete(entity);
         HibernateExecutor.executeTransaction(session -> {
+            beforeDelete(entity);
             session.remove(entity);
+            HibernateExecutor.afterCommit(() -> afterDelete(entity));
             return entity;
         });
-        afterDelete(entity);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Os ‘IDs’ são divididos em lotes do tamanho do limite de expressões IN do banco, todos na mesma
+     * transação. Em cada lote, os vínculos com outras tabelas são removidos por {@link #deleteAssociations}
+     * e os registros por um único DELETE. O cache de segundo nível da entidade é invalidado pelo Hibernate.
+     */
+    @Override
+    public int deleteByIds(List<Long> ids) {
+        List<Long> distinctIds = distinctIds(ids);
+        if (distinctIds.isEmpty()) {
+            return 0;
+        }
+        String hql = String.format("DELETE FROM %s e WHERE e.id IN (:ids)", clazz.getSimpleName());
+        return HibernateExecutor.executeTransaction(session -> {
+            List<Long> deleted = new ArrayList<>();
+            for (List<Long> chunk : partition(distinctIds)) {
+                List<Long> deletable = findDeletableIds(session, chunk);
+                if (deletable.isEmpty()) {
+                    continue;
+                }
+                deleteAssociations(session, deletable);
+                session.createQuery(hql)
+                        .setParameterList("ids", deletable)
+                        .executeUpdate();
+                deleted.addAll(deletable);
+            }
+            HibernateExecutor.afterCommit(() -> afterDeleteByIds(deleted));
+            return deleted.size();
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A versão dos registros é incrementada (UPDATE VERSIONED), então formulários abertos com a versão
+     * anterior não sobrescrevem a alteração.
+     */
+    @Override
+    public int updateStatusByIds(List<Long> ids, Status status) {
+        if (status == null) {
+            throw new IllegalArgumentException("O status deve ser informado.");
+        }
+        List<Long> distinctIds = distinctIds(ids);
+        if (distinctIds.isEmpty()) {
+            return 0;
+        }
+        String hql = String.format("UPDATE VERSIONED %s e SET e.status = :status, e.lastModifiedAt = :now " +
+                "WHERE e.id IN (:ids) AND (e.status IS NULL OR e.status <> :status)", clazz.getSimpleName());
+        Instant now = Instant.now();
+        return HibernateExecutor.executeTransaction(session -> {
+            int updated = 0;
+            for (List<Long> chunk : partition(distinctIds)) {
+                updated += session.createQuery(hql)
+                        .setParameter("status", status)
+                        .setParameter("now", now)
+                        .setParameterList("ids", chunk)
+                        .executeUpdate();
+            }
+            HibernateExecutor.afterCommit(() -> afterUpdateStatusByIds(distinctIds, status));
+            return updated;
+        });
+    }
+
+    /**
+     * Seleciona, entre os ‘IDs’ informados, os registros que podem ser excluídos em lote.
+     * Por padrão, todos os registros existentes podem ser excluídos.
+     *
+     * @param session a sessão da exclusão.
+     * @param ids     os ‘IDs’ de um lote.
+     * @return os ‘IDs’ dos registros a serem excluídos.
+     */
+    protected List<Long> findDeletableIds(Session session, List<Long> ids) {
+        return session.createQuery(String.format("SELECT e.id FROM %s e WHERE e.id IN (:ids)", clazz.getSimpleName()),
+                        Long.class)
+                .setParameterList("ids", ids)
+                .getResultList();
+    }
+
+    /**
+     * Remove os vínculos dos registros com outras tabelas antes da exclusão em lote, pois o DELETE em massa
+     * não passa pelo mapeamento das associações. Por padrão, não há vínculos a remover.
+     *
+     * @param session a sessão da exclusão.
+     * @param ids     os ‘IDs’ dos registros a serem excluídos.
+     */
+    protected void deleteAssociations(Session session, List<Long> ids) {
+    }
+
+    /**
+     * Remove ‘IDs’ nulos e repetidos.
+     *
+     * @param ids os ‘IDs’ informados.
+     * @return os ‘IDs’ distintos, na ordem original.
+     */
+    private List<Long> distinctIds(List<Long> ids) {
+        if (ids == null) {
+            return new ArrayList<>();
+        }
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Divide os ‘IDs’ em lotes do tamanho do limite de expressões IN do banco.
+     *
+     * @param ids os ‘IDs’ a serem divididos.
+     * @return os lotes de ‘IDs’.
+     */
+    private List<List<Long>> partition(List<Long> ids) {
+        return CollectionUtils.partition(ids, HibernateUtils.getInExpressionLimit());
+    }
+
+    /**
+     * Aplica um plano de busca nomeado (entity graph) a uma consulta de entidades.
+     *
+     * @param query     a consulta, que deve usar DISTINCT para não repetir a entidade a cada linha das coleções.
+     * @param session   a sessão da consulta.
+     * @param fetchPlan o nome do entity graph declarado na entidade.
+     * @return a própria consulta.
+     */
+    private Query<T> withFetchPlan(Query<T> query, Session session, String fetchPlan) {
+        return query.setHint(FETCH_GRAPH_HINT, session.getEntityGraph(fetchPlan))
+                // O DISTINCT é resolvido em memória, sem ser repassado ao SQL
+                .setHint(QueryHints.PASS_DISTINCT_THROUGH, false);
+    }
+
+    /**
+     * Envia as alterações pendentes ao banco para que violações de restrições sejam detectadas na própria
+     * operação. As violações de unicidade conhecidas pelo serviço são convertidas em IllegalArgumentException.
+     *
+     * @param session a sessão da operação.
+     * @param entity  a entidade inserida ou alterada.
+     */
+    private void flush(Session session, T entity) {
+        try {
+            session.flush();
+        } catch (OptimisticLockException e) {
+            throw concurrentModification(entity, e);
+        } catch (PersistenceException e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof ConstraintViolationException) {
+                    String constraintName = ((ConstraintViolationException) cause).getConstraintName();
+                    String message = constraintName == null ? null
+                            : getConstraintViolationMessage(constraintName.toLowerCase(Locale.ROOT), entity);
+                    if (message != null) {
+                        throw new IllegalArgumentException(message, e);
+                    }
+                    break;
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Cria a exceção de alteração concorrente, com a mensagem a ser exibida ao usuário.
+     *
+     * @param entity a entidade alterada.
+     * @param cause  a exceção original do Hibernate, ou null se o conflito foi detectado pelo serviço.
+     * @return a exceção a ser lançada.
+     */
+    private OptimisticLockException concurrentModification(T entity, Throwable cause) {
+        return new OptimisticLockException("O registro foi alterado ou excluído por outro usuário. " +
+                "Recarregue os dados e tente novamente.", cause, entity);
+    }
+
+    /**
+     * Obtém a mensagem a ser exibida para a violação de uma restrição do banco.
+     * O nome informado pelo banco pode conter prefixos e sufixos além do nome da restrição (ex.:
+     * {@code public.uk_livro_isbn_index_2}), por isso deve ser comparado com {@code contains}.
+     *
+     * @param constraintName o nome da restrição violada, em minúsculas.
+     * @param entity         a entidade inserida ou alterada.
+     * @return a mensagem de erro, ou null se a restrição não for conhecida pelo serviço.
+     */
+    protected String getConstraintViolationMessage(String constraintName, T entity) {
+        return null;
     }
 
     @Override
@@ -106,7 +411,7 @@ public abstract class AbstractService<T extends AbstractModel> implements IAbstr
 
     @Override
     public void afterInsert(T entity) {
-
+        EntityChangeBus.publish(clazz, ChangeType.INSERTED, entity.getId());
     }
 
     @Override
@@ -116,7 +421,7 @@ public abstract class AbstractService<T extends AbstractModel> implements IAbstr
 
     @Override
     public void afterUpdate(T entity) {
-
+        EntityChangeBus.publish(clazz, ChangeType.UPDATED, entity.getId());
     }
 
     @Override
@@ -126,7 +431,7 @@ public abstract class AbstractService<T extends AbstractModel> implements IAbstr
 
     @Override
     public void afterDelete(T entity) {
-
+        EntityChangeBus.publish(clazz, ChangeType.DELETED, entity.getId());
     }
 
     @Override
@@ -147,4 +452,14 @@ public abstract class AbstractService<T extends AbstractModel> implements IAbstr
     @Override
     public void afterFindAll(List<T> result) {
     }
+
+    @Override
+    public void afterDeleteByIds(List<Long> ids) {
+        EntityChangeBus.publish(clazz, ChangeType.DELETED, ids);
+    }
+
+    @Override
+    public void afterUpdateStatusByIds(List<Long> ids, Status status) {
+        EntityChangeBus.publish(clazz, ChangeType.UPDATED, ids);
+    }
 }
@@ -0,0 +1,169 @@
+package swing.service;
+
+import swing.enums.Status;
+import swing.model.AbstractModel;
+import swing.util.ServiceExecutor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Variante assíncrona de um serviço, para ser usada pelas telas sem bloquear o EDT.
+ * <p>
+ * Cada operação é executada no {@link ServiceExecutor} e retorna um {@link CompletableFuture}, que pode ser
+ * cancelado e é concluído com {@link java.util.concurrent.TimeoutException} se o tempo limite for excedido.
+ * Nas operações que gravam, o tempo limite vale só enquanto a operação aguarda na fila; depois de iniciada, ela
+ * é aguardada até a confirmação ou a falha da transação.
+ * Para tratar o resultado na interface use {@link swing.util.AsyncExecutor#onEdt}.
+ *
+ * @param <T> o tipo da entidade do serviço.
+ */
+public class AsyncService<T extends AbstractModel> {
+
+    private final IAbstractService<T> service;
+    private final long timeoutMillis;
+
+    public AsyncService(IAbstractService<T> service) {
+        this(service, ServiceExecutor.DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Cria a variante assíncrona do serviço.
+     *
+     * @param service       o serviço que executa as operações.
+     * @param timeoutMillis o tempo limite das operações, em milissegundos (zero para não limitar).
+     */
+    public AsyncService(IAbstractService<T> service, long timeoutMillis) {
+        this.service = service;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Buscar todos os registros.
+     *
+     * @return o futuro com os registros encontrados.
+     */
+    public CompletableFuture<List<T>> findAll() {
+        return call(service::findAll);
+    }
+
+    /**
+     * Buscar todos os registros com as associações do plano de busca informado.
+     *
+     * @param fetchPlan nome do plano de busca (entity graph) da entidade, ou null para não carregar associações.
+     * @return o futuro com os registros encontrados.
+     */
+    public CompletableFuture<List<T>> findAll(String fetchPlan) {
+        return call(() -> service.findAll(fetchPlan));
+    }
+
+    /**
+     * Buscar registro por ‘ID’.
+     *
+     * @param id ‘ID’ do registro a ser buscado.
+     * @return o futuro com o registro encontrado, ou null.
+     */
+    public CompletableFuture<T> findById(Long id) {
+        return call(() -> service.findById(id));
+    }
+
+    /**
+     * Buscar registro por ‘ID’ com as associações do plano de busca informado.
+     *
+     * @param id        ‘ID’ do registro a ser buscado.
+     * @param fetchPlan nome do plano de busca (entity graph) da entidade, ou null para não carregar associações.
+     * @return o futuro com o registro encontrado, ou null.
+     */
+    public CompletableFuture<T> findById(Long id, String fetchPlan) {
+        return call(() -> service.findById(id, fetchPlan));
+    }
+
+    /**
+     * Buscar registros por ‘IDs’.
+     *
+     * @param ids ‘IDs’ dos registros a serem buscados.
+     * @return o futuro com os registros encontrados.
+     */
+    public CompletableFuture<List<T>> findByIds(List<Long> ids) {
+        return call(() -> service.findByIds(ids));
+    }
+
+    /**
+     * Inserir novo registro.
+     *
+     * @param entity registro a ser inserido.
+     * @return o futuro com o registro inserido.
+     */
+    public CompletableFuture<T> insert(T entity) {
+        return write(() -> service.insert(entity));
+    }
+
+    /**
+     * Atualizar registro.
+     *
+     * @param entity registro a ser atualizado.
+     * @return o futuro com o registro atualizado.
+     */
+    public CompletableFuture<T> update(T entity) {
+        return write(() -> service.update(entity));
+    }
+
+    /**
+     * Deletar registro.
+     *
+     * @param entity registro a ser deletado.
+     * @return o futuro concluído após a exclusão.
+     */
+    public CompletableFuture<Void> delete(T entity) {
+        return write(() -> {
+            service.delete(entity);
+            return null;
+        });
+    }
+
+    /**
+     * Deletar registros por IDs em lote.
+     *
+     * @param ids ‘IDs’ dos registros a serem deletados.
+     * @return o futuro com a quantidade de registros deletados.
+     */
+    public CompletableFuture<Integer> deleteByIds(List<Long> ids) {
+        return write(() -> service.deleteByIds(ids));
+    }
+
+    /**
+     * Alterar o status de registros por IDs em lote.
+     *
+     * @param ids    ‘IDs’ dos registros a serem alterados.
+     * @param status novo status dos registros.
+     * @return o futuro com a quantidade de registros alterados.
+     */
+    public CompletableFuture<Integer> updateStatusByIds(List<Long> ids, Status status) {
+        return write(() -> service.updateStatusByIds(ids, status));
+    }
+
+    /**
+     * Executa uma operação qualquer do serviço no executor, com o mesmo tempo limite das demais.
+     * Útil para combinar várias chamadas numa única tarefa ou para métodos específicos do serviço.
+     *
+     * @param operation a operação a ser executada.
+     * @param <R>       o tipo do resultado.
+     * @return o futuro com o resultado da operação.
+     */
+    public <R> CompletableFuture<R> call(Supplier<R> operation) {
+        return ServiceExecutor.supplyAsync(operation, timeoutMillis);
+    }
+
+    /**
+     * Executa uma operação do serviço que grava no banco. O tempo limite vale só enquanto a operação aguarda na
+     * fila, para que o futuro não indique falha de uma gravação que ainda pode ser confirmada.
+     *
+     * @param operation a operação a ser executada.
+     * @param <R>       o tipo do resultado.
+     * @return o futuro com o resultado da operação.
+     */
+    public <R> CompletableFuture<R> write(Supplier<R> operation) {
+        return ServiceExecutor.supplyWriteAsync(operation, timeoutMillis);
+    }
+}
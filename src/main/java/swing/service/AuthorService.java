@@ -1,10 +1,20 @@
 package swing.service;
 
+import org.hibernate.Session;
 import swing.model.Author;
+import swing.model.dto.AuthorDTO;
+import swing.model.page.PageRequest;
+import swing.model.page.Slice;
 import swing.repository.AuthorRepository;
+import swing.util.CollectionUtils;
+import swing.util.HibernateUtils;
 import swing.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Serviço responsável por gerenciar as operações relacionadas aos autores.
@@ -12,20 +22,81 @@ import java.util.List;
  */
 public class AuthorService extends AbstractService<Author> {
 
+    /**
+     * Índice de nomes (comercial e completo) dos autores, compartilhado por todas as instâncias do serviço.
+     */
+    private static final NameIndex NAME_INDEX = new NameIndex(AuthorService::loadNames);
+
     final AuthorRepository authorRepository = new AuthorRepository();
+    final StatisticsService statisticsService = new StatisticsService();
+
+    /**
+     * Busca uma página da listagem de autores, montada diretamente da consulta, sem carregar entidades.
+     *
+     * @param pageRequest a requisição da página.
+     * @return a página de linhas da listagem.
+     */
+    public Slice<AuthorDTO> findListRows(PageRequest pageRequest) {
+        return authorRepository.findListRows(pageRequest);
+    }
+
+    /**
+     * Busca as linhas da listagem dos autores com os ‘IDs’ informados, em lotes do tamanho da expressão IN.
+     *
+     * @param ids os ‘IDs’ dos registros.
+     * @return as linhas encontradas; ‘IDs’ inexistentes são ignorados.
+     */
+    public List<AuthorDTO> findListRowsByIds(List<Long> ids) {
+        List<AuthorDTO> rows = new ArrayList<>(ids.size());
+        for (List<Long> chunk : CollectionUtils.partition(ids, HibernateUtils.getInExpressionLimit())) {
+            rows.addAll(authorRepository.findListRowsByIds(chunk));
+        }
+        return rows;
+    }
 
     /**
      * Busca um autor pelo nome.
+     * A comparação ignora acentos, espaços excessivos e maiúsculas/minúsculas.
      *
      * @param nome o nome do autor a ser buscado.
      * @return o autor encontrado ou null se não houver nenhum autor com o nome especificado.
      */
     public Author findByName(String nome) {
-        List<Author> autores = authorRepository.findAuthorByName(nome);
-        if (autores.isEmpty()) {
-            return null;
+        Long id = NAME_INDEX.findId(nome);
+        return id == null ? null : findById(id);
+    }
+
+    /**
+     * Busca o ‘ID’ do autor com o nome informado, sem consultar o banco de dados.
+     *
+     * @param nome o nome do autor.
+     * @return o ‘ID’ do autor, ou null se não houver um autor com o nome.
+     */
+    public Long findIdByName(String nome) {
+        return NAME_INDEX.findId(nome);
+    }
+
+    /**
+     * Verifica se existe um autor com o nome informado, sem consultar o banco de dados.
+     *
+     * @param nome o nome do autor.
+     * @return true se existir um autor com o nome, false caso contrário.
+     */
+    public boolean existsByName(String nome) {
+        return NAME_INDEX.findId(nome) != null;
+    }
+
+    /**
+     * Carrega do banco os nomes de todos os autores para o índice de nomes.
+     *
+     * @return os nomes comercial e completo de cada autor, por ‘ID’.
+     */
+    private static Map<Long, List<String>> loadNames() {
+        Map<Long, List<String>> names = new LinkedHashMap<>();
+        for (Object[] row : new AuthorRepository().findAllNames()) {
+            names.put((Long) row[0], Arrays.asList((String) row[1], (String) row[2]));
         }
-        return autores.get(0);
+        return names;
     }
 
     /**
@@ -41,12 +112,24 @@ public class AuthorService extends AbstractService<Author> {
         if (StringUtils.isNullOrEmpty(author.getFullName()) && StringUtils.isNullOrEmpty(author.getCommercialName())) {
             throw new IllegalArgumentException("O nome do autor não pode ser vazio.");
         }
-        if (!isEdition && (findByName(author.getCommercialName()) != null || findByName(author.getFullName()) != null)) {
+        if (!isEdition && (existsByName(author.getCommercialName()) || existsByName(author.getFullName()))) {
             throw new IllegalArgumentException("Já existe um autor com o nome: " + author.getCommercialName());
         }
     }
 
 
+    /**
+     * Nomes duplicados que escapam ao índice de nomes, como inclusões simultâneas ou edições,
+     * são rejeitados pela restrição de unicidade do banco.
+     */
+    @Override
+    protected String getConstraintViolationMessage(String constraintName, Author entity) {
+        if (constraintName.contains(Author.UNIQUE_COMMERCIAL_NAME)) {
+            return "Já existe um autor com o nome: " + entity.getCommercialName();
+        }
+        return null;
+    }
+
     @Override
     public void beforeInsert(Author entity) {
         super.beforeInsert(entity);
@@ -72,4 +155,55 @@ public class AuthorService extends AbstractService<Author> {
         newEntity.setFullName(StringUtils.removeExcessiveSpaces(newEntity.getFullName()));
         newEntity.setCommercialName(StringUtils.removeAccents(newEntity.getCommercialName()));
     }
+
+    @Override
+    public void afterInsert(Author entity) {
+        super.afterInsert(entity);
+        statisticsService.recordInsert(entity);
+        NAME_INDEX.put(entity.getId(), entity.getCommercialName(), entity.getFullName());
+    }
+
+    @Override
+    public void afterUpdate(Author entity) {
+        super.afterUpdate(entity);
+        NAME_INDEX.put(entity.getId(), entity.getCommercialName(), entity.getFullName());
+        evictCache(entity);
+        // Os nomes fazem parte do índice de busca dos livros
+        BookService.SEARCH_INDEX.invalidate();
+    }
+
+    @Override
+    public void afterDelete(Author entity) {
+        super.afterDelete(entity);
+        statisticsService.recordDelete(entity);
+        NAME_INDEX.remove(entity.getId());
+        evictCache(entity);
+        BookService.SEARCH_INDEX.invalidate();
+    }
+
+    /**
+     * Apenas autores sem livros vinculados são excluídos em lote; os demais são ignorados.
+     */
+    @Override
+    protected List<Long> findDeletableIds(Session session, List<Long> ids) {
+        return session.createQuery("SELECT e.id FROM Author e WHERE e.id IN (:ids) AND e.books IS EMPTY", Long.class)
+                .setParameterList("ids", ids)
+                .getResultList();
+    }
+
+    @Override
+    public void afterDeleteByIds(List<Long> ids) {
+        super.afterDeleteByIds(ids);
+        statisticsService.recordDeletes(Author.class, ids);
+        ids.forEach(NAME_INDEX::remove);
+    }
+
+    /**
+     * Remove o autor do cache de segundo nível.
+     *
+     * @param entity o autor alterado ou removido.
+     */
+    private void evictCache(Author entity) {
+        HibernateUtils.evictEntity(Author.class, entity.getId());
+    }
 }
@@ -0,0 +1,210 @@
+package swing.service;
+
+import org.hibernate.Session;
+import swing.configs.GeneralProperties;
+import swing.enums.Status;
+import swing.model.AbstractModel;
+import swing.model.Author;
+import swing.model.Book;
+import swing.model.Publisher;
+import swing.model.dto.CSVImportableBookDTO;
+import swing.util.HibernateExecutor;
+import swing.util.StringUtils;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Serviço de importação em lote de livros, voltado para arquivos CSV grandes.
+ * <p>
+ * Diferente do fluxo linha a linha, um bloco inteiro de livros é gravado numa única transação:
+ * os inserts de livros, autores, editoras e das tabelas de relacionamento são enviados em lotes JDBC,
+ * e a sessão é descarregada e limpa periodicamente para manter o uso de memória constante.
+ * As validações de duplicidade feitas pelos hooks de {@link AbstractService} não são executadas;
+ * livros já existentes são identificados pelo ISBN e atualizados.
+ */
+public class BookBulkImportService {
+
+    /**
+     * Quantidade de linhas gravadas por transação.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    /**
+     * Quantidade de linhas entre cada flush/clear da sessão. Deve acompanhar o hibernate.jdbc.batch_size.
+     */
+    static final int FLUSH_INTERVAL = 50;
+
+    private final BookService bookService = new BookService();
+    private final AuthorService authorService = new AuthorService();
+    private final PublisherService publisherService = new PublisherService();
+    private final ImportReferenceResolver<Author> authorResolver = new ImportReferenceResolver<>(Author.class,
+            authorService::findIdByName, BookBulkImportService::newAuthor, authorService::afterInsert);
+    private final ImportReferenceResolver<Publisher> publisherResolver = new ImportReferenceResolver<>(Publisher.class,
+            publisherService::findIdByName, BookBulkImportService::newPublisher, publisherService::afterInsert);
+
+    /**
+     * Importa um bloco de livros numa única transação.
+     * Os autores e editoras de todas as linhas do bloco são resolvidos juntos, antes da gravação dos livros,
+     * e os nomes já resolvidos por blocos anteriores não são procurados de novo.
+     * Em caso de erro toda a transação é desfeita e a exceção é propagada.
+     *
+     * @param rows as linhas válidas do CSV a serem gravadas.
+     * @return a quantidade de livros inseridos e atualizados.
+     */
+    public BulkImportResult importChunk(List<CSVImportableBookDTO> rows) {
+        // Linhas com o mesmo ISBN no bloco: prevalece a última
+        Map<String, CSVImportableBookDTO> rowsByIsbn = new LinkedHashMap<>();
+        for (CSVImportableBookDTO row : rows) {
+            rowsByIsbn.put(StringUtils.removeExcessiveSpaces(row.getIsbn()), row);
+        }
+        List<String> isbns = new ArrayList<>(rowsByIsbn.keySet());
+
+        try {
+            return HibernateExecutor.executeTransaction(session -> writeChunk(session, isbns, rowsByIsbn));
+        } catch (RuntimeException e) {
+            // Referências guardadas podem ter sido excluídas no meio da importação; os próximos blocos as conferem
+            authorResolver.clear();
+            publisherResolver.clear();
+            throw e;
+        }
+    }
+
+    /**
+     * Grava os livros de um bloco na transação informada.
+     *
+     * @param session    a sessão da transação do bloco.
+     * @param isbns      os ISBNs do bloco, na ordem do arquivo.
+     * @param rowsByIsbn as linhas do bloco, indexadas pelo ISBN.
+     * @return a quantidade de livros inseridos e atualizados.
+     */
+    private BulkImportResult writeChunk(Session session, List<String> isbns,
+                                        Map<String, CSVImportableBookDTO> rowsByIsbn) {
+        Set<String> authorNames = new HashSet<>();
+        Set<String> publisherNames = new HashSet<>();
+        for (CSVImportableBookDTO row : rowsByIsbn.values()) {
+            authorNames.addAll(namesOrDefault(row.getAuthors(), GeneralProperties.NAME_UNKNOWN_AUTHOR));
+            publisherNames.addAll(namesOrDefault(row.getPublishers(), GeneralProperties.NAME_UNKNOWN_PUBLISHER));
+        }
+        Map<String, Long> authorIds = authorResolver.resolve(session, authorNames);
+        Map<String, Long> publisherIds = publisherResolver.resolve(session, publisherNames);
+        int inserted = 0;
+        int updated = 0;
+
+        for (int start = 0; start < isbns.size(); start += FLUSH_INTERVAL) {
+            List<String> window = isbns.subList(start, Math.min(start + FLUSH_INTERVAL, isbns.size()));
+            Map<String, Book> existingBooks = findBooksByIsbn(session, window);
+
+            for (String isbn : window) {
+                CSVImportableBookDTO row = rowsByIsbn.get(isbn);
+                Book book = existingBooks.get(isbn);
+                boolean isNew = book == null;
+                Instant now = new Date().toInstant();
+                if (isNew) {
+                    book = new Book();
+                    book.setCreatedAt(now);
+                    book.setStatus(Status.ACTIVE);
+                }
+                book.setTitle(StringUtils.removeExcessiveSpaces(row.getTitle()));
+                book.setIsbn(isbn);
+                book.setPublicationDate(row.getPublicationDate());
+                book.setLastModifiedAt(now);
+                book.setAuthors(references(session, Author.class,
+                        namesOrDefault(row.getAuthors(), GeneralProperties.NAME_UNKNOWN_AUTHOR), authorIds));
+                book.setPublishers(references(session, Publisher.class,
+                        namesOrDefault(row.getPublishers(), GeneralProperties.NAME_UNKNOWN_PUBLISHER), publisherIds));
+
+                if (isNew) {
+                    session.persist(book);
+                    Book insertedBook = book;
+                    HibernateExecutor.afterCommit(() -> bookService.afterInsert(insertedBook));
+                    inserted++;
+                } else {
+                    Book updatedBook = book;
+                    HibernateExecutor.afterCommit(() -> bookService.afterUpdate(updatedBook));
+                    updated++;
+                }
+            }
+
+            // Envia o lote ao banco e libera as entidades gerenciadas da janela
+            session.flush();
+            session.clear();
+        }
+        return new BulkImportResult(inserted, updated);
+    }
+
+    /**
+     * Busca os livros existentes com os ISBNs informados numa única consulta. As associações não são carregadas:
+     * os autores e editoras do livro são substituídos pelos da linha sem serem lidos.
+     *
+     * @param session a sessão da importação.
+     * @param isbns   os ISBNs a serem buscados.
+     * @return os livros encontrados, indexados pelo ISBN.
+     */
+    private Map<String, Book> findBooksByIsbn(Session session, List<String> isbns) {
+        Map<String, Book> books = new HashMap<>();
+        session.createQuery("FROM Book b WHERE b.isbn IN (:isbns)", Book.class)
+                .setParameterList("isbns", isbns)
+                .getResultList()
+                .forEach(book -> books.putIfAbsent(book.getIsbn(), book));
+        return books;
+    }
+
+    /**
+     * Obtém as referências dos registros relacionados de uma linha, já resolvidos para o bloco.
+     *
+     * @param session a sessão da transação do bloco.
+     * @param clazz   a classe do registro relacionado.
+     * @param names   os nomes da linha.
+     * @param ids     os ‘IDs’ resolvidos do bloco, por nome canônico.
+     * @param <T>     o tipo do registro relacionado.
+     * @return o conjunto de referências, na ordem dos nomes.
+     */
+    private <T extends AbstractModel> Set<T> references(Session session, Class<T> clazz, Collection<String> names,
+                                                        Map<String, Long> ids) {
+        Set<T> references = new LinkedHashSet<>();
+        for (String name : names) {
+            Long id = ids.get(StringUtils.toCanonicalForm(name));
+            if (id != null) {
+                references.add(session.getReference(clazz, id));
+            }
+        }
+        return references;
+    }
+
+    /**
+     * Obtém os nomes de uma linha ou, se ela não tiver nenhum, o nome do registro padrão (desconhecido).
+     *
+     * @param names       os nomes vindos do CSV.
+     * @param defaultName o nome do registro padrão.
+     * @return os nomes a serem resolvidos.
+     */
+    private static Collection<String> namesOrDefault(Set<String> names, String defaultName) {
+        return names == null || names.isEmpty() ? Collections.singletonList(defaultName) : names;
+    }
+
+    /**
+     * Cria um autor a partir do nome vindo do arquivo, com a mesma normalização do cadastro.
+     *
+     * @param name o nome do autor.
+     * @return o novo autor.
+     */
+    private static Author newAuthor(String name) {
+        Author author = new Author();
+        author.setCommercialName(StringUtils.removeAccents(StringUtils.removeExcessiveSpaces(name)));
+        author.setFullName(StringUtils.removeExcessiveSpaces(name));
+        return author;
+    }
+
+    /**
+     * Cria uma editora a partir do nome vindo do arquivo.
+     *
+     * @param name o nome da editora.
+     * @return a nova editora.
+     */
+    private static Publisher newPublisher(String name) {
+        Publisher publisher = new Publisher();
+        publisher.setName(StringUtils.removeExcessiveSpaces(name));
+        return publisher;
+    }
+}
@@ -0,0 +1,488 @@
+package swing.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import swing.model.dto.CSVImportableBookDTO;
+import swing.util.ServiceExecutor;
+import swing.util.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Importação de livros em estágios encadeados por filas limitadas.
+ * <p>
+ * Os estágios rodam em threads próprias:
+ * <ol>
+ *     <li>leitura: lê os registros do CSV, sem convertê-los;</li>
+ *     <li>conversão: converte e normaliza os registros, em {@code parallelism} threads;</li>
+ *     <li>gravação: devolve as linhas à ordem do arquivo e grava os blocos com o {@link BookBulkImportService},
+ *     que resolve autores e editoras, compara com os livros existentes e grava numa única transação;</li>
+ *     <li>relatório: repassa os resultados ao {@link Listener}, fora das threads de processamento.</li>
+ * </ol>
+ * As filas são limitadas e o número de linhas em processamento também, então um estágio lento segura os
+ * anteriores e a memória usada não depende do tamanho do arquivo. As linhas são gravadas na ordem do arquivo:
+ * com o mesmo ISBN em mais de uma linha, prevalece a última. Um bloco que falha é regravado linha a linha,
+ * para identificar as linhas com erro.
+ * <p>
+ * O cancelamento é cooperativo: os estágios param entre uma linha e outra e o bloco em gravação é concluído.
+ * As threads não são interrompidas, pois a interrupção pode fechar o arquivo do banco embarcado.
+ */
+public class BookImportPipeline {
+
+    /**
+     * Quantidade padrão de threads de conversão. É limitada para que as consultas feitas pela conversão,
+     * somadas às do {@link ServiceExecutor}, não esgotem o pool de conexões.
+     */
+    public static final int DEFAULT_PARALLELISM = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+    /**
+     * Quantidade máxima padrão de linhas em processamento, entre a leitura e a gravação.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 2 * BookBulkImportService.DEFAULT_CHUNK_SIZE;
+
+    /**
+     * Intervalo, em milissegundos, em que as threads bloqueadas numa fila verificam o cancelamento.
+     */
+    private static final long POLL_MILLIS = 100;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BookImportPipeline.class);
+
+    private final BookBulkImportService bulkImportService = new BookBulkImportService();
+    private final int parallelism;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final Listener listener;
+    private volatile boolean cancelled;
+    private volatile boolean stopped;
+
+    /**
+     * Cria a importação.
+     *
+     * @param parallelism   a quantidade de threads de conversão.
+     * @param batchSize     a quantidade de linhas gravadas por transação.
+     * @param queueCapacity a quantidade máxima de linhas em processamento.
+     * @param listener      o ouvinte dos resultados, chamado sempre pela mesma thread.
+     */
+    public BookImportPipeline(int parallelism, int batchSize, int queueCapacity, Listener listener) {
+        if (parallelism <= 0 || batchSize <= 0 || queueCapacity < batchSize) {
+            throw new IllegalArgumentException("Configuração de importação inválida: paralelismo=" + parallelism
+                    + ", bloco=" + batchSize + ", fila=" + queueCapacity + ".");
+        }
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.listener = listener;
+    }
+
+    /**
+     * Importa os registros informados, bloqueando até o fim da importação ou do cancelamento.
+     *
+     * @param records os registros do CSV, na ordem do arquivo, a serem convertidos pela importação.
+     * @return o resumo da importação.
+     * @throws IllegalStateException se um estágio falhar por um erro que não é de uma linha (ex.: leitura do arquivo).
+     */
+    public BookImportSummary run(Stream<Supplier<CSVImportableBookDTO>> records) {
+        return run(records, line -> false);
+    }
+
+    /**
+     * Importa os registros informados, sem converter nem gravar as linhas indicadas (ex.: as linhas sem alterações
+     * de um {@link BookImportPlan}), bloqueando até o fim da importação ou do cancelamento.
+     *
+     * @param records      os registros do CSV, na ordem do arquivo, a serem convertidos pela importação.
+     * @param skippedLines indica, pelo número da linha no arquivo, as linhas a serem ignoradas.
+     * @return o resumo da importação.
+     * @throws IllegalStateException se um estágio falhar por um erro que não é de uma linha (ex.: leitura do arquivo).
+     */
+    public BookImportSummary run(Stream<Supplier<CSVImportableBookDTO>> records, IntPredicate skippedLines) {
+        long startNanos = System.nanoTime();
+        BlockingQueue<Row> readQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Row> convertedQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Runnable> reportQueue = new ArrayBlockingQueue<>(queueCapacity);
+        // Limita as linhas entre a leitura e a gravação, incluindo as que aguardam a reordenação
+        Semaphore inFlight = new Semaphore(queueCapacity);
+        Counters counters = new Counters();
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism + 3, ServiceExecutor.namedThreadFactory("importacao"));
+        try {
+            Future<?> reporter = executor.submit(() -> report(reportQueue));
+            List<Future<?>> stages = new ArrayList<>();
+            stages.add(submitStage(executor, () -> read(records, skippedLines, readQueue, convertedQueue, inFlight,
+                    counters)));
+            for (int i = 0; i < parallelism; i++) {
+                stages.add(submitStage(executor, () -> convert(readQueue, convertedQueue)));
+            }
+            stages.add(submitStage(executor, () -> write(convertedQueue, reportQueue, inFlight, counters)));
+
+            Throwable failure = null;
+            for (Future<?> stage : stages) {
+                Throwable error = await(stage);
+                if (failure == null) {
+                    failure = error;
+                }
+            }
+            put(reportQueue, Row.END_OF_REPORT);
+            await(reporter);
+            if (failure != null) {
+                throw new IllegalStateException("Falha na importação: " + failure.getMessage(), failure);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return new BookImportSummary(counters.read, counters.skipped, counters.rejected, counters.failed,
+                counters.inserted, counters.updated, cancelled, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Solicita o cancelamento da importação. As linhas já gravadas são mantidas.
+     */
+    public void cancel() {
+        cancelled = true;
+        stopped = true;
+    }
+
+    /**
+     * Inicia um estágio. Se o estágio falhar, os demais param na próxima verificação, em vez de aguardarem
+     * indefinidamente pelas filas.
+     *
+     * @param executor o executor dos estágios.
+     * @param stage    o estágio.
+     * @return o futuro do estágio.
+     */
+    private Future<?> submitStage(ExecutorService executor, Runnable stage) {
+        return executor.submit(() -> {
+            try {
+                stage.run();
+            } catch (RuntimeException | Error e) {
+                stopped = true;
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Estágio de leitura: numera os registros e os envia à conversão. As linhas ignoradas seguem direto para a
+     * gravação, que precisa delas para manter a ordem do arquivo; elas chegam antes dos marcadores de fim das
+     * threads de conversão, que só são enviados após a leitura.
+     */
+    private void read(Stream<Supplier<CSVImportableBookDTO>> records, IntPredicate skippedLines,
+                      BlockingQueue<Row> readQueue, BlockingQueue<Row> convertedQueue, Semaphore inFlight,
+                      Counters counters) {
+        int line = 0;
+        try {
+            for (Iterator<Supplier<CSVImportableBookDTO>> iterator = records.iterator(); iterator.hasNext(); ) {
+                Supplier<CSVImportableBookDTO> conversion = iterator.next();
+                line++;
+                boolean skipped = skippedLines.test(line);
+                Row row = new Row(line, skipped ? null : conversion);
+                row.skipped = skipped;
+                if (!acquire(inFlight) || !put(skipped ? convertedQueue : readQueue, row)) {
+                    return;
+                }
+                counters.read = line;
+            }
+        } finally {
+            // Cada thread de conversão encerra ao receber o seu marcador de fim
+            for (int i = 0; i < parallelism; i++) {
+                put(readQueue, Row.END);
+            }
+        }
+    }
+
+    /**
+     * Estágio de conversão: converte o registro e normaliza os campos usados na gravação.
+     */
+    private void convert(BlockingQueue<Row> readQueue, BlockingQueue<Row> convertedQueue) {
+        try {
+            Row row;
+            while ((row = take(readQueue)) != null && row != Row.END) {
+                try {
+                    CSVImportableBookDTO book = row.conversion.get();
+                    normalize(book, row.line);
+                    row.book = book;
+                } catch (RuntimeException e) {
+                    row.error = e.getMessage();
+                }
+                row.conversion = null;
+                if (!put(convertedQueue, row)) {
+                    return;
+                }
+            }
+        } finally {
+            put(convertedQueue, Row.END);
+        }
+    }
+
+    /**
+     * Normaliza os espaços do título e do ISBN de uma linha convertida. Um valor só com espaços passa pela
+     * verificação de campo obrigatório da conversão, mas fica vazio após a normalização; a linha recebe então um
+     * erro de importação, em vez de ser gravada com o campo vazio (linhas com o ISBN vazio seriam todas gravadas
+     * no mesmo livro).
+     *
+     * @param book a linha convertida.
+     * @param line o número da linha no arquivo.
+     */
+    static void normalize(CSVImportableBookDTO book, int line) {
+        book.setTitle(StringUtils.removeExcessiveSpaces(book.getTitle()));
+        book.setIsbn(StringUtils.removeExcessiveSpaces(book.getIsbn()));
+        requireNotBlank(book, book.getTitle(), "title", line);
+        requireNotBlank(book, book.getIsbn(), "isbn", line);
+    }
+
+    private static void requireNotBlank(CSVImportableBookDTO book, String value, String headerName, int line) {
+        if (value != null && value.isEmpty()) {
+            book.addErroImportacao(String.format("[Linha: %d - Header %s] O campo %s é obrigatório e não pode ser "
+                    + "nulo ou vazio.", line, headerName, headerName));
+        }
+    }
+
+    /**
+     * Estágio de gravação: devolve as linhas à ordem do arquivo, separa as linhas com erro e grava os blocos.
+     */
+    private void write(BlockingQueue<Row> convertedQueue, BlockingQueue<Runnable> reportQueue, Semaphore inFlight,
+                       Counters counters) {
+        Map<Integer, Row> pending = new HashMap<>();
+        List<Row> batch = new ArrayList<>(batchSize);
+        int nextLine = 1;
+        int finishedConverters = 0;
+        while (finishedConverters < parallelism) {
+            Row row = take(convertedQueue);
+            if (row == null) {
+                return;
+            }
+            if (row == Row.END) {
+                finishedConverters++;
+                continue;
+            }
+            pending.put(row.line, row);
+            // Apenas a próxima linha na ordem do arquivo segue; as demais aguardam as anteriores
+            while ((row = pending.remove(nextLine)) != null) {
+                nextLine++;
+                inFlight.release();
+                if (row.skipped) {
+                    counters.skipped++;
+                    continue;
+                }
+                if (row.book == null || !row.book.getImportErrors().isEmpty()) {
+                    counters.rejected++;
+                    Row rejected = row;
+                    put(reportQueue, () -> listener.rowRejected(rejected.line, rejected.book == null
+                            ? Collections.singletonList(rejected.error) : rejected.book.getImportErrors()));
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    writeBatch(batch, reportQueue, counters);
+                    if (stopped) {
+                        return;
+                    }
+                }
+            }
+        }
+        writeBatch(batch, reportQueue, counters);
+    }
+
+    /**
+     * Grava um bloco numa única transação e esvazia o bloco. Se a gravação falhar, as linhas do bloco são
+     * gravadas uma a uma, e apenas as linhas com erro são descartadas.
+     */
+    private void writeBatch(List<Row> batch, BlockingQueue<Runnable> reportQueue, Counters counters) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<CSVImportableBookDTO> books = new ArrayList<>(batch.size());
+        batch.forEach(row -> books.add(row.book));
+        int firstLine = batch.get(0).line;
+        int lastLine = batch.get(batch.size() - 1).line;
+        try {
+            BulkImportResult result = bulkImportService.importChunk(books);
+            counters.add(result);
+            put(reportQueue, () -> listener.batchWritten(firstLine, lastLine, result));
+        } catch (RuntimeException batchError) {
+            if (batch.size() == 1) {
+                counters.failed++;
+                put(reportQueue, () -> listener.rowFailed(firstLine, batchError.getMessage()));
+            } else {
+                put(reportQueue, () -> listener.batchFailed(firstLine, lastLine, batchError.getMessage()));
+                for (Row row : batch) {
+                    writeBatch(new ArrayList<>(Collections.singletonList(row)), reportQueue, counters);
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    /**
+     * Estágio de relatório: repassa os resultados ao ouvinte, na ordem em que foram produzidos.
+     */
+    private void report(BlockingQueue<Runnable> reportQueue) {
+        try {
+            Runnable event;
+            while ((event = reportQueue.take()) != Row.END_OF_REPORT) {
+                try {
+                    event.run();
+                } catch (RuntimeException e) {
+                    // Uma falha do ouvinte não pode parar o relatório, pois os estágios aguardam espaço na fila
+                    LOGGER.warn("Falha ao relatar o resultado da importação: {}", e.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Adquire uma vaga de linha em processamento, aguardando enquanto a importação não for interrompida.
+     *
+     * @return true se a vaga foi adquirida, false se a importação foi interrompida.
+     */
+    private boolean acquire(Semaphore semaphore) {
+        try {
+            while (!stopped) {
+                if (semaphore.tryAcquire(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * Coloca um ‘item’ na fila, aguardando espaço enquanto a importação não for interrompida.
+     * A fila de relatório é sempre esvaziada até o fim, então nela a espera continua após a interrupção.
+     *
+     * @return true se o ‘item’ foi colocado na fila.
+     */
+    private <E> boolean put(BlockingQueue<E> queue, E item) {
+        boolean always = item instanceof Runnable;
+        try {
+            while (always || !stopped) {
+                if (queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * Retira um ‘item’ da fila, aguardando enquanto a importação não for interrompida.
+     *
+     * @return o ‘item’, ou null se a importação foi interrompida.
+     */
+    private <E> E take(BlockingQueue<E> queue) {
+        try {
+            while (!stopped) {
+                E item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (item != null) {
+                    return item;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    /**
+     * Aguarda o fim de um estágio.
+     *
+     * @return o erro do estágio, ou null se terminou normalmente.
+     */
+    private static Throwable await(Future<?> stage) {
+        try {
+            stage.get();
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return e;
+        }
+    }
+
+    /**
+     * Ouvinte dos resultados da importação.
+     */
+    public interface Listener {
+
+        /**
+         * Uma linha não foi gravada por erros de conversão ou validação.
+         *
+         * @param line   o número da linha no arquivo.
+         * @param errors os erros da linha.
+         */
+        void rowRejected(int line, Collection<String> errors);
+
+        /**
+         * Um bloco de linhas foi gravado.
+         *
+         * @param firstLine o número da primeira linha do bloco.
+         * @param lastLine  o número da última linha do bloco.
+         * @param result    a quantidade de livros inseridos e atualizados.
+         */
+        void batchWritten(int firstLine, int lastLine, BulkImportResult result);
+
+        /**
+         * A gravação de um bloco falhou; as suas linhas serão gravadas uma a uma.
+         *
+         * @param firstLine o número da primeira linha do bloco.
+         * @param lastLine  o número da última linha do bloco.
+         * @param message   a mensagem do erro.
+         */
+        void batchFailed(int firstLine, int lastLine, String message);
+
+        /**
+         * A gravação de uma linha falhou.
+         *
+         * @param line    o número da linha no arquivo.
+         * @param message a mensagem do erro.
+         */
+        void rowFailed(int line, String message);
+    }
+
+    /**
+     * Linha do arquivo em processamento.
+     */
+    private static final class Row {
+        private static final Row END = new Row(-1, null);
+        private static final Runnable END_OF_REPORT = () -> {
+        };
+
+        private final int line;
+        private Supplier<CSVImportableBookDTO> conversion;
+        private CSVImportableBookDTO book;
+        private String error;
+        private boolean skipped;
+
+        private Row(int line, Supplier<CSVImportableBookDTO> conversion) {
+            this.line = line;
+            this.conversion = conversion;
+        }
+    }
+
+    /**
+     * Totais da importação. Cada contador é alterado por uma única thread e lido após o seu término.
+     */
+    private static final class Counters {
+        private int read;
+        private int skipped;
+        private int rejected;
+        private int failed;
+        private int inserted;
+        private int updated;
+
+        private void add(BulkImportResult result) {
+            inserted += result.getInserted();
+            updated += result.getUpdated();
+        }
+    }
+}
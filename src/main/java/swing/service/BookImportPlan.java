@@ -0,0 +1,120 @@
+package swing.service;
+
+import swing.enums.ImportAction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plano de importação de um arquivo de livros: a ação prevista para cada linha, sem nada gravado no banco.
+ * <p>
+ * As ações ficam num vetor de um byte por linha. Das linhas com erro, são guardadas as mensagens das
+ * primeiras {@value #MAX_ERROR_DETAILS}, para o ‘log’; as demais são apenas contadas.
+ */
+public class BookImportPlan {
+
+    /**
+     * Quantidade máxima de linhas com erro cujas mensagens são guardadas.
+     */
+    public static final int MAX_ERROR_DETAILS = 100;
+
+    private static final ImportAction[] ACTIONS = ImportAction.values();
+
+    private byte[] actions = new byte[1024];
+    private int lines;
+    private final Map<ImportAction, Integer> counts = new EnumMap<>(ImportAction.class);
+    private final List<String> errorDetails = new ArrayList<>();
+    private int indexedBooks;
+    private long elapsedMillis;
+    private boolean cancelled;
+
+    /**
+     * Registra a ação prevista para a próxima linha do arquivo.
+     *
+     * @param action a ação da linha.
+     * @param errors as mensagens de erro, quando a ação for {@link ImportAction#ERROR}.
+     */
+    void add(ImportAction action, String errors) {
+        if (lines == actions.length) {
+            byte[] grown = new byte[actions.length * 2];
+            System.arraycopy(actions, 0, grown, 0, lines);
+            actions = grown;
+        }
+        actions[lines++] = (byte) action.ordinal();
+        counts.merge(action, 1, Integer::sum);
+        if (action == ImportAction.ERROR && errorDetails.size() < MAX_ERROR_DETAILS) {
+            errorDetails.add("Linha " + lines + ": " + errors);
+        }
+    }
+
+    /**
+     * Encerra o plano.
+     *
+     * @param indexedBooks  a quantidade de livros existentes comparados.
+     * @param elapsedMillis a duração do planejamento.
+     * @param cancelled     true se o planejamento foi cancelado antes do fim do arquivo.
+     */
+    void finish(int indexedBooks, long elapsedMillis, boolean cancelled) {
+        this.indexedBooks = indexedBooks;
+        this.elapsedMillis = elapsedMillis;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Obtém a ação prevista para uma linha.
+     *
+     * @param line o número da linha no arquivo, a partir de 1.
+     * @return a ação da linha.
+     * @throws IllegalArgumentException se a linha não faz parte do plano.
+     */
+    public ImportAction getAction(int line) {
+        if (line < 1 || line > lines) {
+            throw new IllegalArgumentException("A linha " + line + " não faz parte do plano de importação.");
+        }
+        return ACTIONS[actions[line - 1]];
+    }
+
+    /**
+     * Obtém a quantidade de linhas com uma ação.
+     *
+     * @param action a ação.
+     * @return a quantidade de linhas.
+     */
+    public int getCount(ImportAction action) {
+        return counts.getOrDefault(action, 0);
+    }
+
+    /**
+     * Obtém a vazão do planejamento.
+     *
+     * @return as linhas planejadas por segundo.
+     */
+    public double getRowsPerSecond() {
+        return lines * 1000.0 / Math.max(1, elapsedMillis);
+    }
+
+    // <editor-fold desc="Getters">
+    public int getLines() {
+        return lines;
+    }
+
+    public List<String> getErrorDetails() {
+        return Collections.unmodifiableList(errorDetails);
+    }
+
+    public int getIndexedBooks() {
+        return indexedBooks;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+    // </editor-fold>
+}
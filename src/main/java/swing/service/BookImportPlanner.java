@@ -0,0 +1,199 @@
+package swing.service;
+
+import swing.configs.GeneralProperties;
+import swing.enums.ImportAction;
+import swing.model.Book;
+import swing.model.dto.CSVImportableBookDTO;
+import swing.repository.BookRepository;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Simulação da importação de livros: classifica cada linha do arquivo como inclusão, alteração, sem alterações
+ * ou erro, sem gravar nada no banco.
+ * <p>
+ * Antes da leitura do arquivo, os livros existentes são lidos numa única consulta para um {@link IsbnIndex},
+ * com um resumo (hash de 64 bits) do conteúdo gravado pela importação: título, data de publicação e os ‘IDs’
+ * dos autores e das editoras. Cada linha é comparada com o índice em memória, e os nomes dos autores e das
+ * editoras são procurados nos índices de nomes dos serviços, também em memória.
+ * <p>
+ * A classificação segue as regras da gravação: linhas sem autores ou editoras recebem os registros padrão, e
+ * nomes ainda não cadastrados tornam a linha uma alteração. Um ISBN repetido no arquivo é sempre classificado
+ * como alteração a partir da segunda linha, pois na gravação prevalece a última.
+ */
+public class BookImportPlanner {
+
+    private final BookRepository bookRepository = new BookRepository();
+    private final AuthorService authorService = new AuthorService();
+    private final PublisherService publisherService = new PublisherService();
+    private final StatisticsService statisticsService = new StatisticsService();
+    private volatile boolean cancelled;
+
+    /**
+     * Planeja a importação dos registros informados, bloqueando até o fim do arquivo ou do cancelamento.
+     *
+     * @param records os registros do CSV, na ordem do arquivo.
+     * @return o plano, com a ação prevista para cada linha lida.
+     */
+    public BookImportPlan plan(Stream<Supplier<CSVImportableBookDTO>> records) {
+        long startNanos = System.nanoTime();
+        BookImportPlan plan = new BookImportPlan();
+        IsbnIndex existingBooks = loadExistingBooks();
+        IsbnIndex newBooks = new IsbnIndex(BookBulkImportService.DEFAULT_CHUNK_SIZE);
+
+        int line = 0;
+        for (Iterator<Supplier<CSVImportableBookDTO>> iterator = records.iterator(); !cancelled && iterator.hasNext(); ) {
+            Supplier<CSVImportableBookDTO> conversion = iterator.next();
+            line++;
+            CSVImportableBookDTO book;
+            try {
+                book = conversion.get();
+            } catch (RuntimeException e) {
+                plan.add(ImportAction.ERROR, e.getMessage());
+                continue;
+            }
+            // Mesma normalização da importação, para que o plano rejeite as mesmas linhas
+            BookImportPipeline.normalize(book, line);
+            if (!book.getImportErrors().isEmpty()) {
+                plan.add(ImportAction.ERROR, String.join("; ", book.getImportErrors()));
+                continue;
+            }
+            plan.add(classify(book, existingBooks, newBooks), null);
+        }
+        plan.finish(existingBooks.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), cancelled);
+        return plan;
+    }
+
+    /**
+     * Solicita o cancelamento do planejamento. O plano retornado cobre apenas as linhas lidas até então.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Classifica uma linha sem erros.
+     *
+     * @param book          a linha convertida.
+     * @param existingBooks os livros existentes, por ISBN.
+     * @param newBooks      os ISBNs novos já vistos no arquivo.
+     * @return a ação prevista para a linha.
+     */
+    private ImportAction classify(CSVImportableBookDTO book, IsbnIndex existingBooks, IsbnIndex newBooks) {
+        String isbn = book.getIsbn();
+        if (!existingBooks.contains(isbn)) {
+            return newBooks.put(isbn, 0) ? ImportAction.INSERT : ImportAction.UPDATE;
+        }
+        if (!existingBooks.visit(isbn)) {
+            return ImportAction.UPDATE;
+        }
+        Long authorsHash = namesHash(book.getAuthors(), GeneralProperties.NAME_UNKNOWN_AUTHOR,
+                authorService::findIdByName);
+        Long publishersHash = namesHash(book.getPublishers(), GeneralProperties.NAME_UNKNOWN_PUBLISHER,
+                publisherService::findIdByName);
+        if (authorsHash == null || publishersHash == null) {
+            return ImportAction.UPDATE;
+        }
+        long hash = contentHash(book.getTitle(), book.getPublicationDate(),
+                authorsHash, publishersHash);
+        return hash == existingBooks.get(isbn) ? ImportAction.UNCHANGED : ImportAction.UPDATE;
+    }
+
+    /**
+     * Lê os livros existentes para o índice, numa única consulta.
+     *
+     * @return o resumo do conteúdo de cada livro, por ISBN.
+     */
+    private IsbnIndex loadExistingBooks() {
+        IsbnIndex index = new IsbnIndex((int) statisticsService.getCount(Book.class));
+        bookRepository.forEachImportFingerprint(row -> {
+            // Livros sem ISBN não são encontrados pela importação, que compara apenas o ISBN
+            if (row[1] != null) {
+                index.put((String) row[1], contentHash((String) row[2], (LocalDate) row[3],
+                        idsHash((String) row[4]), idsHash((String) row[5])));
+            }
+        });
+        return index;
+    }
+
+    /**
+     * Calcula o resumo dos registros relacionados de uma linha, pelos ‘IDs’ dos nomes já cadastrados.
+     *
+     * @param names       os nomes da linha.
+     * @param defaultName o nome do registro padrão, usado quando a linha não tem nomes.
+     * @param idLookup    busca o ‘ID’ de um nome no índice de nomes do serviço.
+     * @return o resumo, ou null se algum nome ainda não está cadastrado (a gravação o criará).
+     */
+    private static Long namesHash(Set<String> names, String defaultName, Function<String, Long> idLookup) {
+        Collection<String> effectiveNames = names == null || names.isEmpty()
+                ? Collections.singletonList(defaultName) : names;
+        Set<Long> ids = new HashSet<>();
+        for (String name : effectiveNames) {
+            Long id = idLookup.apply(name);
+            if (id == null) {
+                return null;
+            }
+            ids.add(id);
+        }
+        long hash = 0;
+        for (Long id : ids) {
+            hash += mix(id);
+        }
+        return hash;
+    }
+
+    /**
+     * Calcula o resumo dos ‘IDs’ agregados pelo banco.
+     *
+     * @param ids os ‘IDs’ separados por vírgula, ou null.
+     * @return o resumo, independente da ordem dos ‘IDs’.
+     */
+    private static long idsHash(String ids) {
+        long hash = 0;
+        if (ids != null) {
+            for (String id : ids.split(",")) {
+                hash += mix(Long.parseLong(id.trim()));
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Calcula o resumo do conteúdo de um livro gravado pela importação.
+     *
+     * @param title           o título.
+     * @param publicationDate a data de publicação.
+     * @param authorsHash     o resumo dos ‘IDs’ dos autores.
+     * @param publishersHash  o resumo dos ‘IDs’ das editoras.
+     * @return o resumo do conteúdo.
+     */
+    static long contentHash(String title, LocalDate publicationDate, long authorsHash, long publishersHash) {
+        // FNV-1a do título
+        long hash = 0xcbf29ce484222325L;
+        if (title != null) {
+            for (int i = 0; i < title.length(); i++) {
+                hash = (hash ^ title.charAt(i)) * 0x100000001b3L;
+            }
+        }
+        hash = mix(hash + (publicationDate == null ? Long.MIN_VALUE : publicationDate.toEpochDay()));
+        hash = mix(hash + authorsHash);
+        return mix(hash ^ publishersHash);
+    }
+
+    /**
+     * Espalha os bits de um valor (finalizador do MurmurHash3).
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
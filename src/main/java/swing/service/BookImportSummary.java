@@ -0,0 +1,71 @@
+package swing.service;
+
+/**
+ * Resumo de uma importação de livros.
+ */
+public class BookImportSummary {
+
+    private final int read;
+    private final int skipped;
+    private final int rejected;
+    private final int failed;
+    private final int inserted;
+    private final int updated;
+    private final boolean cancelled;
+    private final long elapsedMillis;
+
+    public BookImportSummary(int read, int skipped, int rejected, int failed, int inserted, int updated,
+                             boolean cancelled, long elapsedMillis) {
+        this.read = read;
+        this.skipped = skipped;
+        this.rejected = rejected;
+        this.failed = failed;
+        this.inserted = inserted;
+        this.updated = updated;
+        this.cancelled = cancelled;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Obtém a vazão da importação.
+     *
+     * @return as linhas lidas por segundo.
+     */
+    public double getRowsPerSecond() {
+        return read * 1000.0 / Math.max(1, elapsedMillis);
+    }
+
+    // <editor-fold desc="Getters">
+    public int getRead() {
+        return read;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    // </editor-fold>
+}
@@ -4,13 +4,18 @@ import okhttp3.Call;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
+import org.hibernate.Session;
 import org.json.JSONObject;
 import swing.configs.GeneralProperties;
 import swing.model.Author;
 import swing.model.Book;
+import swing.model.dto.BookDTO;
+import swing.model.page.PageRequest;
+import swing.model.page.Slice;
 import swing.model.Publisher;
 import swing.repository.BookRepository;
 import swing.util.CollectionUtils;
+import swing.util.HibernateUtils;
 import swing.util.StringUtils;
 
 import java.io.IOException;
@@ -28,8 +33,134 @@ public class BookService extends AbstractService<Book> {
 
     private static final String BASE_URL = "https://openlibrary.org/api/books";
     private static final String FORMAT = "?bibkeys=ISBN:%s&jscmd=data&format=json";
+
+    /**
+     * Pesos dos campos na ordenação da busca textual. O ISBN vale mais que o título, pois identifica o livro.
+     */
+    static final int SEARCH_WEIGHT_ISBN = 8;
+    static final int SEARCH_WEIGHT_TITLE = 4;
+    static final int SEARCH_WEIGHT_AUTHORS = 2;
+    static final int SEARCH_WEIGHT_PUBLISHERS = 1;
+
+    /**
+     * Quantidade de livros lidos por consulta na carga do índice de busca.
+     */
+    static final int SEARCH_LOAD_PAGE_SIZE = 1000;
+
+    /**
+     * Índice da busca textual por título, ISBN, autores e editoras, compartilhado por todas as instâncias.
+     * Alterações de nomes de autores e editoras descartam o índice, que é recarregado na próxima busca.
+     */
+    static final SearchIndex SEARCH_INDEX = new SearchIndex(BookService::loadSearchDocuments,
+            BookService::reloadSearchDocuments);
+
+    /**
+     * Cliente HTTP da consulta de ISBN, compartilhado por todas as instâncias: cada cliente
+     * tem o seu próprio pool de conexões e carrega os certificados na criação.
+     */
+    private static final OkHttpClient CLIENT = new OkHttpClient();
+
     final BookRepository bookRepository = new BookRepository();
-    private final OkHttpClient client = new OkHttpClient();
+    final StatisticsService statisticsService = new StatisticsService();
+
+    /**
+     * Busca uma página da listagem de livros, montada diretamente da consulta, sem carregar entidades.
+     *
+     * @param pageRequest a requisição da página.
+     * @return a página de linhas da listagem.
+     */
+    public Slice<BookDTO> findListRows(PageRequest pageRequest) {
+        return bookRepository.findListRows(pageRequest);
+    }
+
+    /**
+     * Busca as linhas da listagem dos livros com os ‘IDs’ informados, em lotes do tamanho da expressão IN.
+     *
+     * @param ids os ‘IDs’ dos registros.
+     * @return as linhas encontradas; ‘IDs’ inexistentes são ignorados.
+     */
+    public List<BookDTO> findListRowsByIds(List<Long> ids) {
+        List<BookDTO> rows = new ArrayList<>(ids.size());
+        for (List<Long> chunk : CollectionUtils.partition(ids, HibernateUtils.getInExpressionLimit())) {
+            rows.addAll(bookRepository.findListRowsByIds(chunk));
+        }
+        return rows;
+    }
+
+    /**
+     * Busca livros pelo título, ISBN, nomes dos autores e nomes das editoras, ignorando acentos e maiúsculas.
+     * Os resultados vêm do mais relevante para o menos relevante. Como a ordem não é a do ‘ID’, o token de
+     * continuação da página é a posição do próximo resultado na ordenação.
+     *
+     * @param text        o texto da busca; cada termo deve aparecer no livro, completo ou como início de palavra.
+     * @param pageRequest a requisição da página.
+     * @return a página de linhas da listagem com os livros encontrados.
+     */
+    public Slice<BookDTO> search(String text, PageRequest pageRequest) {
+        List<Long> ranked = SEARCH_INDEX.search(text);
+        int start = pageRequest.isFirstPage() ? 0 : pageRequest.getContinuationToken().intValue();
+        if (start >= ranked.size()) {
+            return Slice.empty(pageRequest);
+        }
+        int end = Math.min(start + pageRequest.getPageSize(), ranked.size());
+        List<Long> pageIds = ranked.subList(start, end);
+
+        Map<Long, BookDTO> rowsById = new HashMap<>();
+        bookRepository.findListRowsByIds(pageIds).forEach(row -> rowsById.put(row.getId(), row));
+        List<BookDTO> rows = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            BookDTO row = rowsById.get(id);
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+        return new Slice<>(rows, pageRequest, (long) end, end < ranked.size());
+    }
+
+    /**
+     * Lê do banco os campos indexados de todos os livros.
+     *
+     * @return os campos indexados por ‘ID’ do livro.
+     */
+    private static Map<Long, List<SearchIndex.Field>> loadSearchDocuments() {
+        BookRepository repository = new BookRepository();
+        return toSearchDocuments(Slice.readAll(repository::findListRows, SEARCH_LOAD_PAGE_SIZE));
+    }
+
+    /**
+     * Lê do banco os campos indexados dos livros informados, em lotes do tamanho da expressão IN.
+     *
+     * @param ids os ‘IDs’ dos livros.
+     * @return os campos indexados por ‘ID’ dos livros encontrados.
+     */
+    private static Map<Long, List<SearchIndex.Field>> reloadSearchDocuments(Collection<Long> ids) {
+        BookRepository repository = new BookRepository();
+        List<Long> pending = new ArrayList<>(ids);
+        List<BookDTO> rows = new ArrayList<>();
+        int batchSize = HibernateUtils.getInExpressionLimit();
+        for (int start = 0; start < pending.size(); start += batchSize) {
+            rows.addAll(repository.findListRowsByIds(pending.subList(start, Math.min(start + batchSize, pending.size()))));
+        }
+        return toSearchDocuments(rows);
+    }
+
+    /**
+     * Converte as linhas da listagem nos campos indexados pela busca textual.
+     *
+     * @param rows as linhas da listagem.
+     * @return os campos indexados por ‘ID’ do livro.
+     */
+    private static Map<Long, List<SearchIndex.Field>> toSearchDocuments(List<BookDTO> rows) {
+        Map<Long, List<SearchIndex.Field>> documents = new LinkedHashMap<>();
+        for (BookDTO row : rows) {
+            documents.put(row.getId(), Arrays.asList(
+                    new SearchIndex.Field(row.getIsbn(), SEARCH_WEIGHT_ISBN),
+                    new SearchIndex.Field(row.getTitle(), SEARCH_WEIGHT_TITLE),
+                    new SearchIndex.Field(row.getAuthors(), SEARCH_WEIGHT_AUTHORS),
+                    new SearchIndex.Field(row.getPublishers(), SEARCH_WEIGHT_PUBLISHERS)));
+        }
+        return documents;
+    }
 
     /**
      * Preenche os autores e editoras do livro com valores padrão caso estejam vazios.
@@ -48,17 +179,28 @@ public class BookService extends AbstractService<Book> {
     }
 
     /**
-     * Busca um livro pelo ISBN no banco de dados.
+     * Busca um livro pelo ISBN no banco de dados, com as associações do formulário de edição.
      *
      * @param isbn O ISBN do livro a ser buscado.
      * @return Um objeto Livro contendo as informações do livro, ou null se não encontrado.
      */
     public Book findBookByIsbn(String isbn) {
+        return findBookByIsbn(isbn, Book.FETCH_EDIT_FORM);
+    }
+
+    /**
+     * Busca um livro pelo ISBN no banco de dados.
+     *
+     * @param isbn      O ISBN do livro a ser buscado.
+     * @param fetchPlan O plano de busca (entity graph) com as associações a serem carregadas.
+     * @return Um objeto Livro contendo as informações do livro, ou null se não encontrado.
+     */
+    public Book findBookByIsbn(String isbn, String fetchPlan) {
         if (isbn == null || isbn.isEmpty()) {
             return null;
         }
 
-        List<Book> books = bookRepository.findBookByIsbn(isbn);
+        List<Book> books = bookRepository.findBookByIsbn(isbn, fetchPlan);
         if (books == null || books.isEmpty()) {
             return null;
         }
@@ -77,7 +219,7 @@ public class BookService extends AbstractService<Book> {
                 .url(url)
                 .build();
 
-        Call call = client.newCall(request);
+        Call call = CLIENT.newCall(request);
         try (Response response = call.execute()) {
             if (!response.isSuccessful()) {
                 throw new IOException("Erro inesperado: " + response);
@@ -236,7 +378,7 @@ public class BookService extends AbstractService<Book> {
      *
      * @param book O livro a ser validado.
      */
-    private void validateBook(boolean isEdition, Book book) {
+    private void validateBook(Book book) {
         if (book == null) {
             throw new IllegalArgumentException("O livro não pode ser nulo.");
         }
@@ -246,40 +388,32 @@ public class BookService extends AbstractService<Book> {
         if (StringUtils.isNullOrEmpty(book.getIsbn())) {
             throw new IllegalArgumentException("O ISBN do livro não pode ser vazio.");
         }
-        if (!isEdition && findBookByIsbn(StringUtils.removeExcessiveSpaces(book.getIsbn())) != null) {
-            throw new IllegalArgumentException("Já existe um livro com o ISBN: " + book.getIsbn());
-        }
-        if (!isEdition && findBookByTitle(StringUtils.removeExcessiveSpaces(book.getTitle())) != null) {
-            throw new IllegalArgumentException("Já existe um livro com o título: " + book.getTitle());
-        }
 //        if (!isValidISBN13(book.getIsbn())) {
 //            throw new IllegalArgumentException("O ISBN do livro é inválido.");
 //        }
     }
 
     /**
-     * Valida as informações de um livro antes de inseri-lo.
-     *
-     * @param title Título do livro a ser validado.
-     * @return Um objeto Livro contendo as informações do livro, ou null se não encontrado.
+     * ISBN duplicado é rejeitado pela restrição de unicidade do banco.
      */
-    private Book findBookByTitle(String title) {
-        if (title == null || title.isEmpty()) {
-            return null;
-        }
-
-        List<Book> books = bookRepository.findBookByTitle(title);
-        if (CollectionUtils.isEmpty(books)) {
-            return null;
+    @Override
+    protected String getConstraintViolationMessage(String constraintName, Book entity) {
+        if (constraintName.contains(Book.UNIQUE_ISBN)) {
+            return "Já existe um livro com o ISBN: " + entity.getIsbn();
         }
-        return books.get(0);
+        return null;
     }
 
     @Override
     public void beforeInsert(Book entity) {
         super.beforeInsert(entity);
-        validateBook(false, entity);
+        validateBook(entity);
         entity.setTitle(StringUtils.removeExcessiveSpaces(entity.getTitle()));
+        entity.setIsbn(StringUtils.removeExcessiveSpaces(entity.getIsbn()));
+        // O título não é único no banco (edições de uma obra o repetem); apenas novos cadastros são verificados
+        if (bookRepository.existsByTitle(entity.getTitle())) {
+            throw new IllegalArgumentException("Já existe um livro com o título: " + entity.getTitle());
+        }
 
         fillAuthorAndPublisher(entity);
     }
@@ -287,11 +421,67 @@ public class BookService extends AbstractService<Book> {
     @Override
     public void beforeUpdate(Book newEntity, Book oldEntity) {
         super.beforeUpdate(newEntity, oldEntity);
-        validateBook(true, newEntity);
+        validateBook(newEntity);
         newEntity.setTitle(StringUtils.removeExcessiveSpaces(newEntity.getTitle()));
+        newEntity.setIsbn(StringUtils.removeExcessiveSpaces(newEntity.getIsbn()));
         fillAuthorAndPublisher(newEntity);
     }
 
+    @Override
+    public void afterInsert(Book entity) {
+        super.afterInsert(entity);
+        statisticsService.recordInsert(entity);
+        SEARCH_INDEX.markChanged(entity.getId());
+    }
+
+    @Override
+    public void afterUpdate(Book entity) {
+        super.afterUpdate(entity);
+        statisticsService.recordUpdate(entity);
+        SEARCH_INDEX.markChanged(entity.getId());
+    }
+
+    @Override
+    public void afterDelete(Book entity) {
+        super.afterDelete(entity);
+        statisticsService.recordDelete(entity);
+        SEARCH_INDEX.remove(entity.getId());
+    }
+
+    @Override
+    public void afterDeleteByIds(List<Long> ids) {
+        super.afterDeleteByIds(ids);
+        statisticsService.recordDeletes(Book.class, new HashSet<>(ids));
+        ids.forEach(SEARCH_INDEX::remove);
+    }
+
+    /**
+     * Remove os vínculos dos livros com autores, editoras e livros semelhantes (nos dois sentidos).
+     */
+    @Override
+    protected void deleteAssociations(Session session, List<Long> ids) {
+        deleteJoinRows(session, "livro_autor", "livro_id", ids);
+        deleteJoinRows(session, "livro_editora", "livro_id", ids);
+        deleteJoinRows(session, "livro_semelhante", "livro_id", ids);
+        deleteJoinRows(session, "livro_semelhante", "semelhante_id", ids);
+    }
+
+    /**
+     * Remove as linhas de uma tabela de relacionamento que referenciam os livros informados.
+     * Apenas a própria tabela é informada como afetada, para não invalidar as demais regiões do cache.
+     *
+     * @param session  a sessão da exclusão.
+     * @param table    a tabela de relacionamento.
+     * @param column   a coluna com o ‘ID’ do livro.
+     * @param ids      os ‘IDs’ dos livros.
+     */
+    private void deleteJoinRows(Session session, String table, String column, List<Long> ids) {
+        session.createNativeQuery("DELETE FROM " + table + " WHERE " + column + " IN (:ids)")
+                .addSynchronizedQuerySpace(table)
+                .setParameterList("ids", ids)
+                .executeUpdate();
+    }
+
 //    /**
 //     * Valida se o ISBN é válido no formato ISBN-10 ou ISBN-13.
 //     *
@@ -0,0 +1,29 @@
+package swing.service;
+
+/**
+ * Resultado da importação em lote de um bloco de livros.
+ */
+public class BulkImportResult {
+
+    private final int inserted;
+    private final int updated;
+
+    public BulkImportResult(int inserted, int updated) {
+        this.inserted = inserted;
+        this.updated = updated;
+    }
+
+    // <editor-fold desc="Getters">
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public int getTotal() {
+        return inserted + updated;
+    }
+    // </editor-fold>
+}
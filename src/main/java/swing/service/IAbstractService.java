@@ -1,6 +1,9 @@
 package swing.service;
 
+import swing.enums.Status;
 import swing.model.AbstractModel;
+import swing.model.page.PageRequest;
+import swing.model.page.Slice;
 
 import java.util.List;
 
@@ -13,6 +16,13 @@ public interface IAbstractService<T extends AbstractModel> {
      */
     List<T> findAll();
 
+    /**
+     * Buscar todos os registros com as associações do plano de busca informado.
+     *
+     * @param fetchPlan Nome do plano de busca (entity graph) da entidade, ou null para não carregar associações.
+     * @return Conjunto de registros encontrados.
+     */
+    List<T> findAll(String fetchPlan);
 
     /**
      * Buscar registro por ID
@@ -22,6 +32,14 @@ public interface IAbstractService<T extends AbstractModel> {
      */
     T findById(Long id);
 
+    /**
+     * Buscar registro por ID com as associações do plano de busca informado.
+     *
+     * @param id        ‘ID’ do registro a ser buscado.
+     * @param fetchPlan Nome do plano de busca (entity graph) da entidade, ou null para não carregar associações.
+     * @return Registro encontrado.
+     */
+    T findById(Long id, String fetchPlan);
 
     /**
      * Inserir novo registro
@@ -127,4 +145,62 @@ public interface IAbstractService<T extends AbstractModel> {
      */
     List<T> findByIds(List<Long> ids);
 
+    /**
+     * Buscar registros por IDs numa única sessão, informando os ‘IDs’ não encontrados.
+     *
+     * @param ids Conjunto de ‘IDs’ dos registros a serem buscados.
+     * @return Registros encontrados na ordem dos ‘IDs’ e os ‘IDs’ ausentes.
+     */
+    MultiLoadResult<T> loadByIds(List<Long> ids);
+
+    /**
+     * Buscar uma página de registros usando paginação por chave (keyset) sobre o ‘ID’.
+     *
+     * @param pageRequest requisição da página, com tamanho, ordenação e token de continuação.
+     * @return Página de registros encontrados, com o token para buscar a próxima página.
+     */
+    Slice<T> findSlice(PageRequest pageRequest);
+
+    /**
+     * Buscar uma página de registros com as associações do plano de busca informado.
+     *
+     * @param pageRequest requisição da página, com tamanho, ordenação e token de continuação.
+     * @param fetchPlan   Nome do plano de busca (entity graph) da entidade, ou null para não carregar associações.
+     * @return Página de registros encontrados, com o token para buscar a próxima página.
+     */
+    Slice<T> findSlice(PageRequest pageRequest, String fetchPlan);
+
+    /**
+     * Deletar registros por IDs em lote, com comandos DELETE em massa em vez de um comando por registro.
+     * Registros que não podem ser excluídos (ex.: vinculados a outros registros) são ignorados.
+     *
+     * @param ids Conjunto de ‘IDs’ dos registros a serem deletados.
+     * @return Quantidade de registros deletados.
+     */
+    int deleteByIds(List<Long> ids);
+
+    /**
+     * Alterar o status de registros por IDs em lote, com comandos UPDATE em massa.
+     *
+     * @param ids    Conjunto de ‘IDs’ dos registros a serem alterados.
+     * @param status Novo status dos registros.
+     * @return Quantidade de registros alterados.
+     */
+    int updateStatusByIds(List<Long> ids, Status status);
+
+    /**
+     * Executa ações após deletar registros em lote. Chamado após o commit.
+     *
+     * @param ids os ‘IDs’ dos registros deletados
+     */
+    void afterDeleteByIds(List<Long> ids);
+
+    /**
+     * Executa ações após alterar o status de registros em lote. Chamado após o commit.
+     *
+     * @param ids    os ‘IDs’ dos registros alterados
+     * @param status o novo status dos registros
+     */
+    void afterUpdateStatusByIds(List<Long> ids, Status status);
+
 }
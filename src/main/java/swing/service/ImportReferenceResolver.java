@@ -0,0 +1,134 @@
+package swing.service;
+
+import org.hibernate.Session;
+import swing.enums.Status;
+import swing.model.AbstractModel;
+import swing.util.CollectionUtils;
+import swing.util.HibernateExecutor;
+import swing.util.HibernateUtils;
+import swing.util.StringUtils;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Resolve, em lote, os nomes de registros relacionados (autores, editoras) usados numa importação.
+ * <p>
+ * Os nomes distintos de um bloco são procurados de uma só vez: primeiro no dicionário da importação, depois
+ * no índice de nomes do serviço, e os ‘IDs’ encontrados no índice são confirmados numa única consulta IN.
+ * Os nomes que não existem são criados juntos, e os seus inserts seguem no mesmo lote JDBC. Os ‘IDs’ só
+ * entram no dicionário após o commit do bloco, então um bloco desfeito não deixa referências inválidas.
+ * <p>
+ * Uma instância deve ser usada por uma única importação.
+ *
+ * @param <T> o tipo do registro relacionado.
+ */
+class ImportReferenceResolver<T extends AbstractModel> {
+
+    private final Class<T> clazz;
+    private final Function<String, Long> indexLookup;
+    private final Function<String, T> factory;
+    private final Consumer<T> afterInsert;
+    private final Map<String, Long> knownIds = new ConcurrentHashMap<>();
+
+    /**
+     * Cria o resolvedor.
+     *
+     * @param clazz       a classe do registro relacionado.
+     * @param indexLookup busca o ‘ID’ de um nome no índice de nomes do serviço, sem consultar o banco.
+     * @param factory     cria um novo registro a partir do nome vindo do arquivo.
+     * @param afterInsert hook do serviço executado após o commit de cada registro criado.
+     */
+    ImportReferenceResolver(Class<T> clazz, Function<String, Long> indexLookup, Function<String, T> factory,
+                            Consumer<T> afterInsert) {
+        this.clazz = clazz;
+        this.indexLookup = indexLookup;
+        this.factory = factory;
+        this.afterInsert = afterInsert;
+    }
+
+    /**
+     * Resolve os nomes de um bloco, criando os registros que ainda não existem.
+     *
+     * @param session a sessão da transação do bloco.
+     * @param names   os nomes usados pelas linhas do bloco, em qualquer grafia.
+     * @return o ‘ID’ de cada nome, indexado pela forma canônica do nome.
+     */
+    Map<String, Long> resolve(Session session, Collection<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        Map<String, String> unresolved = new LinkedHashMap<>();
+        for (String name : names) {
+            String key = StringUtils.toCanonicalForm(name);
+            if (StringUtils.isNullOrEmpty(key) || ids.containsKey(key) || unresolved.containsKey(key)) {
+                continue;
+            }
+            Long id = knownIds.get(key);
+            if (id != null) {
+                ids.put(key, id);
+            } else {
+                unresolved.put(key, name);
+            }
+        }
+        if (unresolved.isEmpty()) {
+            return ids;
+        }
+
+        Map<String, Long> found = new HashMap<>();
+        unresolved.forEach((key, name) -> {
+            Long id = indexLookup.apply(name);
+            if (id != null) {
+                found.put(key, id);
+            }
+        });
+        // O índice pode estar à frente do banco (registro excluído durante a importação)
+        Set<Long> existingIds = findExistingIds(session, new ArrayList<>(new HashSet<>(found.values())));
+
+        Map<String, Long> resolved = new HashMap<>();
+        Instant now = new Date().toInstant();
+        unresolved.forEach((key, name) -> {
+            Long id = found.get(key);
+            if (id == null || !existingIds.contains(id)) {
+                T entity = factory.apply(name);
+                entity.setCreatedAt(now);
+                entity.setLastModifiedAt(now);
+                entity.setStatus(Status.ACTIVE);
+                // O ‘ID’ é reservado da sequência no persist, sem ida ao banco
+                session.persist(entity);
+                HibernateExecutor.afterCommit(() -> afterInsert.accept(entity));
+                id = entity.getId();
+            }
+            resolved.put(key, id);
+        });
+        ids.putAll(resolved);
+        HibernateExecutor.afterCommit(() -> knownIds.putAll(resolved));
+        return ids;
+    }
+
+    /**
+     * Descarta o dicionário da importação, para que os próximos blocos voltem a conferir os nomes no banco.
+     */
+    void clear() {
+        knownIds.clear();
+    }
+
+    /**
+     * Seleciona, entre os ‘IDs’ informados, os que existem no banco, em lotes do tamanho da expressão IN.
+     *
+     * @param session a sessão da transação do bloco.
+     * @param ids     os ‘IDs’ a serem conferidos.
+     * @return os ‘IDs’ existentes.
+     */
+    private Set<Long> findExistingIds(Session session, List<Long> ids) {
+        Set<Long> existing = new HashSet<>();
+        for (List<Long> chunk : CollectionUtils.partition(ids, HibernateUtils.getInExpressionLimit())) {
+            existing.addAll(session.createQuery(String.format("SELECT e.id FROM %s e WHERE e.id IN (:ids)",
+                            clazz.getSimpleName()), Long.class)
+                    .setParameterList("ids", chunk)
+                    .getResultList());
+        }
+        return existing;
+    }
+}
@@ -0,0 +1,194 @@
+package swing.service;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índice compacto de ISBNs, com um valor (o resumo do conteúdo do livro) por ISBN.
+ * <p>
+ * ISBNs formados apenas por dígitos e 'X', com até 17 caracteres, são guardados como um número (base 12,
+ * sem o zero, para preservar os zeros à esquerda) numa tabela de endereçamento aberto: cerca de 32 bytes
+ * por livro, sem um objeto por entrada. Os demais ISBNs, raros, ficam num mapa comum.
+ * <p>
+ * O índice também marca os ISBNs já visitados, para identificar os que se repetem num arquivo.
+ * Não é seguro para uso por mais de uma thread.
+ */
+final class IsbnIndex {
+
+    private static final int MAX_PACKED_LENGTH = 17;
+    private static final int BASE = 12;
+
+    private long[] keys;
+    private long[] values;
+    private BitSet visited;
+    private int size;
+    private final Map<String, long[]> irregular = new HashMap<>();
+
+    /**
+     * Cria o índice.
+     *
+     * @param expectedSize a quantidade esperada de ISBNs, para dimensionar a tabela de uma vez.
+     */
+    IsbnIndex(int expectedSize) {
+        allocate(Math.max(16, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1));
+    }
+
+    /**
+     * Inclui um ISBN no índice.
+     *
+     * @param isbn  o ISBN.
+     * @param value o valor associado.
+     * @return true se o ISBN ainda não estava no índice; caso contrário, o valor é substituído e retorna false.
+     *         Um ISBN nulo é ignorado e retorna false.
+     */
+    boolean put(String isbn, long value) {
+        if (isbn == null) {
+            return false;
+        }
+        long key = pack(isbn);
+        if (key == 0) {
+            long[] entry = irregular.get(isbn);
+            if (entry != null) {
+                entry[0] = value;
+                return false;
+            }
+            irregular.put(isbn, new long[]{value, 0});
+            return true;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+        int slot = slotOf(key);
+        if (keys[slot] == key) {
+            values[slot] = value;
+            return false;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * Verifica se o ISBN está no índice.
+     *
+     * @param isbn o ISBN.
+     * @return true se o ISBN está no índice; false se ele for nulo.
+     */
+    boolean contains(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+        long key = pack(isbn);
+        return key == 0 ? irregular.containsKey(isbn) : keys[slotOf(key)] == key;
+    }
+
+    /**
+     * Obtém o valor de um ISBN do índice.
+     *
+     * @param isbn o ISBN, que deve estar no índice.
+     * @return o valor associado.
+     */
+    long get(String isbn) {
+        long key = pack(isbn);
+        return key == 0 ? irregular.get(isbn)[0] : values[slotOf(key)];
+    }
+
+    /**
+     * Marca um ISBN do índice como visitado.
+     *
+     * @param isbn o ISBN, que deve estar no índice.
+     * @return true se foi a primeira visita ao ISBN.
+     */
+    boolean visit(String isbn) {
+        long key = pack(isbn);
+        if (key == 0) {
+            long[] entry = irregular.get(isbn);
+            boolean first = entry[1] == 0;
+            entry[1] = 1;
+            return first;
+        }
+        int slot = slotOf(key);
+        boolean first = !visited.get(slot);
+        visited.set(slot);
+        return first;
+    }
+
+    int size() {
+        return size + irregular.size();
+    }
+
+    /**
+     * Compacta um ISBN num número.
+     *
+     * @param isbn o ISBN.
+     * @return o ISBN compactado, ou 0 se ele não puder ser compactado.
+     */
+    private static long pack(String isbn) {
+        int length = isbn.length();
+        if (length == 0 || length > MAX_PACKED_LENGTH) {
+            return 0;
+        }
+        long key = 0;
+        for (int i = 0; i < length; i++) {
+            char c = isbn.charAt(i);
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0' + 1;
+            } else if (c == 'X') {
+                digit = 11;
+            } else {
+                return 0;
+            }
+            key = key * BASE + digit;
+        }
+        return key;
+    }
+
+    /**
+     * Obtém a posição da tabela ocupada pela chave ou, se ela não estiver na tabela, a posição livre onde
+     * ela seria incluída.
+     */
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        visited = new BitSet(capacity);
+    }
+
+    /**
+     * Dobra a tabela, mantendo as chaves, os valores e as visitas.
+     */
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        BitSet oldVisited = visited;
+        allocate(keys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                if (oldVisited.get(i)) {
+                    visited.set(slot);
+                }
+            }
+        }
+    }
+}
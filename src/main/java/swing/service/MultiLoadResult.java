@@ -0,0 +1,53 @@
+package swing.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de uma busca de vários registros por ‘IDs’.
+ * <p>
+ * Os registros encontrados seguem a ordem dos ‘IDs’ solicitados e os ‘IDs’ que não
+ * correspondem a nenhum registro são informados separadamente.
+ *
+ * @param <T> o tipo dos registros buscados.
+ */
+public class MultiLoadResult<T> {
+
+    private final List<T> found;
+    private final List<Long> missingIds;
+
+    public MultiLoadResult(List<T> found, List<Long> missingIds) {
+        this.found = found == null ? new ArrayList<>() : found;
+        this.missingIds = missingIds == null ? new ArrayList<>() : missingIds;
+    }
+
+    /**
+     * Cria um resultado vazio.
+     *
+     * @param <T> o tipo dos registros.
+     * @return um resultado sem registros e sem ‘IDs’ ausentes.
+     */
+    public static <T> MultiLoadResult<T> empty() {
+        return new MultiLoadResult<>(Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * Verifica se algum dos ‘IDs’ solicitados não foi encontrado.
+     *
+     * @return true se houver ‘IDs’ ausentes, false caso contrário.
+     */
+    public boolean hasMissing() {
+        return !missingIds.isEmpty();
+    }
+
+    // <editor-fold desc="Getters">
+    public List<T> getFound() {
+        return found;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+    // </editor-fold>
+}
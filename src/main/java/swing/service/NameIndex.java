@@ -0,0 +1,127 @@
+package swing.service;
+
+import swing.util.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Índice em memória que associa nomes, na forma canônica, ao ‘ID’ do registro.
+ * <p>
+ * O índice é carregado do banco de dados no primeiro acesso e, a partir daí, responde às buscas
+ * por nome sem consultas. Deve ser mantido atualizado pelos hooks after* do serviço dono do índice.
+ * As leituras não bloqueiam; as alterações são serializadas para manter os dois mapas consistentes.
+ */
+public class NameIndex {
+
+    private final Supplier<Map<Long, List<String>>> loader;
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> namesById = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * Cria o índice.
+     *
+     * @param loader função que lê do banco os nomes de todos os registros, agrupados por ‘ID’ em ordem crescente.
+     */
+    public NameIndex(Supplier<Map<Long, List<String>>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Busca o ‘ID’ do registro com o nome informado.
+     *
+     * @param name o nome a ser buscado, em qualquer grafia (acentos, espaços e maiúsculas são ignorados).
+     * @return o ‘ID’ do registro, ou null se não houver registro com o nome.
+     */
+    public Long findId(String name) {
+        String key = StringUtils.toCanonicalForm(name);
+        if (StringUtils.isNullOrEmpty(key)) {
+            return null;
+        }
+        ensureLoaded();
+        return idsByName.get(key);
+    }
+
+    /**
+     * Inclui ou atualiza os nomes de um registro no índice.
+     *
+     * @param id    o ‘ID’ do registro.
+     * @param names os nomes atuais do registro.
+     */
+    public synchronized void put(Long id, String... names) {
+        if (id == null || !loaded) {
+            return;
+        }
+        removeNames(id);
+        addNames(id, Arrays.asList(names));
+    }
+
+    /**
+     * Remove um registro do índice.
+     *
+     * @param id o ‘ID’ do registro removido.
+     */
+    public synchronized void remove(Long id) {
+        if (id == null || !loaded) {
+            return;
+        }
+        removeNames(id);
+    }
+
+    /**
+     * Descarta o índice; ele será recarregado do banco no próximo acesso.
+     */
+    public synchronized void invalidate() {
+        loaded = false;
+        idsByName.clear();
+        namesById.clear();
+    }
+
+    /**
+     * Carrega o índice do banco de dados, se ainda não foi carregado.
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            // Em nomes repetidos prevalece o registro mais antigo (menor ‘ID’)
+            loader.get().forEach(this::addNames);
+            loaded = true;
+        }
+    }
+
+    /**
+     * Associa os nomes ao registro. Nomes que já pertencem a outro registro são ignorados.
+     *
+     * @param id    o ‘ID’ do registro.
+     * @param names os nomes do registro.
+     */
+    private void addNames(Long id, List<String> names) {
+        Set<String> keys = new HashSet<>();
+        for (String name : names) {
+            String key = StringUtils.toCanonicalForm(name);
+            if (!StringUtils.isNullOrEmpty(key) && idsByName.putIfAbsent(key, id) == null) {
+                keys.add(key);
+            }
+        }
+        namesById.put(id, keys);
+    }
+
+    /**
+     * Remove os nomes associados a um registro.
+     *
+     * @param id o ‘ID’ do registro.
+     */
+    private void removeNames(Long id) {
+        Set<String> keys = namesById.remove(id);
+        if (keys != null) {
+            keys.forEach(key -> idsByName.remove(key, id));
+        }
+    }
+}
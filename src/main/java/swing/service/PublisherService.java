@@ -1,10 +1,20 @@
 package swing.service;
 
+import org.hibernate.Session;
 import swing.model.Publisher;
+import swing.model.dto.PublisherDTO;
+import swing.model.page.PageRequest;
+import swing.model.page.Slice;
 import swing.repository.PublisherRepository;
+import swing.util.CollectionUtils;
+import swing.util.HibernateUtils;
 import swing.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Serviço responsável por gerenciar as operações relacionadas às editoras.
@@ -12,20 +22,81 @@ import java.util.List;
  */
 public class PublisherService extends AbstractService<Publisher> {
 
+    /**
+     * Índice de nomes das editoras, compartilhado por todas as instâncias do serviço.
+     */
+    private static final NameIndex NAME_INDEX = new NameIndex(PublisherService::loadNames);
+
     final PublisherRepository publisherRepository = new PublisherRepository();
+    final StatisticsService statisticsService = new StatisticsService();
+
+    /**
+     * Busca uma página da listagem de editoras, montada diretamente da consulta, sem carregar entidades.
+     *
+     * @param pageRequest a requisição da página.
+     * @return a página de linhas da listagem.
+     */
+    public Slice<PublisherDTO> findListRows(PageRequest pageRequest) {
+        return publisherRepository.findListRows(pageRequest);
+    }
+
+    /**
+     * Busca as linhas da listagem das editoras com os ‘IDs’ informados, em lotes do tamanho da expressão IN.
+     *
+     * @param ids os ‘IDs’ dos registros.
+     * @return as linhas encontradas; ‘IDs’ inexistentes são ignorados.
+     */
+    public List<PublisherDTO> findListRowsByIds(List<Long> ids) {
+        List<PublisherDTO> rows = new ArrayList<>(ids.size());
+        for (List<Long> chunk : CollectionUtils.partition(ids, HibernateUtils.getInExpressionLimit())) {
+            rows.addAll(publisherRepository.findListRowsByIds(chunk));
+        }
+        return rows;
+    }
 
     /**
      * Busca uma editora pelo nome.
+     * A comparação ignora acentos, espaços excessivos e maiúsculas/minúsculas.
      *
      * @param nome o nome da editora a ser buscada.
      * @return a editora encontrada ou null se não houver nenhuma editora com o nome especificado.
      */
     public Publisher findByName(String nome) {
-        List<Publisher> publishers = publisherRepository.findPublisherByName(nome);
-        if (publishers.isEmpty()) {
-            return null;
+        Long id = NAME_INDEX.findId(nome);
+        return id == null ? null : findById(id);
+    }
+
+    /**
+     * Busca o ‘ID’ da editora com o nome informado, sem consultar o banco de dados.
+     *
+     * @param nome o nome da editora.
+     * @return o ‘ID’ da editora, ou null se não houver uma editora com o nome.
+     */
+    public Long findIdByName(String nome) {
+        return NAME_INDEX.findId(nome);
+    }
+
+    /**
+     * Verifica se existe uma editora com o nome informado, sem consultar o banco de dados.
+     *
+     * @param nome o nome da editora.
+     * @return true se existir uma editora com o nome, false caso contrário.
+     */
+    public boolean existsByName(String nome) {
+        return NAME_INDEX.findId(nome) != null;
+    }
+
+    /**
+     * Carrega do banco os nomes de todas as editoras para o índice de nomes.
+     *
+     * @return o nome de cada editora, por ‘ID’.
+     */
+    private static Map<Long, List<String>> loadNames() {
+        Map<Long, List<String>> names = new LinkedHashMap<>();
+        for (Object[] row : new PublisherRepository().findAllNames()) {
+            names.put((Long) row[0], Collections.singletonList((String) row[1]));
         }
-        return publishers.get(0);
+        return names;
     }
 
     /**
@@ -41,11 +112,23 @@ public class PublisherService extends AbstractService<Publisher> {
         if (StringUtils.isNullOrEmpty(publisher.getName())) {
             throw new IllegalArgumentException("O nome da editora não pode ser vazio.");
         }
-        if (!isEdition && findByName(publisher.getName()) != null) {
+        if (!isEdition && existsByName(publisher.getName())) {
             throw new IllegalArgumentException("Já existe uma editora com o nome: " + publisher.getName());
         }
     }
 
+    /**
+     * Nomes duplicados que escapam ao índice de nomes, como inclusões simultâneas ou edições,
+     * são rejeitados pela restrição de unicidade do banco.
+     */
+    @Override
+    protected String getConstraintViolationMessage(String constraintName, Publisher entity) {
+        if (constraintName.contains(Publisher.UNIQUE_NAME)) {
+            return "Já existe uma editora com o nome: " + entity.getName();
+        }
+        return null;
+    }
+
     @Override
     public void beforeInsert(Publisher entity) {
         super.beforeInsert(entity);
@@ -61,4 +144,55 @@ public class PublisherService extends AbstractService<Publisher> {
         newEntity.setName(StringUtils.removeExcessiveSpaces(newEntity.getName()));
         newEntity.setName(StringUtils.removeAccents(newEntity.getName()));
     }
+
+    @Override
+    public void afterInsert(Publisher entity) {
+        super.afterInsert(entity);
+        statisticsService.recordInsert(entity);
+        NAME_INDEX.put(entity.getId(), entity.getName());
+    }
+
+    @Override
+    public void afterUpdate(Publisher entity) {
+        super.afterUpdate(entity);
+        NAME_INDEX.put(entity.getId(), entity.getName());
+        evictCache(entity);
+        // Os nomes fazem parte do índice de busca dos livros
+        BookService.SEARCH_INDEX.invalidate();
+    }
+
+    @Override
+    public void afterDelete(Publisher entity) {
+        super.afterDelete(entity);
+        statisticsService.recordDelete(entity);
+        NAME_INDEX.remove(entity.getId());
+        evictCache(entity);
+        BookService.SEARCH_INDEX.invalidate();
+    }
+
+    /**
+     * Apenas editoras sem livros vinculados são excluídas em lote; os demais são ignorados.
+     */
+    @Override
+    protected List<Long> findDeletableIds(Session session, List<Long> ids) {
+        return session.createQuery("SELECT e.id FROM Publisher e WHERE e.id IN (:ids) AND e.books IS EMPTY", Long.class)
+                .setParameterList("ids", ids)
+                .getResultList();
+    }
+
+    @Override
+    public void afterDeleteByIds(List<Long> ids) {
+        super.afterDeleteByIds(ids);
+        statisticsService.recordDeletes(Publisher.class, ids);
+        ids.forEach(NAME_INDEX::remove);
+    }
+
+    /**
+     * Remove a editora do cache de segundo nível.
+     *
+     * @param entity a editora alterada ou removida.
+     */
+    private void evictCache(Publisher entity) {
+        HibernateUtils.evictEntity(Publisher.class, entity.getId());
+    }
 }
@@ -0,0 +1,294 @@
+package swing.service;
+
+import swing.util.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Índice invertido em memória para a busca textual de registros.
+ * <p>
+ * Cada registro é indexado pelos termos dos seus campos, com um peso por campo. Os termos são extraídos
+ * sem acentos e em letras minúsculas, então a busca ignora acentuação e maiúsculas. Todos os termos da
+ * busca devem aparecer no registro, como termo completo ou como prefixo de um termo, e os resultados são
+ * ordenados pela soma dos pesos dos campos encontrados (termos completos valem o dobro dos prefixos).
+ * <p>
+ * O índice é carregado do banco de dados no primeiro acesso. Registros alterados são apenas marcados
+ * pelos hooks after* e relidos em lote na busca seguinte, numa única leitura para todos os pendentes.
+ */
+public class SearchIndex {
+
+    private final Supplier<Map<Long, List<Field>>> loader;
+    private final Function<Collection<Long>, Map<Long, List<Field>>> reloader;
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Set<String>> termsById = new ConcurrentHashMap<>();
+    private final Set<Long> pendingIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+
+    /**
+     * Cria o índice.
+     *
+     * @param loader   função que lê do banco os campos de todos os registros, agrupados por ‘ID’.
+     * @param reloader função que lê do banco os campos dos registros com os ‘IDs’ informados.
+     */
+    public SearchIndex(Supplier<Map<Long, List<Field>>> loader,
+                       Function<Collection<Long>, Map<Long, List<Field>>> reloader) {
+        this.loader = loader;
+        this.reloader = reloader;
+    }
+
+    /**
+     * Busca os registros que contêm todos os termos do texto informado.
+     *
+     * @param text o texto da busca.
+     * @return os ‘IDs’ dos registros encontrados, do mais relevante para o menos relevante.
+     */
+    public List<Long> search(String text) {
+        List<String> queryTerms = tokenizeQuery(text);
+        if (queryTerms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        ensureLoaded();
+        applyPending();
+
+        Map<Long, Integer> scores = null;
+        for (String queryTerm : new LinkedHashSet<>(queryTerms)) {
+            Map<Long, Integer> termScores = scoreTerm(queryTerm);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                // Apenas registros com todos os termos permanecem
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        List<Long> ids = new ArrayList<>(ranked.size());
+        ranked.forEach(entry -> ids.add(entry.getKey()));
+        return ids;
+    }
+
+    /**
+     * Marca um registro incluído ou alterado para ser relido na próxima busca.
+     *
+     * @param id o ‘ID’ do registro.
+     */
+    public void markChanged(Long id) {
+        if (id != null && loaded) {
+            pendingIds.add(id);
+        }
+    }
+
+    /**
+     * Remove um registro do índice.
+     *
+     * @param id o ‘ID’ do registro removido.
+     */
+    public synchronized void remove(Long id) {
+        if (id == null || !loaded) {
+            return;
+        }
+        pendingIds.remove(id);
+        removeTerms(id);
+    }
+
+    /**
+     * Descarta o índice; ele será recarregado do banco no próximo acesso.
+     */
+    public synchronized void invalidate() {
+        loaded = false;
+        postings.clear();
+        termsById.clear();
+        pendingIds.clear();
+    }
+
+    /**
+     * Extrai os termos de um texto: sem acentos, em letras minúsculas e separados por qualquer caractere
+     * que não seja letra ou dígito. Grupos de dígitos vizinhos, separados apenas por pontuação (ex.: um ISBN
+     * com hífens), também formam um termo com os dígitos unidos, além dos termos de cada grupo.
+     *
+     * @param text o texto.
+     * @return os termos do texto, na ordem em que aparecem.
+     */
+    static List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+
+    /**
+     * Extrai os termos de um texto da busca. Diferente de {@link #tokenize(String)}, grupos de dígitos
+     * vizinhos formam apenas o termo unido, pois cada termo da busca é obrigatório: "978-0451-524935"
+     * deve encontrar o ISBN 9780451524935, e "0451" não é prefixo de nenhum termo dele.
+     *
+     * @param text o texto da busca.
+     * @return os termos da busca, na ordem em que aparecem.
+     */
+    static List<String> tokenizeQuery(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * Extrai os termos de um texto.
+     *
+     * @param text              o texto.
+     * @param replaceDigitGroups true para substituir os grupos de dígitos vizinhos pelo termo unido;
+     *                           false para manter os grupos e acrescentar o termo unido.
+     * @return os termos do texto, na ordem em que aparecem.
+     */
+    private static List<String> tokenize(String text, boolean replaceDigitGroups) {
+        List<String> terms = new ArrayList<>();
+        String canonical = StringUtils.toCanonicalForm(text);
+        if (StringUtils.isNullOrEmpty(canonical)) {
+            return terms;
+        }
+        StringBuilder digits = new StringBuilder();
+        int digitGroups = 0;
+        for (String term : canonical.split("[^\\p{L}\\p{Nd}]+")) {
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (term.chars().allMatch(Character::isDigit)) {
+                if (!replaceDigitGroups) {
+                    terms.add(term);
+                }
+                digits.append(term);
+                digitGroups++;
+                continue;
+            }
+            addDigits(terms, digits, digitGroups, replaceDigitGroups);
+            digits.setLength(0);
+            digitGroups = 0;
+            terms.add(term);
+        }
+        addDigits(terms, digits, digitGroups, replaceDigitGroups);
+        return terms;
+    }
+
+    /**
+     * Acrescenta aos termos os dígitos unidos de uma sequência de grupos de dígitos vizinhos.
+     *
+     * @param terms              os termos extraídos até então.
+     * @param digits             os dígitos da sequência.
+     * @param digitGroups        a quantidade de grupos da sequência.
+     * @param replaceDigitGroups true se os grupos não foram acrescentados individualmente.
+     */
+    private static void addDigits(List<String> terms, StringBuilder digits, int digitGroups,
+                                  boolean replaceDigitGroups) {
+        if (digitGroups > 1 || (replaceDigitGroups && digitGroups == 1)) {
+            terms.add(digits.toString());
+        }
+    }
+
+    /**
+     * Calcula a pontuação de cada registro para um termo da busca.
+     *
+     * @param queryTerm o termo da busca.
+     * @return a pontuação por ‘ID’ dos registros que contêm o termo ou um termo iniciado por ele.
+     */
+    private Map<Long, Integer> scoreTerm(String queryTerm) {
+        Map<Long, Integer> scores = new HashMap<>();
+        // Todos os termos do índice iniciados pelo termo da busca
+        for (Map.Entry<String, Map<Long, Integer>> posting :
+                postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+            int multiplier = posting.getKey().equals(queryTerm) ? 2 : 1;
+            posting.getValue().forEach((id, weight) -> scores.merge(id, weight * multiplier, Math::max));
+        }
+        return scores;
+    }
+
+    /**
+     * Carrega o índice do banco de dados, se ainda não foi carregado.
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            loader.get().forEach(this::addTerms);
+            loaded = true;
+        }
+    }
+
+    /**
+     * Relê do banco os registros marcados como alterados.
+     */
+    private void applyPending() {
+        if (pendingIds.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            List<Long> ids = new ArrayList<>(pendingIds);
+            if (ids.isEmpty()) {
+                return;
+            }
+            pendingIds.removeAll(ids);
+            Map<Long, List<Field>> documents = reloader.apply(ids);
+            for (Long id : ids) {
+                removeTerms(id);
+                List<Field> fields = documents.get(id);
+                if (fields != null) {
+                    addTerms(id, fields);
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexa os campos de um registro. Um termo presente em mais de um campo fica com o maior peso.
+     *
+     * @param id     o ‘ID’ do registro.
+     * @param fields os campos do registro.
+     */
+    private void addTerms(Long id, List<Field> fields) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (Field field : fields) {
+            for (String term : tokenize(field.text)) {
+                weights.merge(term, field.weight, Math::max);
+            }
+        }
+        weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(id, weight));
+        termsById.put(id, weights.keySet());
+    }
+
+    /**
+     * Remove os termos associados a um registro.
+     *
+     * @param id o ‘ID’ do registro.
+     */
+    private void removeTerms(Long id) {
+        Set<String> terms = termsById.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            postings.computeIfPresent(term, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Campo indexado de um registro, com o seu peso na ordenação dos resultados.
+     */
+    public static final class Field {
+        private final String text;
+        private final int weight;
+
+        public Field(String text, int weight) {
+            this.text = text;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package swing.service;
+
+import org.hibernate.Hibernate;
+import swing.model.AbstractModel;
+import swing.model.Author;
+import swing.model.Book;
+import swing.model.Publisher;
+import swing.util.HibernateExecutor;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serviço com as estatísticas agregadas do acervo exibidas no dashboard.
+ * <p>
+ * No primeiro acesso os valores são lidos do banco com consultas de agregação ({@code COUNT} e o
+ * livro mais recente pela data de criação). A partir daí são mantidos em memória pelos hooks after*
+ * dos serviços de livros, autores e editoras, e a leitura não consulta o banco. O estado é
+ * compartilhado por todas as instâncias do serviço.
+ */
+public class StatisticsService {
+
+    private static final List<Class<? extends AbstractModel>> COUNTED_ENTITIES =
+            Arrays.asList(Book.class, Author.class, Publisher.class);
+
+    private static final Map<Class<? extends AbstractModel>, AtomicLong> COUNTS = new ConcurrentHashMap<>();
+    private static final Object LOCK = new Object();
+    private static volatile LastBook lastBook;
+    private static volatile boolean loaded;
+
+    /**
+     * Obtém a quantidade de registros cadastrados de uma entidade.
+     *
+     * @param entity a classe da entidade (livro, autor ou editora).
+     * @return a quantidade de registros.
+     */
+    public long getCount(Class<? extends AbstractModel> entity) {
+        ensureLoaded();
+        AtomicLong count = COUNTS.get(entity);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Obtém o título do último livro cadastrado.
+     *
+     * @return o título do livro mais recente, ou null se não houver livros.
+     */
+    public String getLastBookTitle() {
+        ensureLoaded();
+        LastBook current = lastBook;
+        return current == null ? null : current.title;
+    }
+
+    /**
+     * Registra a inclusão de um registro. Deve ser chamado após o commit.
+     *
+     * @param entity o registro incluído.
+     */
+    public void recordInsert(AbstractModel entity) {
+        synchronized (LOCK) {
+            if (!loaded) {
+                return;
+            }
+            AtomicLong count = COUNTS.get(Hibernate.getClass(entity));
+            if (count != null) {
+                count.incrementAndGet();
+            }
+            if (entity instanceof Book && isNewer(entity.getCreatedAt(), entity.getId())) {
+                lastBook = new LastBook((Book) entity);
+            }
+        }
+    }
+
+    /**
+     * Registra a alteração de um livro, atualizando o título exibido caso seja o último cadastrado.
+     *
+     * @param book o livro alterado.
+     */
+    public void recordUpdate(Book book) {
+        synchronized (LOCK) {
+            LastBook current = lastBook;
+            if (loaded && current != null && current.id.equals(book.getId())) {
+                lastBook = new LastBook(book.getId(), book.getTitle(), current.createdAt);
+            }
+        }
+    }
+
+    /**
+     * Registra a exclusão de um registro. Deve ser chamado após o commit.
+     * Se o livro excluído for o último cadastrado, o novo último livro é lido do banco.
+     *
+     * @param entity o registro excluído.
+     */
+    public void recordDelete(AbstractModel entity) {
+        synchronized (LOCK) {
+            if (!loaded) {
+                return;
+            }
+            AtomicLong count = COUNTS.get(Hibernate.getClass(entity));
+            if (count != null) {
+                count.updateAndGet(value -> Math.max(0, value - 1));
+            }
+            LastBook current = lastBook;
+            if (entity instanceof Book && current != null && current.id.equals(entity.getId())) {
+                lastBook = findLastBook();
+            }
+        }
+    }
+
+    /**
+     * Registra a exclusão de registros em lote. Deve ser chamado após o commit.
+     * Se o último livro cadastrado estiver entre os excluídos, o novo último livro é lido do banco.
+     *
+     * @param entity a classe dos registros excluídos.
+     * @param ids    os ‘IDs’ dos registros excluídos.
+     */
+    public void recordDeletes(Class<? extends AbstractModel> entity, Collection<Long> ids) {
+        synchronized (LOCK) {
+            if (!loaded || ids.isEmpty()) {
+                return;
+            }
+            AtomicLong count = COUNTS.get(entity);
+            if (count != null) {
+                count.updateAndGet(value -> Math.max(0, value - ids.size()));
+            }
+            LastBook current = lastBook;
+            if (entity == Book.class && current != null && ids.contains(current.id)) {
+                lastBook = findLastBook();
+            }
+        }
+    }
+
+    /**
+     * Descarta as estatísticas; elas serão recalculadas no banco no próximo acesso.
+     */
+    public void invalidate() {
+        synchronized (LOCK) {
+            loaded = false;
+        }
+    }
+
+    /**
+     * Carrega as estatísticas do banco de dados, se ainda não foram carregadas.
+     * Permite fazer a leitura fora do EDT antes de exibir os valores.
+     */
+    public void load() {
+        ensureLoaded();
+    }
+
+    /**
+     * Carrega as estatísticas do banco de dados, se ainda não foram carregadas.
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (LOCK) {
+            if (loaded) {
+                return;
+            }
+            HibernateExecutor.runReadOnly(() -> {
+                for (Class<? extends AbstractModel> entity : COUNTED_ENTITIES) {
+                    COUNTS.put(entity, new AtomicLong(countRecords(entity)));
+                }
+                lastBook = findLastBook();
+            });
+            loaded = true;
+        }
+    }
+
+    /**
+     * Conta os registros de uma entidade no banco.
+     *
+     * @param entity a classe da entidade.
+     * @return a quantidade de registros.
+     */
+    private long countRecords(Class<? extends AbstractModel> entity) {
+        return HibernateExecutor.executeReadOnly(session ->
+                session.createQuery(String.format("SELECT COUNT(e) FROM %s e", entity.getSimpleName()), Long.class)
+                        .getSingleResult()
+        );
+    }
+
+    /**
+     * Busca no banco o livro mais recente pela data de criação.
+     *
+     * @return o último livro cadastrado, ou null se não houver livros.
+     */
+    private LastBook findLastBook() {
+        List<Object[]> rows = HibernateExecutor.executeReadOnly(session ->
+                session.createQuery("SELECT b.id, b.title, b.createdAt FROM Book b " +
+                                "ORDER BY b.createdAt DESC, b.id DESC", Object[].class)
+                        .setMaxResults(1)
+                        .getResultList()
+        );
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        return new LastBook((Long) row[0], (String) row[1], (Instant) row[2]);
+    }
+
+    /**
+     * Verifica se um livro é mais recente que o último livro conhecido.
+     *
+     * @param createdAt a data de criação do livro.
+     * @param id        o ‘ID’ do livro, usado como desempate.
+     * @return true se o livro for o novo último livro.
+     */
+    private boolean isNewer(Instant createdAt, Long id) {
+        LastBook current = lastBook;
+        if (current == null || current.createdAt == null) {
+            return true;
+        }
+        if (createdAt == null) {
+            return false;
+        }
+        int comparison = createdAt.compareTo(current.createdAt);
+        return comparison > 0 || (comparison == 0 && id != null && id > current.id);
+    }
+
+    /**
+     * Dados do último livro cadastrado necessários ao dashboard.
+     */
+    private static final class LastBook {
+        private final Long id;
+        private final String title;
+        private final Instant createdAt;
+
+        private LastBook(Long id, String title, Instant createdAt) {
+            this.id = id;
+            this.title = title;
+            this.createdAt = createdAt;
+        }
+
+        private LastBook(Book book) {
+            this(book.getId(), book.getTitle(), book.getCreatedAt());
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package swing.util;
 
 import javax.swing.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Classe utilitária para executar tarefas assíncronas no EDT (Event Dispatch Thread).
  * Permite que tarefas de longa duração sejam executadas em segundo plano, evitando
- * o bloqueio da interface do usuário.
+ * o bloqueio da interface do usuário. As tarefas rodam no {@link ServiceExecutor}.
  */
 public class AsyncExecutor {
 
@@ -14,24 +20,76 @@ public class AsyncExecutor {
 
     /**
      * Executa uma tarefa em segundo plano com suporte à finalização no EDT.
+     * A tarefa não tem tempo limite, pois pode ser de longa duração (ex.: importação), e roda fora do pool das
+     * consultas das telas.
      *
      * @param backgroundTask código a ser executado em background
      * @param onDone         código a ser executado no final (opcional)
      */
     public static void runAsync(Runnable backgroundTask, Runnable onDone) {
-        new SwingWorker<Void, Void>() {
-            @Override
-            protected Void doInBackground() {
-                backgroundTask.run();
-                return null;
+        ServiceExecutor.supplyLongAsync(() -> {
+            backgroundTask.run();
+            return null;
+        }).whenComplete((result, error) -> {
+            if (onDone != null) {
+                SwingUtilities.invokeLater(onDone);
             }
+        });
+    }
+
+    /**
+     * Executa uma tarefa em segundo plano que produz um resultado, entregando-o no EDT.
+     *
+     * @param backgroundTask código a ser executado em background, que produz o resultado
+     * @param onSuccess      código a ser executado no EDT com o resultado obtido
+     * @param onError        código a ser executado no EDT caso a tarefa falhe (opcional)
+     * @param <R>            o tipo do resultado produzido pela tarefa
+     */
+    public static <R> void supplyAsync(Supplier<R> backgroundTask, Consumer<R> onSuccess, Consumer<Throwable> onError) {
+        onEdt(ServiceExecutor.supplyAsync(backgroundTask), onSuccess, onError);
+    }
 
-            @Override
-            protected void done() {
-                if (onDone != null) {
-                    SwingUtilities.invokeLater(onDone);
+    /**
+     * Entrega a conclusão de um futuro no EDT.
+     * Futuros cancelados não chamam nenhum dos códigos; nos demais erros, a causa original é repassada.
+     *
+     * @param future    o futuro a ser acompanhado
+     * @param onSuccess código a ser executado no EDT com o resultado obtido (opcional)
+     * @param onError   código a ser executado no EDT caso o futuro falhe (opcional)
+     * @param <R>       o tipo do resultado
+     * @return o próprio futuro, para permitir o cancelamento
+     */
+    public static <R> CompletableFuture<R> onEdt(CompletableFuture<R> future, Consumer<R> onSuccess,
+                                                 Consumer<Throwable> onError) {
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            if (error == null) {
+                if (onSuccess != null) {
+                    onSuccess.accept(result);
                 }
+                return;
+            }
+            Throwable cause = unwrap(error);
+            if (!(cause instanceof CancellationException) && onError != null) {
+                onError.accept(cause);
             }
-        }.execute();
+        }));
+        return future;
+    }
+
+    /**
+     * Obtém a causa original de um erro de um futuro.
+     * Erros na inicialização estática de uma classe (ex.: a SessionFactory) também são desembrulhados,
+     * pois o {@link ExceptionInInitializerError} não tem mensagem própria.
+     *
+     * @param error o erro recebido na conclusão do futuro
+     * @return a exceção lançada pela tarefa
+     */
+    public static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException
+                || cause instanceof ExceptionInInitializerError) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
     }
 }
@@ -0,0 +1,63 @@
+package swing.util;
+
+import org.hibernate.stat.CacheRegionStatistics;
+
+/**
+ * Retrato das estatísticas de uma região do cache de segundo nível ou de consultas.
+ */
+public class CacheStatisticsSnapshot {
+
+    private final String region;
+    private final long hitCount;
+    private final long missCount;
+    private final long putCount;
+    private final long elementCountInMemory;
+
+    CacheStatisticsSnapshot(String region, CacheRegionStatistics statistics) {
+        this.region = region;
+        this.hitCount = statistics == null ? 0 : statistics.getHitCount();
+        this.missCount = statistics == null ? 0 : statistics.getMissCount();
+        this.putCount = statistics == null ? 0 : statistics.getPutCount();
+        // O provedor pode não informar a contagem de elementos, nesse caso o Hibernate retorna um valor negativo
+        this.elementCountInMemory = statistics == null ? 0 : Math.max(-1, statistics.getElementCountInMemory());
+    }
+
+    /**
+     * Obtém a proporção de acertos sobre o total de leituras da região.
+     *
+     * @return a taxa de acerto, entre 0 e 1.
+     */
+    public double getHitRatio() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    // <editor-fold desc="Getters">
+    public String getRegion() {
+        return region;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getPutCount() {
+        return putCount;
+    }
+
+    public long getElementCountInMemory() {
+        return elementCountInMemory;
+    }
+    // </editor-fold>
+
+    @Override
+    public String toString() {
+        return String.format("Cache [%s]: acertos=%d, falhas=%d, inclusões=%d, elementos=%s, taxa de acerto=%.1f%%",
+                region, hitCount, missCount, putCount, elementCountInMemory < 0 ? "n/d" : elementCountInMemory,
+                getHitRatio() * 100);
+    }
+}
@@ -1,6 +1,8 @@
 package swing.util;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Classe utilitária para operações com coleções. <br>
@@ -20,4 +22,23 @@ public class CollectionUtils {
     public static boolean isEmpty(Collection<?> collection) {
         return collection == null || collection.isEmpty();
     }
+
+    /**
+     * Divide uma lista em lotes consecutivos de tamanho máximo informado.
+     *
+     * @param list a lista a ser dividida
+     * @param size o tamanho máximo de cada lote
+     * @param <T>  o tipo dos elementos
+     * @return os lotes, como visões da lista original
+     */
+    public static <T> List<List<T>> partition(List<T> list, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("O tamanho do lote deve ser positivo.");
+        }
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < list.size(); start += size) {
+            chunks.add(list.subList(start, Math.min(start + size, list.size())));
+        }
+        return chunks;
+    }
 }
@@ -5,20 +5,56 @@ import swing.components.CustomTable;
 import swing.components.CustomTextField;
 import swing.interfaces.Identifiable;
 
+import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import java.lang.reflect.Field;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Classe utilitária para manipulação de componentes Swing,
  */
 public class ComponentUtils {
 
+    /**
+     * Tempo, em milissegundos, sem digitação até que a busca seja executada.
+     */
+    public static final int SEARCH_DELAY_MILLIS = 300;
+
     private ComponentUtils() {
     }
 
+    /**
+     * Método para adicionar ao campo de busca um listener que executa a busca quando o usuário para de digitar,
+     * evitando uma busca a cada tecla.
+     *
+     * @param fieldSearch Campo de busca
+     * @param onSearch    Ação de busca, que recebe o texto digitado
+     */
+    public static void addSearchListener(CustomTextField fieldSearch, Consumer<String> onSearch) {
+        Timer timer = new Timer(SEARCH_DELAY_MILLIS, e -> onSearch.accept(fieldSearch.getText()));
+        timer.setRepeats(false);
+
+        fieldSearch.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+        });
+    }
+
     /**
      * Método para adicionar o listener ao campo de busca. Quando digitado,
      * realiza a filtragem dos livros na table.
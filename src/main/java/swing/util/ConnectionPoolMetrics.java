@@ -0,0 +1,87 @@
+package swing.util;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coletor das métricas do pool de conexões.
+ * <p>
+ * Registrado no HikariCP, acumula o tempo de espera para obter uma conexão, o tempo de uso
+ * das conexões e a quantidade de ‘timeouts’, que não são expostos pelo MXBean do pool.
+ */
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+    private final LongAdder acquiredCount = new LongAdder();
+    private final LongAdder acquiredNanos = new LongAdder();
+    private final LongAccumulator maxAcquiredNanos = new LongAccumulator(Long::max, 0);
+    private final LongAdder usageCount = new LongAdder();
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquiredCount.increment();
+                acquiredNanos.add(elapsedAcquiredNanos);
+                maxAcquiredNanos.accumulate(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageCount.increment();
+                usageMillis.add(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    /**
+     * Obtém o tempo médio de espera para obter uma conexão do pool.
+     *
+     * @return o tempo médio de espera em milissegundos.
+     */
+    public double getAverageWaitMillis() {
+        long count = acquiredCount.sum();
+        return count == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMicros(acquiredNanos.sum()) / count / 1000;
+    }
+
+    /**
+     * Obtém o maior tempo de espera registrado para obter uma conexão do pool.
+     *
+     * @return o maior tempo de espera em milissegundos.
+     */
+    public double getMaxWaitMillis() {
+        return (double) TimeUnit.NANOSECONDS.toMicros(maxAcquiredNanos.get()) / 1000;
+    }
+
+    /**
+     * Obtém o tempo médio em que uma conexão fica emprestada pela aplicação.
+     *
+     * @return o tempo médio de uso em milissegundos.
+     */
+    public double getAverageUsageMillis() {
+        long count = usageCount.sum();
+        return count == 0 ? 0 : (double) usageMillis.sum() / count;
+    }
+
+    // <editor-fold desc="Getters">
+    public long getAcquiredCount() {
+        return acquiredCount.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+    // </editor-fold>
+}
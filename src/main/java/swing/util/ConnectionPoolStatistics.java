@@ -0,0 +1,83 @@
+package swing.util;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Retrato do estado do pool de conexões num dado momento, usado para dimensionar o pool.
+ */
+public class ConnectionPoolStatistics {
+
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int totalConnections;
+    private final int threadsAwaitingConnection;
+    private final int maximumPoolSize;
+    private final long acquiredCount;
+    private final double averageWaitMillis;
+    private final double maxWaitMillis;
+    private final double averageUsageMillis;
+    private final long timeouts;
+
+    ConnectionPoolStatistics(HikariPoolMXBean pool, int maximumPoolSize, ConnectionPoolMetrics metrics) {
+        this.activeConnections = pool.getActiveConnections();
+        this.idleConnections = pool.getIdleConnections();
+        this.totalConnections = pool.getTotalConnections();
+        this.threadsAwaitingConnection = pool.getThreadsAwaitingConnection();
+        this.maximumPoolSize = maximumPoolSize;
+        this.acquiredCount = metrics.getAcquiredCount();
+        this.averageWaitMillis = metrics.getAverageWaitMillis();
+        this.maxWaitMillis = metrics.getMaxWaitMillis();
+        this.averageUsageMillis = metrics.getAverageUsageMillis();
+        this.timeouts = metrics.getTimeouts();
+    }
+
+    // <editor-fold desc="Getters">
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    public int getThreadsAwaitingConnection() {
+        return threadsAwaitingConnection;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public long getAcquiredCount() {
+        return acquiredCount;
+    }
+
+    public double getAverageWaitMillis() {
+        return averageWaitMillis;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    public double getAverageUsageMillis() {
+        return averageUsageMillis;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+    // </editor-fold>
+
+    @Override
+    public String toString() {
+        return String.format("Pool de conexões: ativas=%d, ociosas=%d, total=%d/%d, aguardando=%d, " +
+                        "obtidas=%d, espera média=%.2f ms, espera máxima=%.2f ms, uso médio=%.2f ms, timeouts=%d",
+                activeConnections, idleConnections, totalConnections, maximumPoolSize, threadsAwaitingConnection,
+                acquiredCount, averageWaitMillis, maxWaitMillis, averageUsageMillis, timeouts);
+    }
+}
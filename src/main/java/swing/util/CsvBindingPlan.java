@@ -0,0 +1,356 @@
+package swing.util;
+
+import org.apache.commons.csv.CSVRecord;
+import swing.annotations.CsvProperties;
+import swing.converters.DefaultConverter;
+import swing.interfaces.CSVConverter;
+import swing.interfaces.CSVImportable;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Plano de preenchimento de uma classe importável por CSV, montado uma única vez por classe.
+ * <p>
+ * Na montagem, os campos anotados com {@link CsvProperties} são lidos e, para cada um, são resolvidos o
+ * conversor (uma instância única, compartilhada entre as threads), a conversão do texto para o tipo do campo
+ * e a atribuição do valor, feita pelo ‘setter’ público do campo ou, na falta dele, por um {@link MethodHandle}
+ * do próprio campo. Assim, a leitura de cada registro não usa reflexão nem cria conversores.
+ *
+ * @param <T> o tipo dos objetos preenchidos.
+ */
+final class CsvBindingPlan<T extends CSVImportable> {
+
+    private static final Map<Class<?>, CsvBindingPlan<?>> PLANS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, CSVConverter<?>> CONVERTERS = new ConcurrentHashMap<>();
+
+    private final Supplier<T> constructor;
+    private final List<FieldBinder<T>> binders;
+    private final List<String> permittedHeaders;
+    private final List<String> requiredHeaders;
+
+    private CsvBindingPlan(Class<T> clazz) {
+        this.constructor = compileConstructor(clazz);
+        List<FieldBinder<T>> fieldBinders = new ArrayList<>();
+        for (Field field : getClassFields(clazz)) {
+            CsvProperties properties = field.getAnnotation(CsvProperties.class);
+            if (properties != null) {
+                fieldBinders.add(new FieldBinder<>(field.getName(), properties.required(),
+                        compileConversion(field, properties), compileSetter(clazz, field)));
+            }
+        }
+        if (fieldBinders.isEmpty()) {
+            throw new IllegalArgumentException("A classe " + clazz.getName() + " não possui campos anotados com @PropriedadesCSV.");
+        }
+        this.binders = Collections.unmodifiableList(fieldBinders);
+        this.permittedHeaders = Collections.unmodifiableList(fieldBinders.stream()
+                .map(binder -> binder.headerName).collect(Collectors.toList()));
+        this.requiredHeaders = Collections.unmodifiableList(fieldBinders.stream()
+                .filter(binder -> binder.required)
+                .map(binder -> binder.headerName).collect(Collectors.toList()));
+    }
+
+    /**
+     * Obtém o plano de uma classe, montando-o no primeiro acesso.
+     *
+     * @param clazz a classe que implementa CSVImportable.
+     * @param <T>   o tipo da classe.
+     * @return o plano da classe.
+     * @throws IllegalArgumentException se a classe for nula, não puder ser instanciada, não tiver campos anotados
+     *                                  ou usar um conversor que não pode ser instanciado.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends CSVImportable> CsvBindingPlan<T> of(Class<T> clazz) {
+        if (clazz == null) {
+            throw new IllegalArgumentException("A classe não deve ser nula.");
+        }
+        return (CsvBindingPlan<T>) PLANS.computeIfAbsent(clazz, key -> new CsvBindingPlan<>(clazz));
+    }
+
+    /**
+     * Associa cada campo do plano à coluna de mesmo nome nos cabeçalhos de um arquivo.
+     *
+     * @param headerNames os cabeçalhos do arquivo, na ordem das colunas.
+     * @return o índice da coluna de cada campo, na ordem dos campos, ou -1 se o arquivo não tiver a coluna.
+     */
+    int[] columnsOf(List<String> headerNames) {
+        int[] columns = new int[binders.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = headerNames.indexOf(binders.get(i).headerName);
+        }
+        return columns;
+    }
+
+    /**
+     * Converte um registro do CSV num objeto. Os erros de conversão são adicionados aos erros de importação do
+     * objeto, sem interromper o preenchimento dos demais campos.
+     *
+     * @param csvRecord o registro CSV.
+     * @param columns   as colunas dos campos, obtidas por {@link #columnsOf(List)}.
+     * @return o objeto preenchido.
+     */
+    T toObject(CSVRecord csvRecord, int[] columns) {
+        T object = constructor.get();
+        for (int i = 0; i < columns.length; i++) {
+            int column = columns[i];
+            if (column < 0) {
+                continue;
+            }
+            FieldBinder<T> binder = binders.get(i);
+            // Registros com menos colunas que o cabeçalho ficam com os campos finais vazios
+            String value = column < csvRecord.size() ? csvRecord.get(column) : null;
+            if (value == null || value.isEmpty()) {
+                if (binder.required) {
+                    addErrorMessage(object, String.format("O campo %s é obrigatório e não pode ser nulo ou vazio.",
+                            binder.headerName), csvRecord, binder.headerName);
+                }
+                continue;
+            }
+            Object convertedValue;
+            try {
+                convertedValue = binder.conversion.apply(value);
+            } catch (RuntimeException e) {
+                // O erro fica no registro, e a leitura segue para os próximos
+                addErrorMessage(object, String.format("Valor inválido '%s'. Erro: %s", value, e.getMessage()),
+                        csvRecord, binder.headerName);
+                continue;
+            }
+            try {
+                binder.setter.accept(object, convertedValue);
+            } catch (RuntimeException e) {
+                addErrorMessage(object, String.format("Erro ao definir o valor %s. Erro: %s", value,
+                        e.getMessage()), csvRecord, binder.headerName);
+            }
+        }
+        return object;
+    }
+
+    /**
+     * Adiciona uma mensagem de erro a um objeto, com a linha e o cabeçalho de origem.
+     *
+     * @param object     o objeto ao qual a mensagem de erro será adicionada.
+     * @param message    a mensagem de erro.
+     * @param csvRecord  o registro CSV que causou o erro.
+     * @param headerName o nome do cabeçalho relacionado ao erro.
+     */
+    private static void addErrorMessage(CSVImportable object, String message, CSVRecord csvRecord, String headerName) {
+        object.addErroImportacao(String.format("[Linha: %d - Header %s] %s",
+                csvRecord.getRecordNumber(), headerName, message));
+    }
+
+    /**
+     * Monta a criação de novos objetos da classe, pelo construtor sem parâmetros.
+     *
+     * @param clazz a classe.
+     * @param <T>   o tipo da classe.
+     * @return a fábrica de objetos.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Supplier<T> compileConstructor(Class<T> clazz) {
+        Constructor<T> constructor;
+        try {
+            constructor = clazz.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Erro ao instanciar a classe " + clazz.getName() + ": " + e.getMessage(), e);
+        }
+        if (isPublic(clazz) && Modifier.isPublic(constructor.getModifiers())) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                MethodHandle handle = lookup.unreflectConstructor(constructor);
+                return (Supplier<T>) LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class), handle, MethodType.methodType(clazz)).getTarget().invoke();
+            } catch (Throwable e) {
+                // Segue pela reflexão
+            }
+        }
+        constructor.setAccessible(true);
+        return () -> {
+            try {
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Erro ao instanciar a classe " + clazz.getName() + ": " + e.getMessage(), e);
+            }
+        };
+    }
+
+    /**
+     * Monta a conversão do texto de uma coluna para o valor do campo: pelo conversor da anotação ou, com o
+     * conversor padrão, pela leitura direta do tipo do campo.
+     *
+     * @param field      o campo.
+     * @param properties as propriedades CSV do campo.
+     * @return a conversão do texto para o valor do campo.
+     */
+    private static Function<String, Object> compileConversion(Field field, CsvProperties properties) {
+        if (properties.csvConverter() == DefaultConverter.class) {
+            return typeParser(field.getType());
+        }
+        CSVConverter<?> converter = CONVERTERS.computeIfAbsent(properties.csvConverter(), converterClass -> {
+            try {
+                return (CSVConverter<?>) converterClass.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException(String.format("Erro ao instanciar o csvConverter %s. Erro: %s",
+                        converterClass.getName(), e.getMessage()), e);
+            }
+        });
+        return converter::converter;
+    }
+
+    /**
+     * Obtém a leitura de um texto para um tipo suportado pelo conversor padrão.
+     *
+     * @param type o tipo do campo.
+     * @return a conversão do texto para o tipo.
+     * @throws IllegalArgumentException se o tipo não for suportado.
+     */
+    private static Function<String, Object> typeParser(Class<?> type) {
+        if (type == String.class) {
+            return value -> value;
+        } else if (type == Integer.class || type == int.class) {
+            return Integer::valueOf;
+        } else if (type == Double.class || type == double.class) {
+            return Double::valueOf;
+        } else if (type == Boolean.class || type == boolean.class) {
+            return Boolean::valueOf;
+        } else if (type == Long.class || type == long.class) {
+            return Long::valueOf;
+        } else if (type == Float.class || type == float.class) {
+            return Float::valueOf;
+        } else if (type == LocalDate.class) {
+            return value -> DateUtils.textToDate(value, LocalDate.class);
+        } else if (type == LocalDateTime.class) {
+            return value -> DateUtils.textToDate(value, LocalDateTime.class);
+        } else if (type == ZonedDateTime.class) {
+            return value -> DateUtils.textToDate(value, ZonedDateTime.class);
+        } else if (type == Instant.class) {
+            return value -> DateUtils.textToDate(value, Instant.class);
+        }
+        throw new IllegalArgumentException("Tipo não suportado: " + type.getName());
+    }
+
+    /**
+     * Monta a atribuição de um campo: pelo ‘setter’ público {@code setCampo}, quando existe, ou diretamente no
+     * campo.
+     *
+     * @param clazz a classe.
+     * @param field o campo.
+     * @param <T>   o tipo da classe.
+     * @return a atribuição do valor ao campo de um objeto.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> BiConsumer<T, Object> compileSetter(Class<T> clazz, Field field) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Method setter = findPublicSetter(clazz, field);
+        if (setter != null) {
+            try {
+                MethodHandle handle = lookup.unreflect(setter);
+                return (BiConsumer<T, Object>) LambdaMetafactory.metafactory(lookup, "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class), handle,
+                        MethodType.methodType(void.class, clazz, MethodType.methodType(field.getType()).wrap().returnType()))
+                        .getTarget().invoke();
+            } catch (Throwable e) {
+                // Segue pela atribuição direta no campo
+            }
+        }
+        field.setAccessible(true);
+        MethodHandle handle;
+        try {
+            handle = lookup.unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Erro ao acessar o campo " + field.getName() + ": " + e.getMessage(), e);
+        }
+        return (object, value) -> {
+            try {
+                handle.invokeExact(object, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /**
+     * Procura o ‘setter’ público de um campo, com o nome {@code setCampo} e o tipo do campo como parâmetro.
+     *
+     * @param clazz a classe.
+     * @param field o campo.
+     * @return o ‘setter’, ou null se a classe não o tiver.
+     */
+    private static Method findPublicSetter(Class<?> clazz, Field field) {
+        if (!isPublic(clazz)) {
+            return null;
+        }
+        String name = "set" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        try {
+            Method setter = clazz.getMethod(name, field.getType());
+            return isPublic(setter.getDeclaringClass()) ? setter : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static boolean isPublic(Class<?> clazz) {
+        return Modifier.isPublic(clazz.getModifiers());
+    }
+
+    /**
+     * Obtém os campos declarados na classe e na sua superclasse direta.
+     *
+     * @param clazz a classe.
+     * @return os campos da classe seguidos dos da superclasse.
+     */
+    private static List<Field> getClassFields(Class<?> clazz) {
+        List<Field> fields = new ArrayList<>(Arrays.asList(clazz.getDeclaredFields()));
+        if (clazz.getSuperclass() != null) {
+            fields.addAll(Arrays.asList(clazz.getSuperclass().getDeclaredFields()));
+        }
+        return fields;
+    }
+
+    // <editor-fold desc="Getters">
+    List<String> getPermittedHeaders() {
+        return permittedHeaders;
+    }
+
+    List<String> getRequiredHeaders() {
+        return requiredHeaders;
+    }
+    // </editor-fold>
+
+    /**
+     * Preenchimento de um campo: o cabeçalho, se é obrigatório, a conversão do texto e a atribuição do valor.
+     */
+    private static final class FieldBinder<T> {
+        private final String headerName;
+        private final boolean required;
+        private final Function<String, Object> conversion;
+        private final BiConsumer<T, Object> setter;
+
+        private FieldBinder(String headerName, boolean required, Function<String, Object> conversion,
+                            BiConsumer<T, Object> setter) {
+            this.headerName = headerName;
+            this.required = required;
+            this.conversion = conversion;
+            this.setter = setter;
+        }
+    }
+}
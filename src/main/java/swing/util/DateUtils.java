@@ -1,12 +1,14 @@
 package swing.util;
 
-import java.text.ParseException;
+import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.Temporal;
 import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Utilitário para manipulação de datas.
@@ -22,6 +24,23 @@ public class DateUtils {
             "dd/MM/yyyy"
     );
 
+    /**
+     * Formatos no estilo OpenLibrary, montados uma única vez (DateTimeFormatter é imutável).
+     */
+    private static final List<DateTimeFormatter> openLibraryFormatters = Arrays.asList(
+            DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd", Locale.ENGLISH)
+    );
+
+    /**
+     * Formatos brasileiros por thread, pois SimpleDateFormat não pode ser compartilhado entre threads.
+     */
+    private static final ThreadLocal<List<SimpleDateFormat>> brazilianFormats = ThreadLocal.withInitial(() ->
+            permittedFormats.stream().map(SimpleDateFormat::new).collect(Collectors.toList()));
+
+    private static final Pattern ignoredCharacters = Pattern.compile("[?c]");
+
     private DateUtils() {
     }
 
@@ -76,7 +95,7 @@ public class DateUtils {
     public static <T extends Temporal> T textToDate(String text, Class<T> targetClass) {
         if (text == null || text.trim().isEmpty()) return null;
 
-        String input = text.trim().replaceAll("[?c]", "");
+        String input = ignoredCharacters.matcher(text.trim()).replaceAll("");
 
         T result = tryOpenLibraryFormats(input, targetClass);
         if (result != null) return result;
@@ -95,15 +114,12 @@ public class DateUtils {
      */
     @SuppressWarnings("unchecked")
     private static <T extends Temporal> T tryOpenLibraryFormats(String input, Class<T> targetClass) {
-        List<DateTimeFormatter> formatters = new ArrayList<>(
-                Arrays.asList(
-                        DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH),
-                        DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH),
-                        DateTimeFormatter.ofPattern("yyyy-MM-dd", Locale.ENGLISH)
-                )
-        );
-
-        for (DateTimeFormatter formatter : formatters) {
+        for (DateTimeFormatter formatter : openLibraryFormatters) {
+            // A análise prévia não lança exceção; a conversão só é tentada quando o texto segue o formato
+            ParsePosition position = new ParsePosition(0);
+            if (formatter.parseUnresolved(input, position) == null || position.getIndex() != input.length()) {
+                continue;
+            }
             try {
                 if (formatter.toString().contains("d,")) {
                     if (targetClass.equals(LocalDate.class)) {
@@ -119,12 +135,14 @@ public class DateUtils {
             }
         }
 
-        try {
-            int ano = Integer.parseInt(input);
-            if (targetClass.equals(LocalDate.class)) {
-                return (T) LocalDate.of(ano, 1, 1);
+        if (isInteger(input)) {
+            try {
+                int ano = Integer.parseInt(input);
+                if (targetClass.equals(LocalDate.class)) {
+                    return (T) LocalDate.of(ano, 1, 1);
+                }
+            } catch (NumberFormatException ignored) {
             }
-        } catch (NumberFormatException ignored) {
         }
 
         return null;
@@ -141,27 +159,44 @@ public class DateUtils {
      */
     @SuppressWarnings("unchecked")
     private static <T extends Temporal> T tryBrazilianFormats(String input, Class<T> targetClass) {
-        List<String> formats = new ArrayList<>(permittedFormats);
-
-        for (String pattern : formats) {
-            try {
-                SimpleDateFormat sdf = new SimpleDateFormat(pattern);
-                Date data = sdf.parse(input);
+        for (SimpleDateFormat sdf : brazilianFormats.get()) {
+            ParsePosition position = new ParsePosition(0);
+            Date data = sdf.parse(input, position);
+            if (position.getIndex() == 0) {
+                continue;
+            }
 
-                if (targetClass.equals(LocalDate.class)) {
-                    return (T) data.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-                } else if (targetClass.equals(LocalDateTime.class)) {
-                    return (T) data.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
-                } else if (targetClass.equals(Instant.class)) {
-                    return (T) data.toInstant();
-                }
-            } catch (ParseException ignored) {
+            if (targetClass.equals(LocalDate.class)) {
+                return (T) data.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+            } else if (targetClass.equals(LocalDateTime.class)) {
+                return (T) data.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
+            } else if (targetClass.equals(Instant.class)) {
+                return (T) data.toInstant();
             }
         }
         return null;
     }
 
 
+    /**
+     * Verifica se o texto tem o formato aceito por {@link Integer#parseInt(String)}: sinal opcional e dígitos.
+     *
+     * @param input Texto a ser verificado
+     * @return true se o texto puder ser um número inteiro
+     */
+    private static boolean isInteger(String input) {
+        int start = !input.isEmpty() && (input.charAt(0) == '-' || input.charAt(0) == '+') ? 1 : 0;
+        if (start == input.length()) {
+            return false;
+        }
+        for (int i = start; i < input.length(); i++) {
+            if (!Character.isDigit(input.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Verifica se a data é anterior a hoje.
      *
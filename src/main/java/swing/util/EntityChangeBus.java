@@ -0,0 +1,91 @@
+package swing.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import swing.enums.ChangeType;
+import swing.model.AbstractModel;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Barramento de eventos de alteração de registros dentro da aplicação.
+ * <p>
+ * Os serviços publicam um {@link EntityChangeEvent} a cada inclusão, alteração ou exclusão, após o commit,
+ * e as telas se inscrevem para atualizar apenas as linhas afetadas. Os eventos são entregues na thread que
+ * os publicou; cabe ao inscrito repassá-los ao EDT. Uma falha num inscrito não afeta os demais.
+ */
+public class EntityChangeBus {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntityChangeBus.class);
+    private static final List<Subscription> SUBSCRIPTIONS = new CopyOnWriteArrayList<>();
+
+    private EntityChangeBus() {
+    }
+
+    /**
+     * Inscreve um ouvinte nos eventos de uma entidade.
+     *
+     * @param entityClass a classe da entidade.
+     * @param listener    o ouvinte dos eventos.
+     * @return a ação que cancela a inscrição.
+     */
+    public static Runnable subscribe(Class<? extends AbstractModel> entityClass, Consumer<EntityChangeEvent> listener) {
+        Subscription subscription = new Subscription(entityClass, listener);
+        SUBSCRIPTIONS.add(subscription);
+        return () -> SUBSCRIPTIONS.remove(subscription);
+    }
+
+    /**
+     * Publica a alteração de um registro.
+     *
+     * @param entityClass a classe da entidade.
+     * @param type        o tipo de alteração.
+     * @param id          o ‘ID’ do registro.
+     */
+    public static void publish(Class<? extends AbstractModel> entityClass, ChangeType type, Long id) {
+        if (id != null) {
+            publish(entityClass, type, Collections.singletonList(id));
+        }
+    }
+
+    /**
+     * Publica a alteração de vários registros de uma entidade num único evento.
+     *
+     * @param entityClass a classe da entidade.
+     * @param type        o tipo de alteração.
+     * @param ids         os ‘IDs’ dos registros.
+     */
+    public static void publish(Class<? extends AbstractModel> entityClass, ChangeType type, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        EntityChangeEvent event = new EntityChangeEvent(entityClass, type, ids);
+        for (Subscription subscription : SUBSCRIPTIONS) {
+            if (subscription.entityClass != entityClass) {
+                continue;
+            }
+            try {
+                subscription.listener.accept(event);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Falha ao entregar o evento {}: {}", event, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Inscrição de um ouvinte nos eventos de uma entidade.
+     */
+    private static final class Subscription {
+        private final Class<? extends AbstractModel> entityClass;
+        private final Consumer<EntityChangeEvent> listener;
+
+        private Subscription(Class<? extends AbstractModel> entityClass, Consumer<EntityChangeEvent> listener) {
+            this.entityClass = entityClass;
+            this.listener = listener;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package swing.util;
+
+import swing.enums.ChangeType;
+import swing.model.AbstractModel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Evento de alteração de registros de uma entidade, publicado pelos serviços após o commit.
+ */
+public class EntityChangeEvent {
+
+    private final Class<? extends AbstractModel> entityClass;
+    private final ChangeType type;
+    private final List<Long> ids;
+
+    public EntityChangeEvent(Class<? extends AbstractModel> entityClass, ChangeType type, Collection<Long> ids) {
+        this.entityClass = entityClass;
+        this.type = type;
+        this.ids = Collections.unmodifiableList(new ArrayList<>(ids));
+    }
+
+    @Override
+    public String toString() {
+        return entityClass.getSimpleName() + " " + type + " " + ids;
+    }
+
+    // <editor-fold desc="Getters">
+    public Class<? extends AbstractModel> getEntityClass() {
+        return entityClass;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+    // </editor-fold>
+}
@@ -1,30 +1,181 @@
 package swing.util;
 
 import org.hibernate.Session;
-import org.hibernate.Transaction;
+import org.hibernate.SessionFactory;
 
 /**
  * Classe utilitária para executar ações no Hibernate numa transação.
+ * <p>
+ * A primeira chamada numa thread abre a sessão e a transação (unidade de trabalho); chamadas
+ * aninhadas feitas pela mesma thread reutilizam essa sessão e participam da mesma transação,
+ * que é confirmada uma única vez ao final da chamada mais externa.
+ * <p>
+ * Consultas podem ser executadas em modo somente leitura ({@link #executeReadOnly}): as entidades carregadas
+ * não guardam cópia do estado para a verificação de alterações e a sessão não é sincronizada no commit.
+ * <p>
+ * Cada unidade de trabalho é medida (duração, comandos JDBC e entidades carregadas) e contabilizada
+ * no método que a iniciou pelas {@link TransactionStatistics}.
  */
 public class HibernateExecutor {
 
+    private static final ThreadLocal<UnitOfWork> CURRENT_UNIT_OF_WORK = new ThreadLocal<>();
+
     private HibernateExecutor() {
     }
 
     /**
      * Executa uma ação no Hibernate numa transação.
+     * <p>
+     * Caso já exista uma unidade de trabalho na thread corrente, a ação é executada nela. Uma falha
+     * numa chamada aninhada marca toda a unidade de trabalho para rollback.
      *
      * @param function a ação a ser executada, encapsulada numa ‘interface’ funcional.
      * @param <T>      o tipo do resultado da ação.
      * @return o resultado da ação executada.
      */
     public static <T> T executeTransaction(HibernateAction<T> function) {
-        Transaction tx;
-        try (Session session = HibernateUtils.getSessionFactory().openSession()) {
-            tx = session.beginTransaction();
-            T result = function.execute(session);
-            tx.commit();
-            return result;
+        return execute(function, false);
+    }
+
+    /**
+     * Executa uma consulta no Hibernate numa transação somente leitura.
+     * <p>
+     * As entidades são carregadas como somente leitura, sem a cópia do estado usada na verificação de
+     * alterações, a sessão não é sincronizada com o banco (FlushMode.MANUAL) e a conexão JDBC é marcada
+     * como somente leitura. Caso já exista uma unidade de trabalho na thread corrente, a consulta é
+     * executada nela, no modo em que ela foi aberta.
+     *
+     * @param function a consulta a ser executada, encapsulada numa ‘interface’ funcional.
+     * @param <T>      o tipo do resultado da consulta.
+     * @return o resultado da consulta executada.
+     */
+    public static <T> T executeReadOnly(HibernateAction<T> function) {
+        return execute(function, true);
+    }
+
+    /**
+     * Executa um bloco de consultas numa única unidade de trabalho somente leitura, sem retorno.
+     *
+     * @param action o bloco a ser executado.
+     */
+    public static void runReadOnly(Runnable action) {
+        executeReadOnly(session -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Executa uma ação numa unidade de trabalho, aberta no modo informado ou reutilizada da thread corrente.
+     *
+     * @param function a ação a ser executada.
+     * @param readOnly true para abrir a unidade de trabalho em modo somente leitura.
+     * @param <T>      o tipo do resultado da ação.
+     * @return o resultado da ação executada.
+     */
+    private static <T> T execute(HibernateAction<T> function, boolean readOnly) {
+        UnitOfWork current = CURRENT_UNIT_OF_WORK.get();
+        if (current != null) {
+            if (current.isReadOnly() && !readOnly) {
+                // As alterações seriam descartadas em silêncio, pois a sessão não é sincronizada
+                current.markRollbackOnly();
+                throw new IllegalStateException("Não é possível alterar registros numa transação somente leitura.");
+            }
+            try {
+                return function.execute(current.getSession());
+            } catch (RuntimeException e) {
+                current.markRollbackOnly();
+                throw e;
+            }
+        }
+
+        // Obtida antes de iniciar a medição, para que a inicialização do banco não conte como duração da transação
+        SessionFactory sessionFactory = HibernateUtils.getSessionFactory();
+        TransactionMetrics metrics = new TransactionMetrics(TransactionStatistics.findCaller());
+        UnitOfWork unitOfWork;
+        T result;
+        boolean committed = false;
+        try (Session session = sessionFactory.withOptions()
+                .statementInspector(metrics)
+                .eventListeners(metrics)
+                .openSession()) {
+            unitOfWork = new UnitOfWork(session, metrics, readOnly);
+            CURRENT_UNIT_OF_WORK.set(unitOfWork);
+            try {
+                result = function.execute(session);
+                if (unitOfWork.isRollbackOnly()) {
+                    throw new IllegalStateException("A transação foi desfeita devido a um erro numa operação interna.");
+                }
+                unitOfWork.getTransaction().commit();
+                committed = true;
+            } catch (RuntimeException e) {
+                rollback(unitOfWork);
+                throw e;
+            } finally {
+                CURRENT_UNIT_OF_WORK.remove();
+                TransactionStatistics.getInstance().record(metrics, committed);
+            }
+        }
+
+        unitOfWork.getAfterCommitActions().forEach(Runnable::run);
+        return result;
+    }
+
+    /**
+     * Executa um bloco de código numa única unidade de trabalho, sem retorno.
+     *
+     * @param action o bloco a ser executado.
+     */
+    public static void runInTransaction(Runnable action) {
+        executeTransaction(session -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Registra uma ação para ser executada após o commit da unidade de trabalho corrente.
+     * Se não houver unidade de trabalho ativa, a ação é executada imediatamente.
+     *
+     * @param action a ação a ser executada.
+     */
+    public static void afterCommit(Runnable action) {
+        UnitOfWork current = CURRENT_UNIT_OF_WORK.get();
+        if (current == null) {
+            action.run();
+        } else {
+            current.addAfterCommitAction(action);
+        }
+    }
+
+    /**
+     * Verifica se existe uma unidade de trabalho ativa na thread corrente.
+     *
+     * @return true se houver uma transação em andamento, false caso contrário.
+     */
+    public static boolean isInTransaction() {
+        return CURRENT_UNIT_OF_WORK.get() != null;
+    }
+
+    /**
+     * Registra uma entidade carregada na unidade de trabalho corrente. Chamado pelo ouvinte de pós-carga
+     * registrado em {@link HibernateUtils}.
+     */
+    static void recordEntityLoad() {
+        UnitOfWork current = CURRENT_UNIT_OF_WORK.get();
+        if (current != null) {
+            current.getMetrics().recordEntityLoad();
+        }
+    }
+
+    /**
+     * Desfaz a transação da unidade de trabalho, se ainda estiver ativa.
+     *
+     * @param unitOfWork a unidade de trabalho a ser desfeita.
+     */
+    private static void rollback(UnitOfWork unitOfWork) {
+        if (unitOfWork.getTransaction().isActive()) {
+            unitOfWork.getTransaction().rollback();
         }
     }
 }
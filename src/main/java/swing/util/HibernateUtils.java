@@ -1,31 +1,100 @@
 package swing.util;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.api.ErrorCode;
 import org.hibernate.SessionFactory;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
 import org.hibernate.service.ServiceRegistry;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import swing.configs.DatabaseSettings;
+import swing.enums.DatabaseMode;
 import swing.model.Author;
 import swing.model.Book;
 import swing.model.Publisher;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
 /**
  * Classe utilitária para configurar o Hibernate e fornecer uma instância de SessionFactory.
+ * <p>
+ * As conexões são fornecidas por um pool HikariCP, configurado pelas propriedades
+ * {@code hibernate.hikari.*} do hibernate.cfg.xml, e o acesso ao banco (URL, usuário e modo) pelo
+ * {@link DatabaseSettings}. Na inicialização, as migrações do esquema são aplicadas pelo {@link SchemaMigrator}.
  */
 public class HibernateUtils {
+    /**
+     * Quantidade de parâmetros numa cláusula IN quando o dialeto não define um limite.
+     */
+    static final int DEFAULT_IN_EXPRESSION_LIMIT = 500;
+
+    /**
+     * Prefixo das propriedades do hibernate.cfg.xml repassadas ao pool de conexões.
+     */
+    static final String HIKARI_PROPERTY_PREFIX = "hibernate.hikari.";
+
+    /**
+     * Nome do MBean das estatísticas do Hibernate.
+     */
+    public static final String STATISTICS_OBJECT_NAME = "swing:type=HibernateStatistics";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HibernateUtils.class);
+
     static final SessionFactory sessionFactory;
+    static final HikariDataSource dataSource;
+    static final ConnectionPoolMetrics poolMetrics = new ConnectionPoolMetrics();
 
     static {
         try {
+            long start = System.nanoTime();
             Configuration configuration = new Configuration().configure();
             configuration.addAnnotatedClass(Book.class);
             configuration.addAnnotatedClass(Author.class);
             configuration.addAnnotatedClass(Publisher.class);
 
+            DatabaseSettings databaseSettings = DatabaseSettings.load();
+            dataSource = createDataSource(configuration.getProperties(), databaseSettings);
+            configuration.getProperties().put(AvailableSettings.DATASOURCE, dataSource);
+            // Com usuário definido o Hibernate chamaria getConnection(usuario, senha), não suportado pelo pool
+            configuration.getProperties().remove(AvailableSettings.USER);
+            configuration.getProperties().remove(AvailableSettings.PASS);
+
+            // O esquema é criado e atualizado pelas migrações; o hbm2ddl apenas o valida
+            new SchemaMigrator(dataSource).migrate();
+
             ServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder()
                     .applySettings(configuration.getProperties())
                     .build();
 
             sessionFactory = configuration.buildSessionFactory(serviceRegistry);
+            ((SessionFactoryImplementor) sessionFactory).getServiceRegistry()
+                    .getService(EventListenerRegistry.class)
+                    .appendListeners(EventType.POST_LOAD, event -> HibernateExecutor.recordEntityLoad());
+            TransactionStatistics.getInstance()
+                    .setSlowThresholdMillis(databaseSettings.getSlowTransactionThresholdMillis());
+            if (databaseSettings.isJmxEnabled()) {
+                registerMBeans();
+            }
+            LOGGER.info("Banco de dados iniciado em {} ms ({})",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), dataSource.getJdbcUrl());
+            Runtime.getRuntime().addShutdownHook(new Thread(HibernateUtils::shutdown, "hibernate-shutdown"));
         } catch (Exception ex) {
             throw new ExceptionInInitializerError(ex);
         }
@@ -35,6 +104,98 @@ public class HibernateUtils {
 
     }
 
+    /**
+     * Publica via JMX as estatísticas do Hibernate e das transações. Uma falha no registro não impede
+     * a inicialização do banco.
+     */
+    private static void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName statisticsName = new ObjectName(STATISTICS_OBJECT_NAME);
+            ObjectName transactionsName = new ObjectName(TransactionStatistics.OBJECT_NAME);
+            if (!server.isRegistered(statisticsName)) {
+                server.registerMBean(new StandardMBean(sessionFactory.getStatistics(), Statistics.class), statisticsName);
+            }
+            if (!server.isRegistered(transactionsName)) {
+                server.registerMBean(TransactionStatistics.getInstance(), transactionsName);
+            }
+        } catch (JMException e) {
+            LOGGER.warn("Não foi possível publicar as estatísticas via JMX: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Cria o pool de conexões a partir das propriedades do Hibernate e das configurações do banco.
+     * <p>
+     * No modo embarcado, se o arquivo do banco já estiver em uso (por exemplo, aberto por um servidor H2),
+     * a conexão é refeita pelo servidor TCP, quando o fallback estiver habilitado. Outros erros, como
+     * credenciais ou URL inválidas, são repassados sem fallback.
+     *
+     * @param properties       as propriedades carregadas do hibernate.cfg.xml.
+     * @param databaseSettings as configurações de acesso ao banco.
+     * @return o pool de conexões inicializado.
+     */
+    private static HikariDataSource createDataSource(Properties properties, DatabaseSettings databaseSettings) {
+        try {
+            return createDataSource(properties, databaseSettings, databaseSettings.getJdbcUrl());
+        } catch (RuntimeException e) {
+            if (databaseSettings.getMode() != DatabaseMode.EMBEDDED || !databaseSettings.isServerFallback()
+                    || !isDatabaseInUse(e)) {
+                throw e;
+            }
+            LOGGER.warn("O banco embarcado já está em uso ({}), usando o servidor TCP.", e.getMessage());
+            try {
+                return createDataSource(properties, databaseSettings, databaseSettings.getServerJdbcUrl());
+            } catch (RuntimeException fallbackError) {
+                fallbackError.addSuppressed(e);
+                throw fallbackError;
+            }
+        }
+    }
+
+    /**
+     * Verifica se o erro de abertura do banco é o bloqueio do arquivo por outro processo.
+     *
+     * @param error o erro recebido na criação do pool.
+     * @return true se alguma causa do erro é o erro do H2 de banco já em uso.
+     */
+    private static boolean isDatabaseInUse(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException && ((SQLException) cause).getErrorCode() == ErrorCode.DATABASE_ALREADY_OPEN_1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cria o pool de conexões para a URL informada.
+     *
+     * @param properties       as propriedades carregadas do hibernate.cfg.xml.
+     * @param databaseSettings as configurações de acesso ao banco.
+     * @param jdbcUrl          a URL de conexão com o banco.
+     * @return o pool de conexões inicializado.
+     */
+    private static HikariDataSource createDataSource(Properties properties, DatabaseSettings databaseSettings,
+                                                     String jdbcUrl) {
+        Properties hikariProperties = new Properties();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(HIKARI_PROPERTY_PREFIX)) {
+                hikariProperties.setProperty(name.substring(HIKARI_PROPERTY_PREFIX.length()), properties.getProperty(name));
+            }
+        }
+
+        HikariConfig config = new HikariConfig(hikariProperties);
+        config.setDriverClassName(properties.getProperty(AvailableSettings.DRIVER));
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(databaseSettings.getUser());
+        config.setPassword(databaseSettings.getPassword());
+        // O Hibernate controla as transações, as conexões não devem confirmar automaticamente
+        config.setAutoCommit(false);
+        config.setMetricsTrackerFactory(poolMetrics);
+        return new HikariDataSource(config);
+    }
+
     /**
      * Obtém a instância de SessionFactory configurada.
      *
@@ -43,4 +204,67 @@ public class HibernateUtils {
     public static SessionFactory getSessionFactory() {
         return sessionFactory;
     }
+
+    /**
+     * Obtém as estatísticas atuais do pool de conexões.
+     *
+     * @return o retrato do pool: conexões ativas, ociosas, em espera e tempos de espera.
+     */
+    public static ConnectionPoolStatistics getPoolStatistics() {
+        return new ConnectionPoolStatistics(dataSource.getHikariPoolMXBean(), dataSource.getMaximumPoolSize(), poolMetrics);
+    }
+
+    /**
+     * Obtém as estatísticas de acertos e falhas de todas as regiões do cache de segundo nível e de consultas.
+     *
+     * @return a lista de estatísticas por região.
+     */
+    public static List<CacheStatisticsSnapshot> getCacheStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> new CacheStatisticsSnapshot(region, statistics.getCacheRegionStatistics(region)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Remove uma entidade do cache de segundo nível.
+     *
+     * @param entityClass a classe da entidade.
+     * @param id          o ‘ID’ da entidade a ser removida.
+     */
+    public static void evictEntity(Class<?> entityClass, Long id) {
+        if (id != null) {
+            sessionFactory.getCache().evictEntityData(entityClass, id);
+        }
+    }
+
+    /**
+     * Obtém a quantidade máxima de parâmetros numa cláusula IN suportada pelo dialeto configurado.
+     *
+     * @return o limite do dialeto, ou o limite padrão caso o dialeto não defina um.
+     */
+    public static int getInExpressionLimit() {
+        int limit = ((SessionFactoryImplementor) sessionFactory).getJdbcServices()
+                .getDialect().getInExpressionCountLimit();
+        return limit > 0 ? Math.min(limit, DEFAULT_IN_EXPRESSION_LIMIT) : DEFAULT_IN_EXPRESSION_LIMIT;
+    }
+
+    /**
+     * Fecha a SessionFactory e o pool de conexões, registrando as estatísticas finais do pool e do cache.
+     */
+    static void shutdown() {
+        // As tarefas em andamento precisam das conexões, então o executor é encerrado primeiro
+        ServiceExecutor.shutdown();
+        if (!dataSource.isClosed()) {
+            LOGGER.info("{}", getPoolStatistics());
+        }
+        if (sessionFactory.isOpen()) {
+            getCacheStatistics().forEach(cacheStatistics -> LOGGER.info("{}", cacheStatistics));
+        }
+        if (sessionFactory.isOpen()) {
+            sessionFactory.close();
+        }
+        dataSource.close();
+    }
 }
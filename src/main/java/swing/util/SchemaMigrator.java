@@ -0,0 +1,209 @@
+package swing.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Aplica as migrações versionadas do esquema do banco de dados.
+ * <p>
+ * Cada migração é um script SQL em {@value #MIGRATION_PATH}, nomeado no formato
+ * {@code V<versão>__<descrição>.sql}, e é aplicada uma única vez. As versões já aplicadas ficam
+ * registradas na tabela {@value #VERSION_TABLE}. As migrações definem todo o esquema: elas são aplicadas
+ * antes da criação da SessionFactory, que apenas valida o mapeamento das entidades (hbm2ddl validate).
+ */
+public class SchemaMigrator {
+
+    /**
+     * Pasta do classpath onde ficam os scripts de migração.
+     */
+    static final String MIGRATION_PATH = "/db/migration/";
+
+    /**
+     * Tabela com as versões de migração já aplicadas.
+     */
+    static final String VERSION_TABLE = "schema_version";
+
+    /**
+     * Scripts de migração, em ordem de versão.
+     */
+    static final List<String> MIGRATIONS = Arrays.asList(
+            "V0__esquema_inicial.sql",
+            "V1__indices_e_restricoes_de_unicidade.sql",
+            "V2__indice_data_de_criacao_do_livro.sql",
+            "V3__versao_dos_registros.sql",
+            "V4__titulo_do_livro_sem_unicidade.sql"
+    );
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    private final DataSource dataSource;
+
+    public SchemaMigrator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Aplica, em ordem, as migrações ainda não registradas no banco.
+     * <p>
+     * Uma migração que falha não é registrada e interrompe as seguintes; ela será tentada
+     * novamente na próxima inicialização.
+     *
+     * @return a quantidade de migrações aplicadas.
+     * @throws IllegalStateException se uma migração falhar ou as versões não puderem ser verificadas,
+     *                               pois o esquema não estaria de acordo com as entidades.
+     */
+    public int migrate() {
+        int applied = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            createVersionTable(connection);
+            Set<Integer> appliedVersions = findAppliedVersions(connection);
+
+            for (String script : MIGRATIONS) {
+                int version = parseVersion(script);
+                if (appliedVersions.contains(version)) {
+                    continue;
+                }
+                try {
+                    apply(connection, version, script);
+                    applied++;
+                    LOGGER.info("Migração {} aplicada.", script);
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw new IllegalStateException("Falha ao aplicar a migração " + script + ": " + e.getMessage(), e);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Não foi possível verificar as migrações do banco de dados: "
+                    + e.getMessage(), e);
+        }
+        return applied;
+    }
+
+    /**
+     * Cria a tabela de versões, se ainda não existir.
+     *
+     * @param connection a conexão com o banco.
+     * @throws SQLException em caso de erro ao criar a tabela.
+     */
+    private void createVersionTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + VERSION_TABLE + " (" +
+                    "version INT PRIMARY KEY, " +
+                    "script VARCHAR(255) NOT NULL, " +
+                    "applied_at TIMESTAMP NOT NULL)");
+        }
+        connection.commit();
+    }
+
+    /**
+     * Busca as versões de migração já aplicadas.
+     *
+     * @param connection a conexão com o banco.
+     * @return as versões registradas na tabela de versões.
+     * @throws SQLException em caso de erro na consulta.
+     */
+    private Set<Integer> findAppliedVersions(Connection connection) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT version FROM " + VERSION_TABLE)) {
+            while (resultSet.next()) {
+                versions.add(resultSet.getInt(1));
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Executa os comandos de um script e registra a sua versão.
+     *
+     * @param connection a conexão com o banco.
+     * @param version    a versão da migração.
+     * @param script     o nome do script.
+     * @throws SQLException em caso de erro em algum comando do script.
+     */
+    private void apply(Connection connection, int version, String script) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String command : readCommands(script)) {
+                statement.execute(command);
+            }
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + VERSION_TABLE + " (version, script, applied_at) VALUES (?, ?, ?)")) {
+            insert.setInt(1, version);
+            insert.setString(2, script);
+            insert.setTimestamp(3, Timestamp.from(Instant.now()));
+            insert.executeUpdate();
+        }
+        connection.commit();
+    }
+
+    /**
+     * Lê os comandos de um script de migração, separados por ponto e vírgula.
+     * Linhas de comentário (iniciadas por {@code --}) são ignoradas.
+     *
+     * @param script o nome do script.
+     * @return os comandos do script, na ordem em que aparecem.
+     */
+    private List<String> readCommands(String script) {
+        InputStream input = SchemaMigrator.class.getResourceAsStream(MIGRATION_PATH + script);
+        if (input == null) {
+            throw new IllegalStateException("Script de migração não encontrado: " + script);
+        }
+
+        List<String> commands = new ArrayList<>();
+        StringBuilder command = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                    continue;
+                }
+                command.append(trimmed).append(' ');
+                if (trimmed.endsWith(";")) {
+                    commands.add(command.substring(0, command.lastIndexOf(";")).trim());
+                    command.setLength(0);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Erro ao ler o script de migração: " + script, e);
+        }
+        if (command.toString().trim().length() > 0) {
+            commands.add(command.toString().trim());
+        }
+        return commands;
+    }
+
+    /**
+     * Obtém a versão de um script pelo nome, no formato {@code V<versão>__<descrição>.sql}.
+     *
+     * @param script o nome do script.
+     * @return a versão do script.
+     */
+    static int parseVersion(String script) {
+        int separator = script.indexOf("__");
+        if (!script.startsWith("V") || separator < 2) {
+            throw new IllegalArgumentException("Nome de script de migração inválido: " + script);
+        }
+        return Integer.parseInt(script.substring(1, separator));
+    }
+}
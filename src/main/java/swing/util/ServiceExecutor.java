@@ -0,0 +1,206 @@
+package swing.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executor das operações de banco de dados disparadas pela interface gráfica.
+ * <p>
+ * As tarefas rodam num pool limitado de threads nomeadas ({@code servico-N}) com fila limitada. Quando a fila
+ * está cheia a tarefa é rejeitada e o futuro é concluído com {@link RejectedExecutionException}, sem bloquear
+ * quem a enviou. O cancelamento ou o tempo limite do futuro retiram a tarefa da fila; uma tarefa já em execução
+ * não é interrompida, pois a interrupção da thread pode fechar o arquivo do banco embarcado, e o seu resultado
+ * é descartado. Nas escritas ({@link #supplyWriteAsync}) o tempo limite vale só enquanto a tarefa aguarda na
+ * fila, pois uma escrita já iniciada ainda pode ser confirmada.
+ * <p>
+ * Tarefas longas, como a importação de arquivos, rodam à parte ({@link #supplyLongAsync}), numa thread própria
+ * ({@code tarefa-longa-N}), para não ocupar o pool das consultas das telas.
+ */
+public class ServiceExecutor {
+
+    /**
+     * Quantidade máxima de tarefas executadas ao mesmo tempo. Deve ser menor que o pool de conexões.
+     */
+    public static final int POOL_SIZE = 4;
+
+    /**
+     * Quantidade máxima de tarefas aguardando execução.
+     */
+    public static final int QUEUE_CAPACITY = 200;
+
+    /**
+     * Tempo limite padrão das tarefas, em milissegundos.
+     */
+    public static final long DEFAULT_TIMEOUT_MILLIS = 30_000;
+
+    /**
+     * Quantidade máxima de tarefas longas aguardando execução.
+     */
+    public static final int LONG_QUEUE_CAPACITY = 10;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServiceExecutor.class);
+
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor(POOL_SIZE, QUEUE_CAPACITY, "servico");
+    private static final ThreadPoolExecutor LONG_EXECUTOR = createExecutor(1, LONG_QUEUE_CAPACITY, "tarefa-longa");
+    private static final ScheduledExecutorService TIMEOUTS =
+            Executors.newSingleThreadScheduledExecutor(namedThreadFactory("servico-timeout"));
+
+    private ServiceExecutor() {
+    }
+
+    /**
+     * Executa uma tarefa no pool com o tempo limite padrão.
+     *
+     * @param task a tarefa que produz o resultado.
+     * @param <R>  o tipo do resultado.
+     * @return o futuro com o resultado da tarefa.
+     */
+    public static <R> CompletableFuture<R> supplyAsync(Supplier<R> task) {
+        return supplyAsync(task, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Executa uma tarefa no pool.
+     *
+     * @param task          a tarefa que produz o resultado.
+     * @param timeoutMillis o tempo limite em milissegundos; se esgotado, o futuro é concluído com
+     *                      {@link TimeoutException}. Zero ou negativo para não limitar.
+     * @param <R>           o tipo do resultado.
+     * @return o futuro com o resultado da tarefa.
+     */
+    public static <R> CompletableFuture<R> supplyAsync(Supplier<R> task, long timeoutMillis) {
+        return submit(EXECUTOR, task, timeoutMillis, true);
+    }
+
+    /**
+     * Executa uma escrita no pool.
+     * <p>
+     * Se o tempo limite se esgotar com a tarefa ainda na fila, ela é descartada e o futuro é concluído com
+     * {@link TimeoutException}. Uma escrita já iniciada é aguardada até o fim, para que o futuro não indique falha
+     * enquanto a transação ainda pode ser confirmada.
+     *
+     * @param task          a tarefa que grava e produz o resultado.
+     * @param timeoutMillis o tempo limite de espera na fila, em milissegundos. Zero ou negativo para não limitar.
+     * @param <R>           o tipo do resultado.
+     * @return o futuro com o resultado da tarefa.
+     */
+    public static <R> CompletableFuture<R> supplyWriteAsync(Supplier<R> task, long timeoutMillis) {
+        return submit(EXECUTOR, task, timeoutMillis, false);
+    }
+
+    /**
+     * Executa uma tarefa longa, sem tempo limite, fora do pool das consultas.
+     * As tarefas longas rodam uma de cada vez, na ordem de envio.
+     *
+     * @param task a tarefa que produz o resultado.
+     * @param <R>  o tipo do resultado.
+     * @return o futuro com o resultado da tarefa.
+     */
+    public static <R> CompletableFuture<R> supplyLongAsync(Supplier<R> task) {
+        return submit(LONG_EXECUTOR, task, 0, true);
+    }
+
+    /**
+     * Envia uma tarefa ao executor informado.
+     *
+     * @param executor           o executor da tarefa.
+     * @param task               a tarefa que produz o resultado.
+     * @param timeoutMillis      o tempo limite em milissegundos. Zero ou negativo para não limitar.
+     * @param timeoutWhenRunning se o tempo limite também vale depois de a tarefa iniciar.
+     * @param <R>                o tipo do resultado.
+     * @return o futuro com o resultado da tarefa.
+     */
+    private static <R> CompletableFuture<R> submit(ThreadPoolExecutor executor, Supplier<R> task, long timeoutMillis,
+                                                   boolean timeoutWhenRunning) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        AtomicBoolean started = new AtomicBoolean();
+        Future<?> submitted;
+        try {
+            submitted = executor.submit(() -> {
+                // Cancelada ou expirada enquanto aguardava na fila
+                if (!started.compareAndSet(false, true) || future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(task.get());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Tarefa rejeitada: {} tarefas aguardando execução.", executor.getQueue().size());
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        if (timeoutMillis > 0) {
+            ScheduledFuture<?> timeout = TIMEOUTS.schedule(() -> {
+                // Sem a marca, uma escrita que acabou de iniciar ainda pode ser confirmada
+                if (timeoutWhenRunning || started.compareAndSet(false, true)) {
+                    future.completeExceptionally(
+                            new TimeoutException("A operação excedeu o tempo limite de " + timeoutMillis + " ms."));
+                }
+            }, timeoutMillis, TimeUnit.MILLISECONDS);
+            future.whenComplete((result, error) -> timeout.cancel(false));
+        }
+        future.whenComplete((result, error) -> {
+            if (submitted.cancel(false)) {
+                executor.purge();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Encerra os pools, aguardando brevemente as tarefas em execução. Tarefas na fila não são executadas.
+     */
+    public static void shutdown() {
+        EXECUTOR.shutdown();
+        LONG_EXECUTOR.shutdown();
+        TIMEOUTS.shutdownNow();
+        try {
+            if (!EXECUTOR.awaitTermination(5, TimeUnit.SECONDS) || !LONG_EXECUTOR.awaitTermination(5, TimeUnit.SECONDS)) {
+                LOGGER.warn("Tarefas ainda em execução no encerramento: {}",
+                        EXECUTOR.getActiveCount() + LONG_EXECUTOR.getActiveCount());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Cria um pool limitado de threads das tarefas.
+     *
+     * @param poolSize      a quantidade de threads.
+     * @param queueCapacity a quantidade máxima de tarefas aguardando execução.
+     * @param prefix        o prefixo do nome das threads.
+     * @return o executor.
+     */
+    private static ThreadPoolExecutor createExecutor(int poolSize, int queueCapacity, String prefix) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedThreadFactory(prefix),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Cria uma fábrica de threads daemon com o prefixo de nome informado.
+     *
+     * @param prefix o prefixo do nome das threads.
+     * @return a fábrica de threads.
+     */
+    public static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -3,6 +3,7 @@ package swing.util;
 import org.apache.commons.text.WordUtils;
 
 import java.text.Normalizer;
+import java.util.Locale;
 
 public class StringUtils extends WordUtils {
 
@@ -33,6 +34,20 @@ public class StringUtils extends WordUtils {
         return Normalizer.normalize(value, Normalizer.Form.NFD).replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
     }
 
+    /**
+     * Converte uma ‘string’ para a forma canônica usada em comparações de nomes:
+     * sem acentos, sem espaços excessivos e em letras minúsculas.
+     *
+     * @param value a ‘string’ a ser convertida
+     * @return a forma canônica da ‘string’, ou null se a entrada for nula
+     */
+    public static String toCanonicalForm(String value) {
+        if (value == null) {
+            return null;
+        }
+        return removeAccents(removeExcessiveSpaces(value)).toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Verifica se uma string é nula ou vazia e retorna uma string vazia se for o caso.
      *
@@ -0,0 +1,121 @@
+package swing.util;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Métricas de uma unidade de trabalho, coletadas pela sessão do Hibernate.
+ * <p>
+ * Registrada na abertura da sessão como ouvinte de eventos (tempo e quantidade de comandos JDBC) e como
+ * inspetor de comandos (texto do SQL). As entidades carregadas são contadas pelo ouvinte de pós-carga
+ * registrado em {@link HibernateUtils}. Os comandos iguais são agrupados, e apenas os primeiros
+ * {@value #MAX_DISTINCT_STATEMENTS} comandos distintos são guardados.
+ */
+class TransactionMetrics extends BaseSessionEventListener implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Quantidade máxima de comandos SQL distintos guardados por transação.
+     */
+    static final int MAX_DISTINCT_STATEMENTS = 20;
+
+    private final String caller;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Integer> statements = new LinkedHashMap<>();
+    private int statementCount;
+    private int omittedStatements;
+    private int entitiesLoaded;
+    private long jdbcNanos;
+    private long jdbcStart = -1;
+
+    TransactionMetrics(String caller) {
+        this.caller = caller;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (statements.containsKey(sql) || statements.size() < MAX_DISTINCT_STATEMENTS) {
+            statements.merge(sql, 1, Integer::sum);
+        } else {
+            omittedStatements++;
+        }
+        return sql;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        jdbcStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        recordExecution();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        jdbcStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        recordExecution();
+    }
+
+    /**
+     * Registra uma entidade carregada pela sessão.
+     */
+    void recordEntityLoad() {
+        entitiesLoaded++;
+    }
+
+    /**
+     * Obtém a duração da transação até o momento.
+     *
+     * @return a duração em nanossegundos.
+     */
+    long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Contabiliza uma execução de comando ou lote JDBC.
+     */
+    private void recordExecution() {
+        statementCount++;
+        if (jdbcStart >= 0) {
+            jdbcNanos += System.nanoTime() - jdbcStart;
+            jdbcStart = -1;
+        }
+    }
+
+    // <editor-fold desc="Getters">
+    String getCaller() {
+        return caller;
+    }
+
+    Map<String, Integer> getStatements() {
+        return statements;
+    }
+
+    int getStatementCount() {
+        return statementCount;
+    }
+
+    int getOmittedStatements() {
+        return omittedStatements;
+    }
+
+    int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    long getJdbcNanos() {
+        return jdbcNanos;
+    }
+    // </editor-fold>
+}
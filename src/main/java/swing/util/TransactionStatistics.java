@@ -0,0 +1,203 @@
+package swing.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estatísticas das transações executadas pelo {@link HibernateExecutor}.
+ * <p>
+ * Cada transação é contabilizada no método de serviço que a iniciou (duração, comandos JDBC e entidades
+ * carregadas). Transações mais demoradas que o limite configurado são registradas no log de transações lentas
+ * num formato chave=valor, com os comandos SQL executados. As estatísticas são publicadas via JMX
+ * em {@value #OBJECT_NAME}.
+ */
+public class TransactionStatistics implements TransactionStatisticsMBean {
+
+    /**
+     * Nome do MBean das estatísticas de transações.
+     */
+    public static final String OBJECT_NAME = "swing:type=TransactionStatistics";
+
+    /**
+     * Identificação usada quando o método chamador não é encontrado na pilha.
+     */
+    static final String UNKNOWN_CALLER = "desconhecido";
+
+    private static final Logger SLOW_LOGGER = LoggerFactory.getLogger("swing.util.TransactionStatistics.slow");
+    private static final TransactionStatistics INSTANCE = new TransactionStatistics();
+
+    private final Map<String, CallerStatistics> callers = new ConcurrentHashMap<>();
+    private final LongAdder transactionCount = new LongAdder();
+    private final LongAdder slowTransactionCount = new LongAdder();
+    private volatile long slowThresholdMillis = 200;
+
+    private TransactionStatistics() {
+    }
+
+    /**
+     * Obtém a instância única das estatísticas.
+     *
+     * @return as estatísticas de transações.
+     */
+    public static TransactionStatistics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Contabiliza uma transação encerrada e a registra no log se ultrapassar o limite de transação lenta.
+     *
+     * @param metrics   as métricas coletadas pela sessão.
+     * @param committed true se a transação foi confirmada, false se foi desfeita.
+     */
+    void record(TransactionMetrics metrics, boolean committed) {
+        long elapsedNanos = metrics.getElapsedNanos();
+        transactionCount.increment();
+        callers.computeIfAbsent(metrics.getCaller(), caller -> new CallerStatistics())
+                .record(elapsedNanos, metrics.getStatementCount(), metrics.getEntitiesLoaded());
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (elapsedMillis < slowThresholdMillis) {
+            return;
+        }
+        slowTransactionCount.increment();
+        if (SLOW_LOGGER.isWarnEnabled()) {
+            SLOW_LOGGER.warn("transacao_lenta caller=\"{}\" duracao_ms={} jdbc_ms={} comandos={} entidades_carregadas={} " +
+                            "resultado={} sql=[{}]",
+                    metrics.getCaller(), elapsedMillis, TimeUnit.NANOSECONDS.toMillis(metrics.getJdbcNanos()),
+                    metrics.getStatementCount(), metrics.getEntitiesLoaded(), committed ? "commit" : "rollback",
+                    formatStatements(metrics));
+        }
+    }
+
+    /**
+     * Identifica o método que iniciou a transação, a partir da pilha de chamadas.
+     * <p>
+     * O resultado é o primeiro método de serviço ou repositório da pilha seguido, quando houver, do primeiro
+     * método fora da camada de dados (controlador ou tela), no formato {@code Servico.metodo < Tela.metodo}.
+     * Classes utilitárias e lambdas são ignoradas.
+     *
+     * @return a identificação do chamador.
+     */
+    static String findCaller() {
+        String dataLayerFrame = null;
+        for (StackTraceElement frame : new Throwable().getStackTrace()) {
+            String className = frame.getClassName();
+            if (!className.startsWith("swing.") || className.startsWith("swing.util.")
+                    || frame.getMethodName().startsWith("lambda$")) {
+                continue;
+            }
+            boolean dataLayer = className.startsWith("swing.service.") || className.startsWith("swing.repository.");
+            if (dataLayerFrame == null) {
+                if (!dataLayer) {
+                    return describe(frame);
+                }
+                dataLayerFrame = describe(frame);
+            } else if (!dataLayer) {
+                return dataLayerFrame + " < " + describe(frame);
+            }
+        }
+        return dataLayerFrame == null ? UNKNOWN_CALLER : dataLayerFrame;
+    }
+
+    @Override
+    public long getTransactionCount() {
+        return transactionCount.sum();
+    }
+
+    @Override
+    public long getSlowTransactionCount() {
+        return slowTransactionCount.sum();
+    }
+
+    @Override
+    public long getSlowThresholdMillis() {
+        return slowThresholdMillis;
+    }
+
+    @Override
+    public void setSlowThresholdMillis(long slowThresholdMillis) {
+        this.slowThresholdMillis = slowThresholdMillis;
+    }
+
+    @Override
+    public String[] getCallerSummaries() {
+        return callers.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, CallerStatistics> entry) ->
+                        entry.getValue().totalNanos.sum()).reversed())
+                .map(entry -> entry.getValue().describe(entry.getKey()))
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public void reset() {
+        callers.clear();
+        transactionCount.reset();
+        slowTransactionCount.reset();
+    }
+
+    /**
+     * Formata um quadro da pilha como {@code Classe.metodo}, sem o pacote.
+     *
+     * @param frame o quadro da pilha.
+     * @return a descrição do método.
+     */
+    private static String describe(StackTraceElement frame) {
+        String className = frame.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+    }
+
+    /**
+     * Formata os comandos SQL da transação, com a quantidade de execuções de cada um.
+     *
+     * @param metrics as métricas da transação.
+     * @return os comandos separados por " | ".
+     */
+    private static String formatStatements(TransactionMetrics metrics) {
+        StringBuilder sql = new StringBuilder();
+        metrics.getStatements().forEach((statement, count) -> {
+            if (sql.length() > 0) {
+                sql.append(" | ");
+            }
+            sql.append(count).append("x ").append(statement);
+        });
+        if (metrics.getOmittedStatements() > 0) {
+            sql.append(" | (+").append(metrics.getOmittedStatements()).append(" comandos omitidos)");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Totais das transações iniciadas por um mesmo método.
+     */
+    private static final class CallerStatistics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder entitiesLoaded = new LongAdder();
+
+        private void record(long elapsedNanos, int statementCount, int entityCount) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+            statements.add(statementCount);
+            entitiesLoaded.add(entityCount);
+        }
+
+        private String describe(String caller) {
+            long transactions = Math.max(1, count.sum());
+            return String.format("%s: transações=%d, total=%.1f ms, média=%.2f ms, máximo=%.1f ms, " +
+                            "comandos/transação=%.1f, entidades/transação=%.1f",
+                    caller, count.sum(), totalNanos.sum() / 1e6, totalNanos.sum() / 1e6 / transactions,
+                    maxNanos.get() / 1e6, (double) statements.sum() / transactions,
+                    (double) entitiesLoaded.sum() / transactions);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package swing.util;
+
+/**
+ * Interface de gerenciamento (JMX) das estatísticas de transações.
+ */
+public interface TransactionStatisticsMBean {
+
+    long getTransactionCount();
+
+    long getSlowTransactionCount();
+
+    long getSlowThresholdMillis();
+
+    void setSlowThresholdMillis(long slowThresholdMillis);
+
+    /**
+     * Obtém o resumo das transações agrupadas pelo método que as iniciou, da maior para a menor duração total.
+     *
+     * @return uma linha por método chamador.
+     */
+    String[] getCallerSummaries();
+
+    /**
+     * Descarta as estatísticas acumuladas.
+     */
+    void reset();
+}
@@ -0,0 +1,80 @@
+package swing.util;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unidade de trabalho associada à thread corrente.
+ * <p>
+ * Mantém a sessão e a transação abertas pela chamada mais externa de {@link HibernateExecutor},
+ * permitindo que chamadas aninhadas de serviços e repositórios compartilhem a mesma sessão
+ * (e o mesmo cache de primeiro nível) e sejam confirmadas num único commit.
+ */
+class UnitOfWork {
+
+    private final Session session;
+    private final Transaction transaction;
+    private final TransactionMetrics metrics;
+    private final boolean readOnly;
+    private final List<Runnable> afterCommitActions = new ArrayList<>();
+    private boolean rollbackOnly;
+
+    UnitOfWork(Session session, TransactionMetrics metrics, boolean readOnly) {
+        this.session = session;
+        this.metrics = metrics;
+        this.readOnly = readOnly;
+        if (readOnly) {
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+            // O pool restaura o modo da conexão quando ela é devolvida
+            session.doWork(connection -> connection.setReadOnly(true));
+        }
+        this.transaction = session.beginTransaction();
+    }
+
+    /**
+     * Marca a unidade de trabalho para ser desfeita ao final, mesmo que a chamada externa termine sem erros.
+     */
+    void markRollbackOnly() {
+        this.rollbackOnly = true;
+    }
+
+    /**
+     * Registra uma ação para ser executada somente após o commit da unidade de trabalho.
+     *
+     * @param action a ação a ser executada.
+     */
+    void addAfterCommitAction(Runnable action) {
+        afterCommitActions.add(action);
+    }
+
+    // <editor-fold desc="Getters">
+    Session getSession() {
+        return session;
+    }
+
+    Transaction getTransaction() {
+        return transaction;
+    }
+
+    TransactionMetrics getMetrics() {
+        return metrics;
+    }
+
+    boolean isReadOnly() {
+        return readOnly;
+    }
+
+    boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    List<Runnable> getAfterCommitActions() {
+        return afterCommitActions;
+    }
+    // </editor-fold>
+}
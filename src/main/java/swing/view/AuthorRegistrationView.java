@@ -69,10 +69,15 @@ public class AuthorRegistrationView extends JDialog {
             if (author == null) {
                 author = new Author();
             }
-            boolean successfully = controller.saveAuthor(getId(), getCommercialName(), getFullName(), getMainGenre());
-            if (successfully) {
-                dispose();
-            }
+            btnSave.setEnabled(false);
+            controller.saveAuthor(getId(), author.getVersion(), getCommercialName(), getFullName(), getMainGenre(),
+                    successfully -> {
+                        if (successfully) {
+                            dispose();
+                        } else {
+                            btnSave.setEnabled(true);
+                        }
+                    });
         });
 
         // Botão de excluir
@@ -130,10 +135,7 @@ public class AuthorRegistrationView extends JDialog {
      * Exclui o registro do livro.
      */
     private void deleteRecord() {
-        boolean response = controller.deleteRecord(this.author);
-        if (response) {
-            dispose();
-        }
+        controller.deleteRecord(this.author, this::dispose);
     }
 
     /**
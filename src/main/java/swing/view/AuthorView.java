@@ -7,14 +7,12 @@ import swing.configs.GeneralProperties;
 import swing.controller.AuthorController;
 import swing.model.Author;
 import swing.model.dto.AuthorDTO;
+import swing.model.page.PageRequest;
 import swing.util.ComponentUtils;
 
 import javax.swing.*;
 import javax.swing.border.Border;
 import java.awt.*;
-import java.awt.event.WindowAdapter;
-import java.awt.event.WindowEvent;
-import java.util.List;
 
 /**
  * Um JPanel que representa a visualização do autor.
@@ -56,6 +54,13 @@ public class AuthorView extends JPanel {
                 (autor) -> openForm(null)
 
         );
+        table.enablePaging(authorController::getAuthorsDTOPage, PageRequest.DEFAULT_PAGE_SIZE);
+        // Inclusões, alterações e exclusões atualizam apenas as linhas afetadas
+        table.enableChangeEvents(Author.class, authorController::getAuthorsDTOByIds);
+        // Ações em lote sobre as linhas selecionadas (Ctrl/Shift + clique)
+        table.addStatusSelectionButton("Alterar status dos selecionados", GeneralProperties.ICONS_EDIT_PNG,
+                authorController::changeAuthorsStatus);
+        table.addSelectionButton("Excluir selecionados", GeneralProperties.ICONS_DELETE_PNG, authorController::deleteAuthors);
 
         refreshAuthorTable();
 
@@ -83,12 +88,6 @@ public class AuthorView extends JPanel {
     public void openForm(Author author) {
         AuthorRegistrationView authorRegistrationView = new AuthorRegistrationView((JFrame) SwingUtilities.getWindowAncestor(this), author);
         authorRegistrationView.setVisible(true);
-        authorRegistrationView.addWindowListener(new WindowAdapter() {
-            @Override
-            public void windowClosed(WindowEvent windowEvent) {
-                refreshAuthorTable();
-            }
-        });
     }
 
 
@@ -96,8 +95,7 @@ public class AuthorView extends JPanel {
      * Método para atualizar a tabela de autors com os dados mais recentes
      */
     public void refreshAuthorTable() {
-        List<AuthorDTO> autors = authorController.getAuthorsDTO();
-        table.refreshData(autors);
+        table.reloadPages();
     }
 
     /**
@@ -7,7 +7,9 @@ import swing.model.Author;
 import swing.model.Book;
 import swing.model.Publisher;
 import swing.model.dto.BookDTO;
+import swing.util.AsyncExecutor;
 import swing.util.DateUtils;
+import swing.util.MessageUtils;
 
 import javax.swing.*;
 import java.awt.*;
@@ -84,11 +86,15 @@ public class BookRegistrationView extends JDialog {
             if (book == null) {
                 book = new Book();
             }
-            boolean successfully = controller.saveBook(getId(), getTitle(), getIdAuthors(), getIdPublishers(),
-                    getISBN(), getPublicationDate(), getSimilarBooks());
-            if (successfully) {
-                dispose();
-            }
+            btnSave.setEnabled(false);
+            controller.saveBook(getId(), book.getVersion(), getTitle(), getIdAuthors(), getIdPublishers(),
+                    getISBN(), getPublicationDate(), getSimilarBooks(), successfully -> {
+                        if (successfully) {
+                            dispose();
+                        } else {
+                            btnSave.setEnabled(true);
+                        }
+                    });
         });
 
         // Botão de excluir
@@ -127,10 +133,7 @@ public class BookRegistrationView extends JDialog {
      * Exclui o registro do livro.
      */
     private void deleteRecord() {
-        boolean response = controller.deleteBook(book);
-        if (response) {
-            dispose();
-        }
+        controller.deleteBook(book, this::dispose);
     }
 
     /**
@@ -161,8 +164,7 @@ public class BookRegistrationView extends JDialog {
         FieldGroup<CustomTextField> fieldGroupTitle = new FieldGroup<>(fieldTxtTitle, "Título");
         formPanel.add(fieldGroupTitle);
 
-        List<Publisher> publishers = loadPublishers();
-        fieldPublishers = new FieldGroupMultiSelect<>(this, publishers, () -> {
+        fieldPublishers = new FieldGroupMultiSelect<>(this, new ArrayList<>(), () -> {
             Publisher newPublisher = new Publisher();
             newPublisher.setName("Nova Editora");
             return newPublisher;
@@ -171,14 +173,12 @@ public class BookRegistrationView extends JDialog {
         formPanel.add(fieldGroupPublisher);
 
 
-        List<Book> similarBooks = loadSimilarBooks(this.book);
-        fieldBooks = new FieldGroupMultiSelect<>(this, similarBooks, null);
+        fieldBooks = new FieldGroupMultiSelect<>(this, new ArrayList<>(), null);
         FieldGroup<FieldGroupMultiSelect<Book>> fieldGroupSimilarBooks = new FieldGroup<>(fieldBooks, "Livros Semelhantes");
         formPanel.add(fieldGroupSimilarBooks);
 
-        List<Author> authors = loadAuthors();
         FieldGroup<FieldGroupMultiSelect<Author>> fieldGroupAuthor = new FieldGroup<>(fieldAuthors, "Autores");
-        fieldAuthors = new FieldGroupMultiSelect<>(this, authors, () -> {
+        fieldAuthors = new FieldGroupMultiSelect<>(this, new ArrayList<>(), () -> {
             openAuthorRegistrationForm();
             return null;
         });
@@ -190,17 +190,23 @@ public class BookRegistrationView extends JDialog {
 
         FieldGroup<CustomMaskedText> fieldGroupPublicationDate = new FieldGroup<>(fieldPublicationDate, "Data de Publicação");
         formPanel.add(fieldGroupPublicationDate);
+
+        // As opções são carregadas em segundo plano e preenchidas quando chegarem
+        loadPublishers(null);
+        loadAuthors(null);
+        loadSimilarBooks(this.book);
         return formPanel;
     }
 
     /**
-     * Carrega a lista de livros, com exceção do livro atual (se houver).
+     * Carrega em segundo plano a lista de livros, com exceção do livro atual (se houver).
      *
      * @param book Livro atual, que não deve ser incluído na lista de semelhantes.
-     * @return Lista de livros semelhantes.
      */
-    private List<Book> loadSimilarBooks(Book book) {
-        return controller.loadSimilarBooks(book);
+    private void loadSimilarBooks(Book book) {
+        AsyncExecutor.onEdt(controller.loadSimilarBooks(book),
+                similarBooks -> fieldBooks.setAllItems(new ArrayList<>(similarBooks)),
+                this::showLoadError);
     }
 
     /**
@@ -212,28 +218,47 @@ public class BookRegistrationView extends JDialog {
         authorRegistrationView.addWindowListener(new java.awt.event.WindowAdapter() {
             @Override
             public void windowClosed(java.awt.event.WindowEvent windowEvent) {
-                fieldAuthors.setAllItems(loadAuthors());
+                loadAuthors(null);
             }
         });
     }
 
     /**
-     * Carrega a lista de editoras disponíveis.
+     * Carrega em segundo plano a lista de editoras disponíveis.
      *
-     * @return Lista de editoras.
+     * @param onLoaded ação executada no EDT após preencher a lista (opcional).
      */
-    private List<Publisher> loadPublishers() {
-        return new ArrayList<>(controller.loadPublishers());
+    private void loadPublishers(Runnable onLoaded) {
+        AsyncExecutor.onEdt(controller.loadPublishers(), publishers -> {
+            fieldPublishers.setAllItems(new ArrayList<>(publishers));
+            if (onLoaded != null) {
+                onLoaded.run();
+            }
+        }, this::showLoadError);
     }
 
 
     /**
-     * Carrega a lista de autores disponíveis.
+     * Carrega em segundo plano a lista de autores disponíveis.
      *
-     * @return Lista de autores.
+     * @param onLoaded ação executada no EDT após preencher a lista (opcional).
      */
-    private List<Author> loadAuthors() {
-        return new ArrayList<>(controller.loadAuthors());
+    private void loadAuthors(Runnable onLoaded) {
+        AsyncExecutor.onEdt(controller.loadAuthors(), authors -> {
+            fieldAuthors.setAllItems(new ArrayList<>(authors));
+            if (onLoaded != null) {
+                onLoaded.run();
+            }
+        }, this::showLoadError);
+    }
+
+    /**
+     * Exibe o erro de carregamento das opções do formulário.
+     *
+     * @param error o erro ocorrido.
+     */
+    private void showLoadError(Throwable error) {
+        MessageUtils.error(this, "Erro ao carregar os dados do formulário: " + error.getMessage());
     }
 
     /**
@@ -260,10 +285,13 @@ public class BookRegistrationView extends JDialog {
                 if (isEdition) {
                     return;
                 }
-                BookDTO bookDTO = controller.findByIsbn(txtISBN.getText());
-                if (bookDTO != null) {
-                    loadFormData(bookDTO);
-                }
+                AsyncExecutor.onEdt(controller.findByIsbn(txtISBN.getText()),
+                        bookDTO -> {
+                            if (bookDTO != null) {
+                                loadFormData(bookDTO);
+                            }
+                        },
+                        error -> MessageUtils.error(BookRegistrationView.this, "Erro ao buscar o livro pelo ISBN: " + error.getMessage()));
             }
         });
 
@@ -294,11 +322,9 @@ public class BookRegistrationView extends JDialog {
         List<Author> filledAuthors = controller.getFilledAuthors(bookDTO.getAuthors());
         List<Publisher> filledPublishers = controller.getFilledPublishers(bookDTO.getPublishers());
 
-        fieldAuthors.setAllItems(loadAuthors());
-        fieldPublishers.setAllItems(loadPublishers());
-
-        fieldAuthors.setSelectedItemsByRawItems(filledAuthors);
-        fieldPublishers.setSelectedItemsByRawItems(filledPublishers);
+        // A seleção depende da lista completa, que pode ter ganhado registros criados acima
+        loadAuthors(() -> fieldAuthors.setSelectedItemsByRawItems(filledAuthors));
+        loadPublishers(() -> fieldPublishers.setSelectedItemsByRawItems(filledPublishers));
         String publisherDate = bookDTO.getPublicationDate();
         if (publisherDate != null && !publisherDate.isEmpty()) {
             LocalDate localDate = DateUtils.textToDate(publisherDate, LocalDate.class);
@@ -5,16 +5,17 @@ import swing.components.CustomTextField;
 import swing.components.PanelRoundedBorder;
 import swing.configs.GeneralProperties;
 import swing.controller.BookController;
+import swing.model.Author;
 import swing.model.Book;
+import swing.model.Publisher;
 import swing.model.dto.BookDTO;
+import swing.model.page.PageRequest;
 import swing.util.ComponentUtils;
+import swing.util.StringUtils;
 
 import javax.swing.*;
 import javax.swing.border.Border;
 import java.awt.*;
-import java.awt.event.WindowAdapter;
-import java.awt.event.WindowEvent;
-import java.util.List;
 
 /**
  * Classe que representa a visão de livros.
@@ -56,6 +57,15 @@ public class BookView extends JPanel {
                 (livro) -> openForm(null)
 
         );
+        table.enablePaging(bookController::getBooksDTOPage, PageRequest.DEFAULT_PAGE_SIZE);
+        // Inclusões, alterações e exclusões atualizam apenas as linhas afetadas
+        table.enableChangeEvents(Book.class, bookController::getBooksDTOByIds);
+        // Os nomes de autores e editoras aparecem nas linhas dos livros
+        table.reloadOnChangesOf(Author.class, Publisher.class);
+        // Ações em lote sobre as linhas selecionadas (Ctrl/Shift + clique)
+        table.addStatusSelectionButton("Alterar status dos selecionados", GeneralProperties.ICONS_EDIT_PNG,
+                bookController::changeBooksStatus);
+        table.addSelectionButton("Excluir selecionados", GeneralProperties.ICONS_DELETE_PNG, bookController::deleteBooks);
 
         table.addCustomButton("Importar CSV", GeneralProperties.ICONS_IMPORT_PNG, e -> abrirImportarLivrosCSV());
 
@@ -82,12 +92,6 @@ public class BookView extends JPanel {
     private void abrirImportarLivrosCSV() {
         ImportBooksView importBooksView = new ImportBooksView((JFrame) SwingUtilities.getWindowAncestor(this));
         importBooksView.setVisible(true);
-        importBooksView.addWindowListener(new WindowAdapter() {
-            @Override
-            public void windowClosed(WindowEvent windowEvent) {
-                refreshBookTable();
-            }
-        });
     }
 
     /**
@@ -98,12 +102,6 @@ public class BookView extends JPanel {
     public void openForm(Book book) {
         BookRegistrationView bookRegistrationView = new BookRegistrationView((JFrame) SwingUtilities.getWindowAncestor(this), book);
         bookRegistrationView.setVisible(true);
-        bookRegistrationView.addWindowListener(new WindowAdapter() {
-            @Override
-            public void windowClosed(WindowEvent windowEvent) {
-                refreshBookTable();
-            }
-        });
     }
 
 
@@ -111,8 +109,25 @@ public class BookView extends JPanel {
      * Método para atualizar a tabela de livros com os dados mais recentes
      */
     public void refreshBookTable() {
-        List<BookDTO> livros = bookController.getBooksDTO();
-        table.refreshData(livros);
+        table.reloadPages();
+    }
+
+    /**
+     * Método para buscar livros pelo texto informado, exibindo os resultados paginados na tabela.
+     * Com o texto vazio, a tabela volta a exibir todos os livros.
+     *
+     * @param text o texto da busca
+     */
+    private void searchBooks(String text) {
+        boolean searching = !StringUtils.isNullOrEmpty(text);
+        if (searching) {
+            table.enablePaging(pageRequest -> bookController.searchBooksPage(text, pageRequest), PageRequest.DEFAULT_PAGE_SIZE);
+        } else {
+            table.enablePaging(bookController::getBooksDTOPage, PageRequest.DEFAULT_PAGE_SIZE);
+        }
+        // Livros incluídos durante a busca podem não corresponder ao texto buscado
+        table.setAppendInsertedRows(!searching);
+        refreshBookTable();
     }
 
     /**
@@ -145,7 +160,8 @@ public class BookView extends JPanel {
         gbc.weightx = 1.0;
         CustomTextField campoBusca = new CustomTextField();
 
-        ComponentUtils.addListenerSearchFieldTable(campoBusca, table.getTable());
+        // A busca é feita no banco inteiro, pelo índice de busca, e não apenas nas linhas já carregadas
+        ComponentUtils.addSearchListener(campoBusca, this::searchBooks);
         formPanel.add(campoBusca, gbc);
         add(formPanel, BorderLayout.NORTH);
     }
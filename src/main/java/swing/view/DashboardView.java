@@ -1,10 +1,14 @@
 package swing.view;
 
 import swing.controller.DashboardController;
+import swing.util.AsyncExecutor;
+import swing.util.MessageUtils;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.util.Objects;
 
 /**
@@ -17,6 +21,8 @@ public class DashboardView extends JPanel {
     JLabel labelEditoras;
     JLabel labelUltimoLivro;
 
+    private static final String LOADING = "...";
+
     DashboardController controller = new DashboardController();
 
     public DashboardView() {
@@ -35,10 +41,11 @@ public class DashboardView extends JPanel {
         panelCenter.setBackground(Color.WHITE);
 
         // Quadrantes
-        labelLivros = createCard("📚 Total de Livros", controller.getBookCount());
-        labelAutores = createCard("👤 Total de Autores", controller.getAuthorCount());
-        labelEditoras = createCard("🏢 Total de Editoras", controller.getPublisherCount());
-        labelUltimoLivro = createCard("🆕 Último Livro", controller.getLastBookName());
+        // Os valores são preenchidos por refresh(), após a leitura em segundo plano
+        labelLivros = createCard("📚 Total de Livros", LOADING);
+        labelAutores = createCard("👤 Total de Autores", LOADING);
+        labelEditoras = createCard("🏢 Total de Editoras", LOADING);
+        labelUltimoLivro = createCard("🆕 Último Livro", LOADING);
 
         panelCenter.add(labelLivros.getParent());
         panelCenter.add(labelAutores.getParent());
@@ -46,6 +53,29 @@ public class DashboardView extends JPanel {
         panelCenter.add(labelUltimoLivro.getParent());
 
         add(panelCenter, BorderLayout.CENTER);
+        refresh();
+
+        // As estatísticas ficam em memória, então podem ser atualizadas sempre que a tela é exibida
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentShown(ComponentEvent e) {
+                refresh();
+            }
+        });
+    }
+
+    /**
+     * Atualiza os quadrantes com as estatísticas atuais.
+     */
+    public void refresh() {
+        AsyncExecutor.onEdt(controller.loadStatistics(),
+                loaded -> {
+                    labelLivros.setText(controller.getBookCount());
+                    labelAutores.setText(controller.getAuthorCount());
+                    labelEditoras.setText(controller.getPublisherCount());
+                    labelUltimoLivro.setText(controller.getLastBookName());
+                },
+                error -> MessageUtils.error(this, "Erro ao carregar as estatísticas: " + error.getMessage()));
     }
 
     /**
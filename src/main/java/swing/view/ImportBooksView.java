@@ -12,6 +12,8 @@ import swing.util.DateUtils;
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.File;
 import java.time.LocalDateTime;
 
@@ -25,6 +27,11 @@ public class ImportBooksView extends JDialog {
     private final JPanel mainPanel;
     private CustomFileChooser fileChooser;
     private CustomTextArea areaLog;
+    private JCheckBox bulkModeCheckBox;
+    private JCheckBox dryRunCheckBox;
+    private CustomButton selectButton;
+    private CustomButton applyButton;
+    private CustomButton cancelButton;
 
 
     public ImportBooksView(JFrame parent) {
@@ -38,6 +45,13 @@ public class ImportBooksView extends JDialog {
         setContentPane(mainPanel);
         setMinimumSize(new Dimension(700, 400));
         setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        // Fechar a tela interrompe a importação em andamento; as linhas já gravadas são mantidas
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                controller.cancelImport();
+            }
+        });
         pack();
         setLocationRelativeTo(parent);
         setResizable(false);
@@ -78,10 +92,33 @@ public class ImportBooksView extends JDialog {
      * Método para iniciar o formulário.
      */
     private void loadForm() {
-        CustomButton selectButton = new CustomButton("...");
-
+        selectButton = new CustomButton("...");
         selectButton.setPreferredSize(new Dimension(50, 30));
 
+        cancelButton = new CustomButton("Cancelar");
+        cancelButton.setPreferredSize(new Dimension(90, 30));
+        cancelButton.setEnabled(false);
+        cancelButton.addActionListener(e -> {
+            cancelButton.setEnabled(false);
+            controller.cancelImport();
+        });
+
+        applyButton = new CustomButton("Aplicar");
+        applyButton.setPreferredSize(new Dimension(90, 30));
+        applyButton.setEnabled(false);
+        applyButton.setToolTipText("Importa o arquivo simulado, sem regravar os livros sem alterações.");
+        applyButton.addActionListener(e -> {
+            boolean bulkMode = bulkModeCheckBox.isSelected();
+            setImporting(true);
+            AsyncExecutor.runAsync(
+                    () -> controller.applyPlan(bulkMode),
+                    () -> {
+                        setImporting(false);
+                        addLog(null, "✅ Importação finalizada.");
+                    }
+            );
+        });
+
         JPanel painel = new JPanel(new GridBagLayout());
         GridBagConstraints gbc = new GridBagConstraints();
 
@@ -89,6 +126,12 @@ public class ImportBooksView extends JDialog {
         fieldFile.setEditable(false);
         fieldFile.setEnabled(false);
 
+        bulkModeCheckBox = new JCheckBox("Importação em lote (arquivos grandes)");
+        bulkModeCheckBox.setToolTipText("Grava os livros em blocos, com inserts em lote, sem o log detalhado por linha.");
+
+        dryRunCheckBox = new JCheckBox("Apenas simular (não grava no banco)");
+        dryRunCheckBox.setToolTipText("Compara o arquivo com os livros cadastrados e mostra o que seria incluído ou alterado.");
+
         selectButton.addActionListener(e -> {
             JFileChooser selector = new JFileChooser();
             selector.setDialogTitle("Escolha um arquivo");
@@ -101,10 +144,27 @@ public class ImportBooksView extends JDialog {
                 File file = selector.getSelectedFile();
                 fieldFile.setText(file.getAbsolutePath());
 
-                AsyncExecutor.runAsync(
-                        () -> controller.importBooks(file),
-                        () -> addLog(null, "✅ Importação finalizada.")
-                );
+                boolean bulkMode = bulkModeCheckBox.isSelected();
+                setImporting(true);
+                if (dryRunCheckBox.isSelected()) {
+                    AsyncExecutor.runAsync(
+                            () -> controller.planImport(file),
+                            () -> {
+                                setImporting(false);
+                                addLog(null, controller.hasPlan()
+                                        ? "✅ Simulação finalizada. Clique em Aplicar para importar o arquivo."
+                                        : "✅ Simulação finalizada.");
+                            }
+                    );
+                } else {
+                    AsyncExecutor.runAsync(
+                            () -> controller.importBooks(file, bulkMode),
+                            () -> {
+                                setImporting(false);
+                                addLog(null, "✅ Importação finalizada.");
+                            }
+                    );
+                }
             }
         });
 
@@ -122,9 +182,42 @@ public class ImportBooksView extends JDialog {
         gbc.fill = GridBagConstraints.HORIZONTAL;
         painel.add(selectButton, gbc);
 
+        // Cancelamento
+        gbc.gridx = 2;
+        painel.add(cancelButton, gbc);
+
+        // Modo de importação
+        gbc.gridx = 0;
+        gbc.gridy = 1;
+        gbc.gridwidth = 3;
+        painel.add(bulkModeCheckBox, gbc);
+
+        // Simulação
+        gbc.gridy = 2;
+        gbc.gridwidth = 2;
+        painel.add(dryRunCheckBox, gbc);
+
+        gbc.gridx = 2;
+        gbc.gridwidth = 1;
+        painel.add(applyButton, gbc);
+
         mainPanel.add(painel, BorderLayout.NORTH);
     }
 
+    /**
+     * Habilita o cancelamento durante a importação ou a simulação e impede o início de outra ao mesmo tempo.
+     * A aplicação só é habilitada quando há uma simulação concluída.
+     *
+     * @param importing true se uma importação ou simulação está em andamento.
+     */
+    private void setImporting(boolean importing) {
+        selectButton.setEnabled(!importing);
+        bulkModeCheckBox.setEnabled(!importing);
+        dryRunCheckBox.setEnabled(!importing);
+        applyButton.setEnabled(!importing && controller.hasPlan());
+        cancelButton.setEnabled(importing);
+    }
+
     /**
      * Método para adicionar uma message de error ao log.
      *
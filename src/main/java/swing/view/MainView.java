@@ -1,17 +1,55 @@
 package swing.view;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import swing.configs.DatabaseInitializer;
 import swing.configs.GeneralProperties;
+import swing.util.AsyncExecutor;
+import swing.util.MessageUtils;
 
 import javax.swing.*;
 import java.awt.*;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Classe principal da ‘interface’ gráfica do sistema de controlo de livros.
+ * <p>
+ * A janela é exibida antes da inicialização do banco de dados, com um indicador de progresso; a navegação
+ * é liberada quando o banco fica pronto. Cada tela é criada apenas na primeira vez em que é exibida.
  */
 public class MainView extends JFrame {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(MainView.class);
+
+    /**
+     * Nome da tela de carregamento exibida durante a inicialização.
+     */
+    private static final String LOADING_SCREEN = "Carregando";
+
+    /**
+     * Fábricas das telas do sistema, na ordem dos botões de navegação.
+     */
+    private final Map<String, Supplier<JPanel>> screenFactories = new LinkedHashMap<>();
+
+    /**
+     * Telas já criadas.
+     */
+    private final Map<String, JPanel> screens = new HashMap<>();
+
+    /**
+     * Instante do início da aplicação, usado para medir o tempo de inicialização.
+     */
+    private final long startNanos;
+
+    /**
+     * Descrição da etapa atual da inicialização.
+     */
+    private JLabel loadingLabel;
+
     /**
      * Mapa para armazenar os botões de navegação.
      */
@@ -39,9 +77,17 @@ public class MainView extends JFrame {
 
     /**
      * Construtor da classe MainView.
+     *
+     * @param startNanos o instante do início da aplicação ({@link System#nanoTime()}).
      */
-    public MainView() {
+    public MainView(long startNanos) {
+        this.startNanos = startNanos;
+        screenFactories.put("Dashboard", DashboardView::new);
+        screenFactories.put("Livro", BookView::new);
+        screenFactories.put("Autor", AuthorView::new);
+        screenFactories.put("Editora", PublisherView::new);
         initComponents();
+        initDatabase();
     }
 
     /**
@@ -69,14 +115,14 @@ public class MainView extends JFrame {
         navBar = new JPanel(new FlowLayout(FlowLayout.LEFT));
         navBar.setBackground(Color.RED);
 
-        String[] telas = {"Dashboard", "Livro", "Autor", "Editora"};
         toolBar1 = new JToolBar();
         toolBar1.setComponentOrientation(ComponentOrientation.LEFT_TO_RIGHT);
         toolBar1.setBackground(GeneralProperties.BACKGROUND_COLOR);
 
-        for (String nome : telas) {
+        for (String nome : screenFactories.keySet()) {
             JButton btn = new JButton(nome);
             btn.setFocusPainted(false);
+            btn.setEnabled(false);
             btn.setBorder(BorderFactory.createEmptyBorder(5, 15, 5, 15));
             btn.addActionListener(e -> {
                 changeScreen(nome);
@@ -99,16 +145,74 @@ public class MainView extends JFrame {
         cardLayout = new CardLayout();
 
         contentPanel.setLayout(cardLayout);
-
-        contentPanel.add(new BookView(), "Livro");
-        contentPanel.add(new AuthorView(), "Autor");
-        contentPanel.add(new PublisherView(), "Editora");
-        contentPanel.add(new DashboardView(), "Dashboard");
+        contentPanel.add(createLoadingPanel(), LOADING_SCREEN);
 
         add(contentPanel, BorderLayout.CENTER);
+    }
+
+    /**
+     * Cria o painel exibido enquanto o banco de dados é inicializado.
+     * A primeira pintura do painel marca o tempo até a janela ser exibida.
+     *
+     * @return o painel de carregamento.
+     */
+    private JPanel createLoadingPanel() {
+        JPanel loadingPanel = new JPanel(new GridBagLayout()) {
+            private static final long serialVersionUID = 1L;
+            private boolean painted;
+
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                if (!painted) {
+                    painted = true;
+                    LOGGER.info("Janela exibida em {} ms", elapsedMillis());
+                }
+            }
+        };
+        loadingPanel.setBackground(GeneralProperties.BACKGROUND_COLOR);
+
+        loadingLabel = new JLabel("Iniciando...");
+        JProgressBar progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+
+        GridBagConstraints constraints = new GridBagConstraints();
+        constraints.gridx = 0;
+        constraints.insets = new Insets(5, 0, 5, 0);
+        loadingPanel.add(loadingLabel, constraints);
+        loadingPanel.add(progressBar, constraints);
+        return loadingPanel;
+    }
 
-        changeScreen("Dashboard");
-        highlightActiveButton("Dashboard");
+    /**
+     * Inicializa o banco de dados em segundo plano e libera a navegação quando ele estiver pronto.
+     * Se a inicialização falhar, o erro é exibido e a aplicação é encerrada.
+     */
+    private void initDatabase() {
+        AsyncExecutor.onEdt(new DatabaseInitializer().initAsync(
+                        step -> SwingUtilities.invokeLater(() -> loadingLabel.setText(step))),
+                result -> {
+                    navButtons.values().forEach(button -> button.setEnabled(true));
+                    changeScreen("Dashboard");
+                    highlightActiveButton("Dashboard");
+                    LOGGER.info("Aplicação pronta para uso em {} ms", elapsedMillis());
+                },
+                error -> {
+                    LOGGER.error("Falha ao inicializar o banco de dados", error);
+                    MessageUtils.error(this, "Não foi possível inicializar o banco de dados: "
+                            + (error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName()));
+                    dispose();
+                    System.exit(1);
+                });
+    }
+
+    /**
+     * Obtém o tempo decorrido desde o início da aplicação.
+     *
+     * @return o tempo em milissegundos.
+     */
+    private long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
     }
 
 
@@ -118,6 +222,11 @@ public class MainView extends JFrame {
      * @param nome Nome da tela a ser exibida.
      */
     private void changeScreen(String nome) {
+        if (!screens.containsKey(nome)) {
+            JPanel screen = screenFactories.get(nome).get();
+            screens.put(nome, screen);
+            contentPanel.add(screen, nome);
+        }
         cardLayout.show(contentPanel, nome);
     }
 
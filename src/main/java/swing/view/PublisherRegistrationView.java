@@ -62,10 +62,14 @@ public class PublisherRegistrationView extends JDialog {
             if (publisher == null) {
                 publisher = new Publisher();
             }
-            boolean successfully = controller.savePublisher(getId(), getPublisherName());
-            if (successfully) {
-                dispose();
-            }
+            btnSave.setEnabled(false);
+            controller.savePublisher(getId(), publisher.getVersion(), getPublisherName(), successfully -> {
+                if (successfully) {
+                    dispose();
+                } else {
+                    btnSave.setEnabled(true);
+                }
+            });
         });
 
         // Botão de excluir
@@ -105,10 +109,7 @@ public class PublisherRegistrationView extends JDialog {
      * Exclui o registro da editora.
      */
     private void deleteRecord() {
-        boolean response = controller.deleteRecord(this.publisher);
-        if (response) {
-            dispose();
-        }
+        controller.deleteRecord(this.publisher, this::dispose);
     }
 
     /**
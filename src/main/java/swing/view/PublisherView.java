@@ -7,14 +7,12 @@ import swing.configs.GeneralProperties;
 import swing.controller.PublisherController;
 import swing.model.Publisher;
 import swing.model.dto.PublisherDTO;
+import swing.model.page.PageRequest;
 import swing.util.ComponentUtils;
 
 import javax.swing.*;
 import javax.swing.border.Border;
 import java.awt.*;
-import java.awt.event.WindowAdapter;
-import java.awt.event.WindowEvent;
-import java.util.List;
 
 /**
  * Um JPanel que representa a visualização do editora.
@@ -56,6 +54,13 @@ public class PublisherView extends JPanel {
                 (editora) -> openForm(null)
 
         );
+        table.enablePaging(publisherController::getPublishersDTOPage, PageRequest.DEFAULT_PAGE_SIZE);
+        // Inclusões, alterações e exclusões atualizam apenas as linhas afetadas
+        table.enableChangeEvents(Publisher.class, publisherController::getPublishersDTOByIds);
+        // Ações em lote sobre as linhas selecionadas (Ctrl/Shift + clique)
+        table.addStatusSelectionButton("Alterar status dos selecionados", GeneralProperties.ICONS_EDIT_PNG,
+                publisherController::changePublishersStatus);
+        table.addSelectionButton("Excluir selecionados", GeneralProperties.ICONS_DELETE_PNG, publisherController::deletePublishers);
 
         refreshPublisherTable();
 
@@ -82,12 +87,6 @@ public class PublisherView extends JPanel {
     public void openForm(Publisher publisher) {
         PublisherRegistrationView publisherRegistrationView = new PublisherRegistrationView((JFrame) SwingUtilities.getWindowAncestor(this), publisher);
         publisherRegistrationView.setVisible(true);
-        publisherRegistrationView.addWindowListener(new WindowAdapter() {
-            @Override
-            public void windowClosed(WindowEvent windowEvent) {
-                refreshPublisherTable();
-            }
-        });
     }
 
 
@@ -95,8 +94,7 @@ public class PublisherView extends JPanel {
      * Método para atualizar a tabela de editoras com os dados mais recentes
      */
     public void refreshPublisherTable() {
-        List<PublisherDTO> editoras = publisherController.getPublishersDTO();
-        table.refreshData(editoras);
+        table.reloadPages();
     }
 
     /**
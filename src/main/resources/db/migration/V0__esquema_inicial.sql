@@ -0,0 +1,59 @@
+-- Esquema inicial das tabelas e sequências mapeadas pelas entidades.
+-- Bancos criados pelo hbm2ddl já possuem estes objetos, por isso todos os comandos usam IF NOT EXISTS
+-- e as chaves estrangeiras são declaradas apenas na criação das tabelas.
+
+CREATE SEQUENCE IF NOT EXISTS author_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS book_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS publisher_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS autor (
+    id BIGINT NOT NULL PRIMARY KEY,
+    createdAt TIMESTAMP,
+    lastModifiedAt TIMESTAMP,
+    status INTEGER,
+    commercialName VARCHAR(255),
+    fullName VARCHAR(255),
+    mainGenre VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS editora (
+    id BIGINT NOT NULL PRIMARY KEY,
+    createdAt TIMESTAMP,
+    lastModifiedAt TIMESTAMP,
+    status INTEGER,
+    name VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS livro (
+    id BIGINT NOT NULL PRIMARY KEY,
+    createdAt TIMESTAMP,
+    lastModifiedAt TIMESTAMP,
+    status INTEGER,
+    isbn VARCHAR(255),
+    publicationDate DATE,
+    title VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS livro_autor (
+    livro_id BIGINT NOT NULL,
+    autor_id BIGINT NOT NULL,
+    PRIMARY KEY (livro_id, autor_id),
+    CONSTRAINT fk_livro_autor_livro FOREIGN KEY (livro_id) REFERENCES livro (id),
+    CONSTRAINT fk_livro_autor_autor FOREIGN KEY (autor_id) REFERENCES autor (id)
+);
+
+CREATE TABLE IF NOT EXISTS livro_editora (
+    livro_id BIGINT NOT NULL,
+    editora_id BIGINT NOT NULL,
+    PRIMARY KEY (livro_id, editora_id),
+    CONSTRAINT fk_livro_editora_livro FOREIGN KEY (livro_id) REFERENCES livro (id),
+    CONSTRAINT fk_livro_editora_editora FOREIGN KEY (editora_id) REFERENCES editora (id)
+);
+
+CREATE TABLE IF NOT EXISTS livro_semelhante (
+    livro_id BIGINT NOT NULL,
+    semelhante_id BIGINT NOT NULL,
+    PRIMARY KEY (livro_id, semelhante_id),
+    CONSTRAINT fk_livro_semelhante_livro FOREIGN KEY (livro_id) REFERENCES livro (id),
+    CONSTRAINT fk_livro_semelhante_semelhante FOREIGN KEY (semelhante_id) REFERENCES livro (id)
+);
@@ -0,0 +1,90 @@
+-- Restrições de unicidade das colunas usadas nas buscas e validações de duplicidade.
+-- Os comandos de DDL são confirmados automaticamente pelo H2, por isso todos usam IF NOT EXISTS
+-- e a migração pode ser reaplicada caso falhe no meio.
+
+-- Autores e editoras com o mesmo nome são unificados no registro mais antigo (menor id),
+-- transferindo para ele os vínculos com livros.
+DELETE FROM livro_autor la
+WHERE EXISTS (SELECT 1 FROM autor a JOIN autor k ON k.commercialName = a.commercialName AND k.id < a.id
+              JOIN livro_autor lk ON lk.autor_id = k.id
+              WHERE a.id = la.autor_id AND lk.livro_id = la.livro_id);
+UPDATE livro_autor la
+SET autor_id = (SELECT MIN(k.id) FROM autor a JOIN autor k ON k.commercialName = a.commercialName
+                WHERE a.id = la.autor_id)
+WHERE autor_id IN (SELECT a.id FROM autor a
+                   WHERE EXISTS (SELECT 1 FROM autor k WHERE k.commercialName = a.commercialName AND k.id < a.id));
+DELETE FROM autor a
+WHERE EXISTS (SELECT 1 FROM autor k WHERE k.commercialName = a.commercialName AND k.id < a.id);
+
+DELETE FROM livro_editora le
+WHERE EXISTS (SELECT 1 FROM editora e JOIN editora k ON k.name = e.name AND k.id < e.id
+              JOIN livro_editora lk ON lk.editora_id = k.id
+              WHERE e.id = le.editora_id AND lk.livro_id = le.livro_id);
+UPDATE livro_editora le
+SET editora_id = (SELECT MIN(k.id) FROM editora e JOIN editora k ON k.name = e.name
+                  WHERE e.id = le.editora_id)
+WHERE editora_id IN (SELECT e.id FROM editora e
+                     WHERE EXISTS (SELECT 1 FROM editora k WHERE k.name = e.name AND k.id < e.id));
+DELETE FROM editora e
+WHERE EXISTS (SELECT 1 FROM editora k WHERE k.name = e.name AND k.id < e.id);
+
+-- Livros com o mesmo ISBN são unificados da mesma forma: o mais antigo recebe os autores, as editoras
+-- e os livros semelhantes dos demais. ISBNs em branco não identificam o livro e passam a ser nulos.
+-- O título não é único: edições diferentes de uma obra costumam ter o mesmo título.
+UPDATE livro SET isbn = NULL WHERE TRIM(isbn) = '';
+
+DELETE FROM livro_autor la
+WHERE EXISTS (SELECT 1 FROM livro l JOIN livro k ON k.isbn = l.isbn AND k.id < l.id
+              JOIN livro_autor lk ON lk.livro_id = k.id
+              WHERE l.id = la.livro_id AND lk.autor_id = la.autor_id);
+UPDATE livro_autor la
+SET livro_id = (SELECT MIN(k.id) FROM livro l JOIN livro k ON k.isbn = l.isbn
+                WHERE l.id = la.livro_id)
+WHERE livro_id IN (SELECT l.id FROM livro l
+                   WHERE EXISTS (SELECT 1 FROM livro k WHERE k.isbn = l.isbn AND k.id < l.id));
+
+DELETE FROM livro_editora le
+WHERE EXISTS (SELECT 1 FROM livro l JOIN livro k ON k.isbn = l.isbn AND k.id < l.id
+              JOIN livro_editora lk ON lk.livro_id = k.id
+              WHERE l.id = le.livro_id AND lk.editora_id = le.editora_id);
+UPDATE livro_editora le
+SET livro_id = (SELECT MIN(k.id) FROM livro l JOIN livro k ON k.isbn = l.isbn
+                WHERE l.id = le.livro_id)
+WHERE livro_id IN (SELECT l.id FROM livro l
+                   WHERE EXISTS (SELECT 1 FROM livro k WHERE k.isbn = l.isbn AND k.id < l.id));
+
+DELETE FROM livro_semelhante ls
+WHERE EXISTS (SELECT 1 FROM livro l JOIN livro k ON k.isbn = l.isbn AND k.id < l.id
+              JOIN livro_semelhante lk ON lk.livro_id = k.id
+              WHERE l.id = ls.livro_id AND lk.semelhante_id = ls.semelhante_id);
+UPDATE livro_semelhante ls
+SET livro_id = (SELECT MIN(k.id) FROM livro l JOIN livro k ON k.isbn = l.isbn
+                WHERE l.id = ls.livro_id)
+WHERE livro_id IN (SELECT l.id FROM livro l
+                   WHERE EXISTS (SELECT 1 FROM livro k WHERE k.isbn = l.isbn AND k.id < l.id));
+DELETE FROM livro_semelhante ls
+WHERE EXISTS (SELECT 1 FROM livro l JOIN livro k ON k.isbn = l.isbn AND k.id < l.id
+              JOIN livro_semelhante lk ON lk.semelhante_id = k.id
+              WHERE l.id = ls.semelhante_id AND lk.livro_id = ls.livro_id);
+UPDATE livro_semelhante ls
+SET semelhante_id = (SELECT MIN(k.id) FROM livro l JOIN livro k ON k.isbn = l.isbn
+                     WHERE l.id = ls.semelhante_id)
+WHERE semelhante_id IN (SELECT l.id FROM livro l
+                        WHERE EXISTS (SELECT 1 FROM livro k WHERE k.isbn = l.isbn AND k.id < l.id));
+DELETE FROM livro_semelhante WHERE livro_id = semelhante_id;
+
+DELETE FROM livro l
+WHERE EXISTS (SELECT 1 FROM livro k WHERE k.isbn = l.isbn AND k.id < l.id);
+
+ALTER TABLE livro ADD CONSTRAINT IF NOT EXISTS uk_livro_isbn UNIQUE (isbn);
+ALTER TABLE autor ADD CONSTRAINT IF NOT EXISTS uk_autor_nome_comercial UNIQUE (commercialName);
+ALTER TABLE editora ADD CONSTRAINT IF NOT EXISTS uk_editora_nome UNIQUE (name);
+
+-- Índices de busca sem unicidade
+CREATE INDEX IF NOT EXISTS idx_autor_nome_completo ON autor (fullName);
+
+-- Chaves reversas das tabelas de relacionamento: a chave primária começa pelo livro,
+-- estes índices atendem às buscas a partir do autor, da editora e do livro semelhante
+CREATE INDEX IF NOT EXISTS idx_livro_autor_autor ON livro_autor (autor_id, livro_id);
+CREATE INDEX IF NOT EXISTS idx_livro_editora_editora ON livro_editora (editora_id, livro_id);
+CREATE INDEX IF NOT EXISTS idx_livro_semelhante_semelhante ON livro_semelhante (semelhante_id, livro_id);
@@ -0,0 +1,2 @@
+-- Índice usado pelo dashboard para encontrar o último livro cadastrado sem percorrer a tabela
+CREATE INDEX IF NOT EXISTS idx_livro_criado_em ON livro (createdAt);
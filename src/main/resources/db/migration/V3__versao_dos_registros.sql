@@ -0,0 +1,5 @@
+-- Coluna de versão usada no controle de concorrência otimista (AbstractModel.version).
+-- Registros existentes começam na versão 0.
+ALTER TABLE autor ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE editora ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE livro ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,6 @@
+-- O título do livro deixa de ser único: edições diferentes de uma obra costumam ter o mesmo título.
+-- Bancos que aplicaram a versão anterior da V1 ainda têm a restrição; nos demais o comando não faz nada.
+ALTER TABLE livro DROP CONSTRAINT IF EXISTS uk_livro_title;
+
+-- Índice usado pela verificação de título repetido no cadastro
+CREATE INDEX IF NOT EXISTS idx_livro_titulo ON livro (title);
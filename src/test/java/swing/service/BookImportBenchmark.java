@@ -0,0 +1,131 @@
+package swing.service;
+
+import org.openjdk.jmh.annotations.*;
+import swing.configs.DatabaseSettings;
+import swing.model.dto.CSVImportableBookDTO;
+import swing.util.CSVUtils;
+import swing.util.HibernateUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Mede a importação de um CSV de livros num banco H2 embarcado em arquivo, gravando uma linha por transação,
+ * como na importação comum, ou em blocos, como na importação em lote.
+ * <p>
+ * Cada execução importa o arquivo inteiro num banco vazio, numa JVM própria, e o resultado é o tempo total;
+ * as linhas por segundo são {@code rows} dividido por esse tempo. Os livros do arquivo têm dois autores, de
+ * 50.000 nomes possíveis, e uma editora, de 1.000 nomes possíveis.
+ * <p>
+ * Executar com {@code mvn -Pbenchmark test -Djmh.include=BookImport}; para o arquivo de 1 milhão de linhas,
+ * rodar o modo em lote à parte, com {@code -p batchSize=1000 -p rows=1000000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+@Timeout(time = 2, timeUnit = TimeUnit.HOURS)
+public class BookImportBenchmark {
+
+    @Param({"1", "" + BookBulkImportService.DEFAULT_CHUNK_SIZE})
+    private int batchSize;
+
+    @Param("20000")
+    private int rows;
+
+    private File directory;
+    private File csv;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("book-import").toFile();
+        File config = new File(directory, DatabaseSettings.FILE_NAME);
+        Files.write(config.toPath(), Arrays.asList("database.mode=EMBEDDED",
+                "database.path=" + new File(directory, "biblioteca").getAbsolutePath(),
+                "database.embedded.autoServer=false", "database.jmx.enabled=false"), StandardCharsets.UTF_8);
+        System.setProperty(DatabaseSettings.FILE_SYSTEM_PROPERTY, config.getAbsolutePath());
+
+        csv = new File(directory, "livros.csv");
+        Random random = new Random(4);
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csv.toPath(), StandardCharsets.UTF_8))) {
+            writer.println("title,authors,publishers,isbn,publicationDate");
+            for (int i = 0; i < rows; i++) {
+                writer.printf("Livro %d,Autor %d;Autor %d,Editora %d,978%010d,%04d-%02d-%02d%n", i,
+                        random.nextInt(50000), random.nextInt(50000), random.nextInt(1000), i,
+                        1900 + i % 120, 1 + i % 12, 1 + i % 28);
+            }
+        }
+        HibernateUtils.getSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.deleteOnExit();
+            }
+        }
+        directory.deleteOnExit();
+    }
+
+    @Benchmark
+    public BookImportSummary importBooks() throws IOException {
+        FirstError firstError = new FirstError();
+        BookImportPipeline pipeline = new BookImportPipeline(BookImportPipeline.DEFAULT_PARALLELISM, batchSize,
+                BookImportPipeline.DEFAULT_QUEUE_CAPACITY, firstError);
+        BookImportSummary summary;
+        try (Stream<Supplier<CSVImportableBookDTO>> records = CSVUtils.csvToDeferredStream(
+                new InputStreamReader(new FileInputStream(csv), StandardCharsets.UTF_8), CSVImportableBookDTO.class)) {
+            summary = pipeline.run(records);
+        }
+        // Uma importação incompleta não deve ser medida como se tivesse gravado o arquivo inteiro
+        if (summary.getInserted() != rows) {
+            throw new IllegalStateException("Livros inseridos: " + summary.getInserted() + " de " + rows
+                    + ". Primeiro erro: " + firstError.message);
+        }
+        return summary;
+    }
+
+    /**
+     * Guarda o primeiro erro da importação, para a mensagem da falha.
+     */
+    private static class FirstError implements BookImportPipeline.Listener {
+        private String message;
+
+        @Override
+        public void rowRejected(int line, Collection<String> errors) {
+            record("Linha " + line + " rejeitada: " + errors);
+        }
+
+        @Override
+        public void batchWritten(int firstLine, int lastLine, BulkImportResult result) {
+            // Sem registro por bloco
+        }
+
+        @Override
+        public void batchFailed(int firstLine, int lastLine, String message) {
+            record("Bloco " + firstLine + "-" + lastLine + " falhou: " + message);
+        }
+
+        @Override
+        public void rowFailed(int line, String message) {
+            record("Linha " + line + " falhou: " + message);
+        }
+
+        private void record(String error) {
+            if (message == null) {
+                message = error;
+            }
+        }
+    }
+}
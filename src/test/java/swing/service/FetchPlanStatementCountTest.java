@@ -0,0 +1,236 @@
+package swing.service;
+
+import org.hibernate.LazyInitializationException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import swing.configs.DatabaseSettings;
+import swing.model.Author;
+import swing.model.Book;
+import swing.model.Publisher;
+import swing.model.dto.AuthorDTO;
+import swing.model.dto.BookDTO;
+import swing.model.dto.CSVImportableBookDTO;
+import swing.model.dto.PublisherDTO;
+import swing.model.page.PageRequest;
+import swing.model.page.Slice;
+import swing.util.HibernateExecutor;
+import swing.util.HibernateUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Quantidade de comandos SQL das chamadas que cada tela faz aos serviços, com as associações LAZY e os planos
+ * de busca nomeados.
+ * <p>
+ * Os livros de teste têm vários autores, editoras e livros semelhantes, então um carregamento N+1 ou
+ * transitivo (como o das antigas associações EAGER) aparece como comandos a mais. O cache de segundo
+ * nível é esvaziado antes de cada medição, para contar os comandos de uma tela aberta pela primeira vez.
+ */
+public class FetchPlanStatementCountTest {
+
+    private static final int BOOKS = 30;
+    private static final int AUTHORS_PER_BOOK = 3;
+    private static final int PAGE_SIZE = 10;
+
+    private static SessionFactory sessionFactory;
+    private static Statistics statistics;
+
+    private final BookService bookService = new BookService();
+    private final AuthorService authorService = new AuthorService();
+    private final PublisherService publisherService = new PublisherService();
+
+    @BeforeClass
+    public static void createDatabase() throws IOException {
+        File config = File.createTempFile("database", ".properties");
+        config.deleteOnExit();
+        Files.write(config.toPath(), Arrays.asList("database.mode=MEMORY",
+                "database.memory.name=fetch_plan_test", "database.jmx.enabled=false"), StandardCharsets.UTF_8);
+        System.setProperty(DatabaseSettings.FILE_SYSTEM_PROPERTY, config.getAbsolutePath());
+
+        sessionFactory = HibernateUtils.getSessionFactory();
+        statistics = sessionFactory.getStatistics();
+        insertBooks();
+    }
+
+    @Before
+    public void evictCaches() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    public void bookListPageUsesOneStatement() {
+        Slice<BookDTO> page = count(1, () -> bookService.findListRows(PageRequest.first(PAGE_SIZE)));
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertEquals(AUTHORS_PER_BOOK, page.getContent().get(0).getAuthors().split(",").length);
+    }
+
+    @Test
+    public void bookListRefreshUsesOneStatement() {
+        List<Long> ids = bookIds().subList(0, PAGE_SIZE);
+        List<BookDTO> rows = count(1, () -> bookService.findListRowsByIds(ids));
+        assertEquals(PAGE_SIZE, rows.size());
+    }
+
+    @Test
+    public void bookEditFormUsesOneStatement() {
+        Long id = bookIds().get(0);
+        Book book = count(1, () -> bookService.findById(id, Book.FETCH_EDIT_FORM));
+        assertEquals(AUTHORS_PER_BOOK, book.getAuthors().size());
+        assertEquals(1, book.getPublishers().size());
+        assertEquals(1, book.getSimilarBooks().size());
+    }
+
+    @Test
+    public void bookFormOptionsDoNotLoadAssociations() {
+        List<Author> authors = count(1, () -> authorService.findAll());
+        assertTrue(authors.size() >= BOOKS * AUTHORS_PER_BOOK);
+        assertNotLoaded(() -> authors.get(0).getLivros().size());
+
+        List<Publisher> publishers = count(1, () -> publisherService.findAll());
+        assertTrue(publishers.size() >= BOOKS);
+        assertNotLoaded(() -> publishers.get(0).getLivros().size());
+
+        List<Book> similarBooks = count(1, () -> bookService.findAll());
+        assertEquals(BOOKS, similarBooks.size());
+        assertNotLoaded(() -> similarBooks.get(0).getAuthors().size());
+    }
+
+    @Test
+    public void bookSaveLoadsSelectedAuthorsAndPublishersInOneStatementEach() {
+        List<Long> authorIds = authorService.findAll().stream().map(Author::getId).limit(AUTHORS_PER_BOOK)
+                .collect(Collectors.toList());
+        List<Long> publisherIds = publisherService.findAll().stream().map(Publisher::getId).limit(2)
+                .collect(Collectors.toList());
+        sessionFactory.getCache().evictAllRegions();
+
+        assertEquals(AUTHORS_PER_BOOK, count(1, () -> authorService.loadByIds(authorIds)).getFound().size());
+        assertEquals(2, count(1, () -> publisherService.loadByIds(publisherIds)).getFound().size());
+    }
+
+    @Test
+    public void authorScreenUsesOneStatementPerCall() {
+        Slice<AuthorDTO> page = count(1, () -> authorService.findListRows(PageRequest.first(PAGE_SIZE)));
+        assertEquals(PAGE_SIZE, page.getContent().size());
+
+        Author author = count(1, () -> authorService.findById(page.getContent().get(0).getId()));
+        assertNotLoaded(() -> author.getLivros().size());
+    }
+
+    @Test
+    public void publisherScreenUsesOneStatementPerCall() {
+        Slice<PublisherDTO> page = count(1, () -> publisherService.findListRows(PageRequest.first(PAGE_SIZE)));
+        assertEquals(PAGE_SIZE, page.getContent().size());
+
+        Publisher publisher = count(1, () -> publisherService.findById(page.getContent().get(0).getId()));
+        assertNotLoaded(() -> publisher.getLivros().size());
+    }
+
+    @Test
+    public void importOfExistingBooksDoesNotLoadTheirAssociations() {
+        BookBulkImportService importService = new BookBulkImportService();
+        statistics.clear();
+        BulkImportResult small = importService.importChunk(rows(0, PAGE_SIZE));
+        long smallStatements = statistics.getPrepareStatementCount();
+        assertEquals(PAGE_SIZE, small.getUpdated());
+        assertEquals("Coleções carregadas", 0, statistics.getCollectionLoadCount());
+
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+        BulkImportResult all = importService.importChunk(rows(0, BOOKS));
+        assertEquals(BOOKS, all.getUpdated());
+        assertEquals("Coleções carregadas", 0, statistics.getCollectionLoadCount());
+        // A busca dos livros e as gravações são em lote, sem comandos por linha
+        assertEquals("Comandos SQL", smallStatements, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Executa uma operação e verifica a quantidade de comandos SQL preparados por ela.
+     *
+     * @param expected  a quantidade esperada de comandos.
+     * @param operation a operação da tela.
+     * @param <R>       o tipo do resultado.
+     * @return o resultado da operação.
+     */
+    private static <R> R count(long expected, Supplier<R> operation) {
+        statistics.clear();
+        R result = operation.get();
+        assertEquals("Comandos SQL", expected, statistics.getPrepareStatementCount());
+        return result;
+    }
+
+    /**
+     * Verifica que a associação acessada pela operação não foi carregada com a entidade.
+     *
+     * @param access o acesso à associação, fora da sessão.
+     */
+    private static void assertNotLoaded(Runnable access) {
+        try {
+            access.run();
+            fail("A associação não deveria ser carregada.");
+        } catch (LazyInitializationException expected) {
+            // Associação LAZY fora da sessão
+        }
+    }
+
+    /**
+     * Cadastra os livros de teste pela importação em lote e liga cada livro ao seguinte como semelhante.
+     */
+    private static void insertBooks() {
+        new BookBulkImportService().importChunk(rows(0, BOOKS));
+
+        HibernateExecutor.executeTransaction(session -> {
+            List<Book> books = session.createQuery("FROM Book b ORDER BY b.id", Book.class).getResultList();
+            for (int i = 0; i < books.size(); i++) {
+                books.get(i).getSimilarBooks().add(books.get((i + 1) % books.size()));
+            }
+            return books.size();
+        });
+    }
+
+    /**
+     * Monta as linhas do CSV dos livros de teste. Importadas de novo, as mesmas linhas atualizam os livros
+     * sem alterar autores e editoras.
+     *
+     * @param from o índice do primeiro livro.
+     * @param to   o índice seguinte ao do último livro.
+     * @return as linhas do CSV.
+     */
+    private static List<CSVImportableBookDTO> rows(int from, int to) {
+        List<CSVImportableBookDTO> rows = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            CSVImportableBookDTO row = new CSVImportableBookDTO();
+            row.setTitle("Livro " + i);
+            row.setIsbn(isbn(i));
+            row.setPublicationDate(LocalDate.of(2000, 1, 1).plusDays(i));
+            Set<String> authors = new LinkedHashSet<>();
+            for (int a = 0; a < AUTHORS_PER_BOOK; a++) {
+                authors.add("Autor " + (i * AUTHORS_PER_BOOK + a));
+            }
+            row.setAuthors(authors);
+            row.setPublishers(Collections.singleton("Editora " + i));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<Long> bookIds() {
+        return HibernateExecutor.executeReadOnly(session ->
+                session.createQuery("SELECT b.id FROM Book b ORDER BY b.id", Long.class).getResultList());
+    }
+
+    private static String isbn(int index) {
+        return String.format("978%010d", index);
+    }
+}
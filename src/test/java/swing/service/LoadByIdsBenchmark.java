@@ -0,0 +1,93 @@
+package swing.service;
+
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.*;
+import swing.configs.DatabaseSettings;
+import swing.model.Author;
+import swing.util.HibernateExecutor;
+import swing.util.HibernateUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a busca de vários autores por ‘ID’ com {@link AbstractService#loadByIds(List)}, numa sessão e em
+ * consultas IN, com a busca anterior, que chamava {@link AbstractService#findById(Long)} para cada ‘ID’, cada
+ * chamada com a sua própria sessão e transação.
+ * <p>
+ * O cache de segundo nível é esvaziado antes de cada chamada, para medir a busca de um formulário aberto pela
+ * primeira vez. Executar com {@code mvn -Pbenchmark test -Djmh.include=LoadByIds}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadByIdsBenchmark {
+
+    private static final int AUTHORS = 1000;
+
+    @Param({"1", "20", "200"})
+    private int ids;
+
+    private final AuthorService authorService = new AuthorService();
+    private SessionFactory sessionFactory;
+    private List<Long> requestedIds;
+
+    @Setup
+    public void setUp() throws IOException {
+        File config = File.createTempFile("database", ".properties");
+        config.deleteOnExit();
+        Files.write(config.toPath(), Arrays.asList("database.mode=MEMORY",
+                "database.memory.name=load_by_ids_benchmark", "database.jmx.enabled=false",
+                "database.log.slowTransactionMs=60000"), StandardCharsets.UTF_8);
+        System.setProperty(DatabaseSettings.FILE_SYSTEM_PROPERTY, config.getAbsolutePath());
+        sessionFactory = HibernateUtils.getSessionFactory();
+
+        List<Long> authorIds = HibernateExecutor.executeTransaction(session -> {
+            List<Long> saved = new ArrayList<>();
+            for (int i = 0; i < AUTHORS; i++) {
+                Author author = new Author();
+                author.setCommercialName("Autor " + i);
+                author.setFullName("Autor Completo " + i);
+                session.persist(author);
+                saved.add(author.getId());
+            }
+            return saved;
+        });
+        // ‘IDs’ espalhados pela tabela, como os autores escolhidos num formulário
+        requestedIds = new ArrayList<>(ids);
+        for (int i = 0; i < ids; i++) {
+            requestedIds.add(authorIds.get((int) ((long) i * AUTHORS / ids)));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void evictCaches() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Benchmark
+    public List<Author> loadByIds() {
+        return authorService.loadByIds(requestedIds).getFound();
+    }
+
+    @Benchmark
+    public List<Author> findByIdLoop() {
+        List<Author> results = new ArrayList<>();
+        for (Long id : requestedIds) {
+            Author entity = authorService.findById(id);
+            if (entity != null) {
+                results.add(entity);
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,90 @@
+package swing.util;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import swing.converters.ConverterLocalDate;
+import swing.model.dto.CSVImportableBookDTO;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o preenchimento dos registros do CSV de livros por reflexão, como era feito antes, com o
+ * {@link CsvBindingPlan}. Os resultados são por registro; com {@code -prof gc}, a métrica
+ * {@code gc.alloc.rate.norm} mostra os bytes alocados por registro.
+ * <ul>
+ *   <li>{@code before}: o código anterior ao plano, com a reflexão e a conversão antiga de datas;</li>
+ *   <li>{@code reflective}: a reflexão com a conversão atual de datas, para separar o ganho do plano;</li>
+ *   <li>{@code bindingPlan}: o código atual.</li>
+ * </ul>
+ * <p>
+ * Executar com {@code mvn -Pbenchmark test}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CsvBindingBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private List<CSVRecord> records;
+    private int[] columns;
+    private CsvBindingPlan<CSVImportableBookDTO> plan;
+    private ReflectiveCsvBinding<CSVImportableBookDTO> reflective;
+    private ReflectiveCsvBinding<CSVImportableBookDTO> before;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder csv = new StringBuilder("title,authors,publishers,isbn,publicationDate\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("Livro ").append(i)
+                    .append(",Autor ").append(i).append(";Autor ").append(i + 1)
+                    .append(",Editora ").append(i % 50)
+                    .append(',').append(String.format("978%010d", i))
+                    .append(',').append(String.format("%04d-%02d-%02d", 1900 + i % 120, 1 + i % 12, 1 + i % 28))
+                    .append('\n');
+        }
+        CSVFormat format = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build();
+        try (CSVParser parser = new CSVParser(new StringReader(csv.toString()), format)) {
+            records = parser.getRecords();
+            plan = CsvBindingPlan.of(CSVImportableBookDTO.class);
+            columns = plan.columnsOf(parser.getHeaderNames());
+        }
+        reflective = new ReflectiveCsvBinding<>(CSVImportableBookDTO.class);
+        before = new ReflectiveCsvBinding<>(CSVImportableBookDTO.class,
+                Collections.singletonMap(ConverterLocalDate.class, LegacyDateUtils.Converter.class));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void before(Blackhole blackhole) {
+        for (CSVRecord csvRecord : records) {
+            blackhole.consume(before.toObject(csvRecord));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void reflective(Blackhole blackhole) {
+        for (CSVRecord csvRecord : records) {
+            blackhole.consume(reflective.toObject(csvRecord));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void bindingPlan(Blackhole blackhole) {
+        for (CSVRecord csvRecord : records) {
+            blackhole.consume(plan.toObject(csvRecord, columns));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package swing.util;
+
+import swing.interfaces.CSVConverter;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.Temporal;
+import java.util.*;
+
+/**
+ * Conversão de texto em data usada pelo {@link DateUtils} antes da revisão da leitura de datas, mantida apenas como
+ * referência de comparação do {@link CsvBindingBenchmark}: os formatadores são criados a cada chamada e cada
+ * formato incompatível é descartado por exceção.
+ */
+final class LegacyDateUtils {
+
+    private static final List<String> permittedFormats = Arrays.asList(
+            "dd/MM/yyyy HH:mm:ss",
+            "dd/MM/yyyy HH:mm",
+            "dd/MM/yyyy"
+    );
+
+    private LegacyDateUtils() {
+    }
+
+    /**
+     * Converte um texto numa data do tipo informado, como o antigo {@code DateUtils.textToDate}.
+     *
+     * @param text        Texto a ser convertido
+     * @param targetClass Classe do tipo de data desejado
+     * @param <T>         Tipo temporal de retorno
+     * @return Objeto convertido ou {@code null} se não for possível converter
+     */
+    static <T extends Temporal> T textToDate(String text, Class<T> targetClass) {
+        if (text == null || text.trim().isEmpty()) return null;
+
+        String input = text.trim().replaceAll("[?c]", "");
+
+        T result = tryOpenLibraryFormats(input, targetClass);
+        if (result != null) return result;
+
+        return tryBrazilianFormats(input, targetClass);
+    }
+
+    /**
+     * Tenta converter o texto usando formatos baseados em publicações literárias em inglês.
+     * <p>Exemplos de formatos válidos: "April 15, 1997", "March 2009", "1985".</p>
+     *
+     * @param input       Texto limpo a ser interpretado
+     * @param targetClass Classe do tipo de data desejado
+     * @param <T>         Tipo temporal de retorno
+     * @return Objeto de data convertido, ou {@code null} se falhar
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Temporal> T tryOpenLibraryFormats(String input, Class<T> targetClass) {
+        List<DateTimeFormatter> formatters = new ArrayList<>(
+                Arrays.asList(
+                        DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH),
+                        DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH),
+                        DateTimeFormatter.ofPattern("yyyy-MM-dd", Locale.ENGLISH)
+                )
+        );
+
+        for (DateTimeFormatter formatter : formatters) {
+            try {
+                if (formatter.toString().contains("d,")) {
+                    if (targetClass.equals(LocalDate.class)) {
+                        return (T) LocalDate.parse(input, formatter);
+                    }
+                } else {
+                    if (targetClass.equals(LocalDate.class)) {
+                        YearMonth ym = YearMonth.parse(input, formatter);
+                        return (T) ym.atDay(1);
+                    }
+                }
+            } catch (DateTimeParseException ignored) {
+            }
+        }
+
+        try {
+            int ano = Integer.parseInt(input);
+            if (targetClass.equals(LocalDate.class)) {
+                return (T) LocalDate.of(ano, 1, 1);
+            }
+        } catch (NumberFormatException ignored) {
+        }
+
+        return null;
+    }
+
+    /**
+     * Tenta converter o texto usando formatos de data no estilo brasileiro.
+     * <p>Exemplos de formatos válidos: "dd/MM/yyyy", "dd/MM/yyyy HH:mm:ss".</p>
+     *
+     * @param input       Texto limpo a ser interpretado
+     * @param targetClass Classe do tipo de data desejado
+     * @param <T>         Tipo temporal de retorno
+     * @return Objeto de data convertido, ou {@code null} se falhar
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Temporal> T tryBrazilianFormats(String input, Class<T> targetClass) {
+        List<String> formats = new ArrayList<>(permittedFormats);
+
+        for (String pattern : formats) {
+            try {
+                SimpleDateFormat sdf = new SimpleDateFormat(pattern);
+                Date data = sdf.parse(input);
+
+                if (targetClass.equals(LocalDate.class)) {
+                    return (T) data.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+                } else if (targetClass.equals(LocalDateTime.class)) {
+                    return (T) data.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
+                } else if (targetClass.equals(Instant.class)) {
+                    return (T) data.toInstant();
+                }
+            } catch (ParseException ignored) {
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Conversor de datas do CSV com a conversão antiga, no lugar do {@code ConverterLocalDate}.
+     */
+    static final class Converter implements CSVConverter<LocalDate> {
+        @Override
+        public LocalDate converter(String valor) {
+            return textToDate(valor, LocalDate.class);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package swing.util;
+
+import org.apache.commons.csv.CSVRecord;
+import swing.annotations.CsvProperties;
+import swing.converters.DefaultConverter;
+import swing.interfaces.CSVConverter;
+import swing.interfaces.CSVImportable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Preenchimento por reflexão usado pelo {@link CSVUtils} antes do {@link CsvBindingPlan}, mantido apenas como
+ * referência de comparação do {@link CsvBindingBenchmark}.
+ * <p>
+ * A cada registro o objeto é criado por reflexão, um novo conversor é instanciado por campo e o valor é
+ * atribuído por {@link Field#set(Object, Object)}, como no código original. Um conversor pode ser substituído por
+ * outro, por exemplo pelo que usa a conversão antiga de datas ({@link LegacyDateUtils.Converter}).
+ *
+ * @param <T> o tipo dos objetos preenchidos.
+ */
+final class ReflectiveCsvBinding<T extends CSVImportable> {
+
+    private final Class<T> clazz;
+    private final List<Field> fields;
+    private final Map<Class<?>, Class<? extends CSVConverter<?>>> replacedConverters;
+
+    ReflectiveCsvBinding(Class<T> clazz) {
+        this(clazz, Collections.emptyMap());
+    }
+
+    ReflectiveCsvBinding(Class<T> clazz, Map<Class<?>, Class<? extends CSVConverter<?>>> replacedConverters) {
+        this.clazz = clazz;
+        this.fields = getCsvFields(clazz);
+        this.replacedConverters = replacedConverters;
+    }
+
+    /**
+     * Converte um registro do CSV num objeto, preenchendo os campos cujos cabeçalhos estão presentes.
+     *
+     * @param csvRecord o registro CSV.
+     * @return o objeto preenchido, com os erros de conversão do registro.
+     */
+    T toObject(CSVRecord csvRecord) {
+        T object = instanceNewObject(clazz);
+        for (Field field : fields) {
+            String headerName = field.getName();
+            if (csvRecord.isMapped(headerName)) {
+                setObjectValue(csvRecord, field, csvRecord.get(headerName), field.getAnnotation(CsvProperties.class),
+                        object, headerName);
+            }
+        }
+        return object;
+    }
+
+    private static <T extends CSVImportable> List<Field> getCsvFields(Class<T> clazz) {
+        List<Field> fields = new ArrayList<>(Arrays.asList(clazz.getDeclaredFields()));
+        if (clazz.getSuperclass() != null) {
+            fields.addAll(Arrays.asList(clazz.getSuperclass().getDeclaredFields()));
+        }
+        fields = fields.stream()
+                .filter(field -> field.isAnnotationPresent(CsvProperties.class))
+                .collect(Collectors.toList());
+        fields.forEach(field -> field.setAccessible(true));
+        return fields;
+    }
+
+    private static <T extends CSVImportable> T instanceNewObject(Class<T> clazz) {
+        try {
+            return clazz.getDeclaredConstructor().newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
+                 NoSuchMethodException e) {
+            throw new IllegalArgumentException("Erro ao instanciar a classe " + clazz.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void setObjectValue(CSVRecord csvRecord, Field field, String value, CsvProperties properties, T object,
+                                String headerName) {
+        if (value != null && !value.isEmpty()) {
+            Class<?> converterClass = replacedConverters.getOrDefault(properties.csvConverter(),
+                    properties.csvConverter());
+            CSVConverter<?> converter = null;
+            try {
+                converter = (CSVConverter<?>) converterClass.getDeclaredConstructor().newInstance();
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
+                     NoSuchMethodException e) {
+                addErrorMessage(object, String.format("Erro ao instanciar o csvConverter %s. Erro: %s",
+                        converterClass.getName(), e.getMessage()), csvRecord, headerName);
+            }
+            Object convertedValue;
+            try {
+                if (converter instanceof DefaultConverter) {
+                    convertedValue = convertStringToType(value, field.getType());
+                } else if (converter != null) {
+                    convertedValue = converter.converter(value);
+                } else {
+                    convertedValue = value;
+                }
+            } catch (RuntimeException e) {
+                addErrorMessage(object, String.format("Valor inválido '%s'. Erro: %s", value, e.getMessage()),
+                        csvRecord, headerName);
+                return;
+            }
+            try {
+                field.set(object, convertedValue);
+            } catch (IllegalAccessException e) {
+                addErrorMessage(object, String.format("Erro ao definir o valor %s. Erro: %s", value,
+                        e.getMessage()), csvRecord, headerName);
+            }
+        } else if (properties.required()) {
+            addErrorMessage(object, String.format("O campo %s é obrigatório e não pode ser nulo ou vazio.",
+                    headerName), csvRecord, headerName);
+        }
+    }
+
+    private static <T extends CSVImportable> void addErrorMessage(T object, String message, CSVRecord csvRecord,
+                                                                  String headerName) {
+        object.addErroImportacao(String.format("[Linha: %d - Header %s] %s",
+                csvRecord.getRecordNumber(), headerName, message));
+    }
+
+    private static Object convertStringToType(String value, Class<?> type) {
+        if (type == String.class) {
+            return value;
+        } else if (type == Integer.class || type == int.class) {
+            return Integer.parseInt(value);
+        } else if (type == Double.class || type == double.class) {
+            return Double.parseDouble(value);
+        } else if (type == Boolean.class || type == boolean.class) {
+            return Boolean.parseBoolean(value);
+        } else if (type == Long.class || type == long.class) {
+            return Long.parseLong(value);
+        } else if (type == Float.class || type == float.class) {
+            return Float.parseFloat(value);
+        } else if (type == LocalDate.class) {
+            return DateUtils.textToDate(value, LocalDate.class);
+        } else if (type == LocalDateTime.class) {
+            return DateUtils.textToDate(value, LocalDateTime.class);
+        } else if (type == ZonedDateTime.class) {
+            return DateUtils.textToDate(value, ZonedDateTime.class);
+        } else if (type == Instant.class) {
+            return DateUtils.textToDate(value, Instant.class);
+        }
+        throw new IllegalArgumentException("Tipo não suportado: " + type.getName());
+    }
+}